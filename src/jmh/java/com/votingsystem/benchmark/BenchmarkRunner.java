@@ -0,0 +1,48 @@
+package com.votingsystem.benchmark;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Runs every selected benchmark at 1, 4 and N threads (N = available
+ * processors) and writes one JMH JSON result file per thread count under
+ * {@code target/jmh}, so runs from different commits can be diffed or fed to
+ * a JMH visualizer. Any regular JMH command-line option is passed through,
+ * e.g. {@code mvn verify -P benchmarks -DskipTests -Djmh.args=Jwt}.
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        Path resultDir = Path.of(System.getProperty("jmh.resultDir", "target/jmh"));
+        Files.createDirectories(resultDir);
+
+        for (int threads : threadCounts()) {
+            Options options = new OptionsBuilder()
+                .parent(commandLine)
+                .threads(threads)
+                .result(resultDir.resolve("results-" + threads + "-threads.json").toString())
+                .resultFormat(ResultFormatType.JSON)
+                .build();
+            new Runner(options).run();
+        }
+    }
+
+    private static List<Integer> threadCounts() {
+        Set<Integer> counts = new LinkedHashSet<>();
+        counts.add(1);
+        counts.add(4);
+        counts.add(Runtime.getRuntime().availableProcessors());
+        return new ArrayList<>(counts);
+    }
+}
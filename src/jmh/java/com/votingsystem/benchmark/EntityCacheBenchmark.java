@@ -0,0 +1,118 @@
+package com.votingsystem.benchmark;
+
+import com.votingsystem.controller.VoteController;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Read endpoints with the Hibernate second-level and query caches on and off.
+ * Besides the timings, every iteration prints the SQL statements issued per
+ * request, which is the number the caches exist to bring down.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EntityCacheBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class App {
+        @Param({"true", "false"})
+        public boolean secondLevelCache;
+
+        VotingApplicationState state;
+        VoteController voteController;
+        EntityManagerFactory entityManagerFactory;
+        Statistics statistics;
+        Authentication authentication;
+        final LongAdder requests = new LongAdder();
+
+        @Setup(Level.Trial)
+        public void start() {
+            state = new VotingApplicationState() {
+                @Override
+                protected String[] properties() {
+                    return new String[] {
+                        "spring.jpa.properties.hibernate.cache.use_second_level_cache=" + secondLevelCache,
+                        "spring.jpa.properties.hibernate.cache.use_query_cache=" + secondLevelCache,
+                        "spring.jpa.properties.hibernate.generate_statistics=true"
+                    };
+                }
+            };
+            state.start();
+            voteController = state.context.getBean(VoteController.class);
+            entityManagerFactory = state.context.getBean(EntityManagerFactory.class);
+            statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            authentication = new UsernamePasswordAuthenticationToken(state.creatorId, null,
+                List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        }
+
+        @TearDown(Level.Trial)
+        public void stop() {
+            state.stop();
+        }
+
+        @Setup(Level.Iteration)
+        public void resetCounts() {
+            statistics.clear();
+            requests.reset();
+        }
+
+        @TearDown(Level.Iteration)
+        public void reportRoundTrips() {
+            System.out.printf("%n  secondLevelCache=%s: %.2f SQL statements per request%n",
+                secondLevelCache, (double) statistics.getPrepareStatementCount() / Math.max(1, requests.sum()));
+        }
+
+        // Binds a request-scoped EntityManager the way open-in-view does for a real request.
+        <T> T inRequest(Supplier<T> call) {
+            EntityManager entityManager = entityManagerFactory.createEntityManager();
+            TransactionSynchronizationManager.bindResource(entityManagerFactory, new EntityManagerHolder(entityManager));
+            try {
+                return call.get();
+            } finally {
+                TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+                entityManager.close();
+                requests.increment();
+            }
+        }
+    }
+
+    @Benchmark
+    public ResponseEntity<?> getVote(App app) {
+        return app.inRequest(() -> app.voteController.getVote(app.state.vote.getId(), app.authentication, new HttpHeaders()));
+    }
+
+    @Benchmark
+    public ResponseEntity<?> getVoteByShareToken(App app) {
+        return app.inRequest(() -> app.voteController.getVoteByShareToken(app.state.vote.getShareToken()));
+    }
+}
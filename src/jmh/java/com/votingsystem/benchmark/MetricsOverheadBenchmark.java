@@ -0,0 +1,124 @@
+package com.votingsystem.benchmark;
+
+import com.votingsystem.model.User;
+import com.votingsystem.util.JwtUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A ballot and a results read over HTTP with the application's metrics as
+ * configured ({@code histograms}), with the percentile histograms switched
+ * off ({@code meters}), and with every meter and observation switched off
+ * ({@code off}). The differences are what the endpoint timers, the ballot
+ * counters, the DTO timer and the per-request query count cost; read p0.50
+ * and p0.99 off the sample-time output.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MetricsOverheadBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class App {
+        @Param({"histograms", "meters", "off"})
+        public String metrics;
+
+        VotingApplicationState state;
+        HttpClient httpClient;
+        JwtUtil jwtUtil;
+        String base;
+        String creatorBearer;
+
+        @Setup(Level.Trial)
+        public void start() {
+            state = new VotingApplicationState() {
+                @Override
+                protected String[] properties() {
+                    boolean enabled = !"off".equals(metrics);
+                    boolean histograms = "histograms".equals(metrics);
+                    return new String[] {
+                        "management.metrics.enable.all=" + enabled,
+                        "management.observations.enable.all=" + enabled,
+                        "management.metrics.distribution.percentiles-histogram.http.server.requests=" + histograms,
+                        "management.metrics.distribution.percentiles-histogram.spring.data.repository.invocations=" + histograms
+                    };
+                }
+            };
+            state.start();
+            int port = ((ServletWebServerApplicationContext) state.context).getWebServer().getPort();
+            base = "http://localhost:" + port + "/api/votes/" + state.vote.getId();
+            httpClient = HttpClient.newHttpClient();
+            jwtUtil = state.context.getBean(JwtUtil.class);
+            creatorBearer = "Bearer " + jwtUtil.generateToken(state.creatorId, "creator");
+        }
+
+        @TearDown(Level.Trial)
+        public void stop() {
+            state.stop();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Voter {
+        HttpRequest[] ballots;
+        int next;
+
+        // A fresh voter per ballot. The voters and their requests are built
+        // per iteration, outside the measured time, and sent one per call.
+        @Setup(Level.Iteration)
+        public void newVoters(App app) {
+            List<User> voters = app.state.newVoters(VotingApplicationState.VOTERS_PER_ITERATION);
+            ballots = new HttpRequest[voters.size()];
+            for (int i = 0; i < voters.size(); i++) {
+                User voter = voters.get(i);
+                Long optionId = app.state.optionIds.get(i % app.state.optionIds.size());
+                ballots[i] = HttpRequest.newBuilder(URI.create(app.base + "/participate?optionId=" + optionId))
+                    .header("Authorization", "Bearer " + app.jwtUtil.generateToken(voter.getId(), voter.getUsername()))
+                    .POST(HttpRequest.BodyPublishers.noBody())
+                    .build();
+            }
+            next = 0;
+        }
+    }
+
+    @Benchmark
+    public int castBallot(App app, Voter voter) throws Exception {
+        return send(app, voter.ballots[voter.next++ % voter.ballots.length]);
+    }
+
+    @Benchmark
+    public int getResults(App app) throws Exception {
+        return send(app, HttpRequest.newBuilder(URI.create(app.base + "/results"))
+            .header("Authorization", app.creatorBearer)
+            .build());
+    }
+
+    private static int send(App app, HttpRequest request) throws Exception {
+        HttpResponse<Void> response = app.httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException(request.uri() + " returned " + response.statusCode());
+        }
+        return response.statusCode();
+    }
+}
@@ -0,0 +1,119 @@
+package com.votingsystem.benchmark;
+
+import com.votingsystem.config.RateLimitProperties;
+import com.votingsystem.filter.RateLimitFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cost the rate limiter adds to a request, as a latency distribution: read
+ * p0.99 off the sample-time output. The limits are high enough that nothing
+ * is rejected, so this is the price every allowed request pays. The churn
+ * case gives every request a new client address, which creates a bucket
+ * each time and keeps the bucket cap evicting.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RateLimitFilterBenchmark {
+
+    private static final FilterChain PASS = (request, response) -> { };
+
+    @State(Scope.Benchmark)
+    public static class Limits {
+        RateLimitFilter filter;
+
+        @Setup
+        public void setUp() {
+            RateLimitProperties properties = new RateLimitProperties();
+            properties.setMaxBucketsPerRoute(100_000);
+            properties.setRoutes(List.of(
+                route("POST", "/api/auth/login"),
+                route("POST", "/api/votes/*/participate-share"),
+                route(null, "/api/**")));
+            filter = new RateLimitFilter();
+            ReflectionTestUtils.setField(filter, "properties", properties);
+            ReflectionTestUtils.setField(filter, "meterRegistry", new SimpleMeterRegistry());
+            filter.init();
+        }
+
+        private static RateLimitProperties.Route route(String method, String path) {
+            RateLimitProperties.Route route = new RateLimitProperties.Route();
+            route.setMethod(method);
+            route.setPath(path);
+            route.setPermits(Integer.MAX_VALUE);
+            route.setPeriod(Duration.ofSeconds(1));
+            return route;
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Caller {
+        private static final AtomicLong nextUser = new AtomicLong(1000);
+        private static final AtomicLong nextBlock = new AtomicLong();
+        final MockHttpServletRequest userRequest = new MockHttpServletRequest("GET", "/api/votes/17/results");
+        final MockHttpServletRequest shareRequest = new MockHttpServletRequest("POST", "/api/votes/17/participate-share");
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+        // Generated up front so the churn case does not time string building.
+        final String[] addresses = new String[1 << 20];
+        int nextAddress;
+        UsernamePasswordAuthenticationToken authentication;
+
+        @Setup
+        public void setUp() {
+            authentication = new UsernamePasswordAuthenticationToken(nextUser.getAndIncrement(), null,
+                List.of(new SimpleGrantedAuthority("ROLE_USER")));
+            long block = nextBlock.getAndIncrement();
+            for (int i = 0; i < addresses.length; i++) {
+                addresses[i] = (10 + block) + "." + ((i >>> 16) & 0xff) + "." + ((i >>> 8) & 0xff) + "." + (i & 0xff);
+            }
+        }
+
+        @TearDown(Level.Iteration)
+        public void clear() {
+            SecurityContextHolder.clearContext();
+        }
+
+        String nextAddress() {
+            return addresses[nextAddress++ & (addresses.length - 1)];
+        }
+    }
+
+    @Benchmark
+    public void signedInUser(Limits limits, Caller caller) throws Exception {
+        SecurityContextHolder.getContext().setAuthentication(caller.authentication);
+        limits.filter.doFilter(caller.userRequest, caller.response, PASS);
+    }
+
+    @Benchmark
+    public void anonymousAddressChurn(Limits limits, Caller caller) throws Exception {
+        SecurityContextHolder.clearContext();
+        caller.shareRequest.setRemoteAddr(caller.nextAddress());
+        limits.filter.doFilter(caller.shareRequest, caller.response, PASS);
+    }
+}
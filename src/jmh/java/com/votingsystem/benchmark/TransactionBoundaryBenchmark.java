@@ -0,0 +1,138 @@
+package com.votingsystem.benchmark;
+
+import com.votingsystem.controller.VoteController;
+import com.votingsystem.model.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Casting a ballot and reading a vote through the controller. Besides the
+ * timings, every iteration prints the transactions, flushes and SQL
+ * statements per request, which show how many round trips and commits one
+ * request costs.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TransactionBoundaryBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class App {
+        VotingApplicationState state;
+        VoteController voteController;
+        EntityManagerFactory entityManagerFactory;
+        Statistics statistics;
+        Authentication creator;
+        final LongAdder requests = new LongAdder();
+
+        @Setup(Level.Trial)
+        public void start() {
+            state = new VotingApplicationState();
+            state.start();
+            voteController = state.context.getBean(VoteController.class);
+            entityManagerFactory = state.context.getBean(EntityManagerFactory.class);
+            statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            statistics.setStatisticsEnabled(true);
+            creator = authentication(state.creatorId);
+        }
+
+        @TearDown(Level.Trial)
+        public void stop() {
+            state.stop();
+        }
+
+        @Setup(Level.Iteration)
+        public void resetCounts() {
+            statistics.clear();
+            requests.reset();
+        }
+
+        @TearDown(Level.Iteration)
+        public void reportPerRequest() {
+            double count = Math.max(1, requests.sum());
+            System.out.printf("%n  per request: %.2f transactions, %.2f flushes, %.2f SQL statements%n",
+                statistics.getTransactionCount() / count, statistics.getFlushCount() / count,
+                statistics.getPrepareStatementCount() / count);
+        }
+
+        // Binds a request-scoped EntityManager the way open-in-view does for a real request.
+        <T> T inRequest(Supplier<T> call) {
+            EntityManager entityManager = entityManagerFactory.createEntityManager();
+            TransactionSynchronizationManager.bindResource(entityManagerFactory, new EntityManagerHolder(entityManager));
+            try {
+                return call.get();
+            } finally {
+                TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+                entityManager.close();
+                requests.increment();
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Voter {
+        Authentication[] authentications;
+        Long[] optionIds;
+        int next;
+
+        // Voters are created per iteration and handed out one per ballot.
+        // Creating them commits a transaction, so the counts are reset after
+        // it and cover only the ballots.
+        @Setup(Level.Iteration)
+        public void newVoters(App app) {
+            List<User> voters = app.state.newVoters(VotingApplicationState.VOTERS_PER_ITERATION);
+            authentications = new Authentication[voters.size()];
+            optionIds = new Long[voters.size()];
+            for (int i = 0; i < voters.size(); i++) {
+                authentications[i] = authentication(voters.get(i).getId());
+                optionIds[i] = app.state.optionIds.get(i % app.state.optionIds.size());
+            }
+            next = 0;
+            app.statistics.clear();
+            app.requests.reset();
+        }
+    }
+
+    @Benchmark
+    public ResponseEntity<?> participateInVote(App app, Voter voter) {
+        int ballot = voter.next++ % voter.authentications.length;
+        return app.inRequest(() -> app.voteController.participateInVote(app.state.vote.getId(), voter.optionIds[ballot], voter.authentications[ballot]));
+    }
+
+    @Benchmark
+    public ResponseEntity<?> getVote(App app) {
+        return app.inRequest(() -> app.voteController.getVote(app.state.vote.getId(), app.creator, new HttpHeaders()));
+    }
+
+    private static Authentication authentication(Long userId) {
+        return new UsernamePasswordAuthenticationToken(userId, null, List.of(new SimpleGrantedAuthority("ROLE_USER")));
+    }
+}
@@ -0,0 +1,101 @@
+package com.votingsystem.benchmark;
+
+import com.votingsystem.controller.VoteController;
+import com.votingsystem.dto.VoteDTO;
+import com.votingsystem.model.User;
+import com.votingsystem.model.Vote;
+import com.votingsystem.service.VoteService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VoteControllerBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Controller {
+        VoteController voteController;
+        EntityManagerFactory entityManagerFactory;
+        MethodHandle convertToDTO;
+
+        @Setup(Level.Trial)
+        public void setUp(VotingApplicationState app) throws Exception {
+            voteController = app.context.getBean(VoteController.class);
+            entityManagerFactory = app.context.getBean(EntityManagerFactory.class);
+            // convertToDTO is private, so it is called on the unproxied service through a
+            // method handle, which keeps reflection cost out of the measurement.
+            convertToDTO = MethodHandles.privateLookupIn(VoteService.class, MethodHandles.lookup())
+                .findVirtual(VoteService.class, "convertToDTO", MethodType.methodType(VoteDTO.class, Vote.class, Long.class))
+                .bindTo(AopTestUtils.getUltimateTargetObject(app.context.getBean(VoteService.class)));
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Voter {
+        Authentication[] authentications;
+        Long[] optionIds;
+        int next;
+
+        // Each ballot needs a user who has not voted yet. They are inserted per
+        // iteration, outside the measured time, and handed out one per ballot;
+        // per-invocation setup would time-stamp every call and skew it.
+        @Setup(Level.Iteration)
+        public void newVoters(VotingApplicationState app) {
+            List<User> voters = app.newVoters(VotingApplicationState.VOTERS_PER_ITERATION);
+            authentications = new Authentication[voters.size()];
+            optionIds = new Long[voters.size()];
+            for (int i = 0; i < voters.size(); i++) {
+                authentications[i] = new UsernamePasswordAuthenticationToken(voters.get(i).getId(), null,
+                    List.of(new SimpleGrantedAuthority("ROLE_USER")));
+                optionIds[i] = app.optionIds.get(i % app.optionIds.size());
+            }
+            next = 0;
+        }
+    }
+
+    @Benchmark
+    public VoteDTO convertToDTO(VotingApplicationState app, Controller controller) throws Throwable {
+        return (VoteDTO) controller.convertToDTO.invokeExact(app.vote, app.creatorId);
+    }
+
+    @Benchmark
+    public ResponseEntity<?> participateInVote(VotingApplicationState app, Controller controller, Voter voter) {
+        // Binds a request-scoped EntityManager the way open-in-view does for a real request.
+        EntityManager entityManager = controller.entityManagerFactory.createEntityManager();
+        TransactionSynchronizationManager.bindResource(controller.entityManagerFactory, new EntityManagerHolder(entityManager));
+        int ballot = voter.next++ % voter.authentications.length;
+        try {
+            return controller.voteController.participateInVote(app.vote.getId(), voter.optionIds[ballot], voter.authentications[ballot]);
+        } finally {
+            TransactionSynchronizationManager.unbindResource(controller.entityManagerFactory);
+            entityManager.close();
+        }
+    }
+}
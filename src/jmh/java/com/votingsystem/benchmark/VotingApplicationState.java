@@ -0,0 +1,111 @@
+package com.votingsystem.benchmark;
+
+import com.votingsystem.VotingSystemApplication;
+import com.votingsystem.model.User;
+import com.votingsystem.model.Vote;
+import com.votingsystem.model.VoteOption;
+import com.votingsystem.repository.UserRepository;
+import com.votingsystem.repository.VoteOptionRepository;
+import com.votingsystem.repository.VoteRepository;
+import org.hibernate.Hibernate;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * One application context per benchmark fork, backed by the in-memory H2
+ * database from the {@code test} profile, with a published vote to read and
+ * vote on.
+ */
+@State(Scope.Benchmark)
+public class VotingApplicationState {
+
+    /**
+     * Voters the ballot benchmarks create per iteration, per thread. Well
+     * above what one thread casts in a two-second iteration; should the pool
+     * ever wrap, the repeated voter's ballot is rejected and the benchmark
+     * fails rather than measuring duplicates.
+     */
+    static final int VOTERS_PER_ITERATION = 20_000;
+
+    ConfigurableApplicationContext context;
+    Vote vote;
+    List<Long> optionIds = new ArrayList<>();
+    Long creatorId;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = new SpringApplicationBuilder(VotingSystemApplication.class)
+            .profiles("test")
+            .properties("server.port=0", "logging.level.root=WARN")
+            .run(Arrays.stream(properties()).map(property -> "--" + property).toArray(String[]::new));
+
+        User creator = context.getBean(UserRepository.class).save(newUser("creator"));
+        creatorId = creator.getId();
+
+        Vote draft = new Vote();
+        draft.setTitle("Benchmark poll");
+        draft.setDescription("Which option wins?");
+        draft.setCreator(creator);
+        draft.setStatus(Vote.VoteStatus.PUBLISHED);
+        draft = context.getBean(VoteRepository.class).save(draft);
+
+        for (int i = 0; i < 4; i++) {
+            VoteOption option = new VoteOption();
+            option.setText("Option " + i);
+            option.setVote(draft);
+            optionIds.add(context.getBean(VoteOptionRepository.class).save(option).getId());
+        }
+
+        // Detached with its options loaded, the way the controller sees it after findById.
+        Long voteId = draft.getId();
+        vote = new TransactionTemplate(context.getBean(PlatformTransactionManager.class)).execute(tx -> {
+            Vote loaded = context.getBean(VoteRepository.class).findById(voteId).orElseThrow();
+            Hibernate.initialize(loaded.getOptions());
+            Hibernate.initialize(loaded.getCreator());
+            return loaded;
+        });
+    }
+
+    /**
+     * Extra application properties for benchmarks that compare configurations.
+     * They are passed as command-line arguments so they win over
+     * {@code application.properties}.
+     */
+    protected String[] properties() {
+        return new String[0];
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    /** Users who have not voted yet, saved in one transaction. */
+    List<User> newVoters(int count) {
+        List<User> voters = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            voters.add(newUser("voter"));
+        }
+        return context.getBean(UserRepository.class).saveAll(voters);
+    }
+
+    private static User newUser(String prefix) {
+        User user = new User();
+        user.setUsername(prefix + "-" + UUID.randomUUID());
+        user.setEmail(user.getUsername() + "@example.com");
+        user.setPassword("hashedPassword");
+        return user;
+    }
+}
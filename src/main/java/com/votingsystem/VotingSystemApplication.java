@@ -2,14 +2,18 @@ package com.votingsystem;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class VotingSystemApplication {
     public static void main(String[] args) {
-        SpringApplication.run(VotingSystemApplication.class, args);
+        ConfigurableApplicationContext context = SpringApplication.run(VotingSystemApplication.class, args);
+        // Replaying the event log is a one-shot job: EventLogReplayRunner has
+        // finished by the time run() returns, and its exit code ends the process.
+        if (context.getEnvironment().getProperty("voting.event-log.replay", Boolean.class, false)) {
+            System.exit(SpringApplication.exit(context));
+        }
     }
 }
-
-
-
-
@@ -0,0 +1,33 @@
+package com.votingsystem.config;
+
+import com.votingsystem.dto.AnonymousBallotFilterDTO;
+import com.votingsystem.service.AnonymousBallotDedup;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Exposes the anonymous-ballot dedup filters at
+ * {@code /actuator/anonymousballots}, worst expected false-positive rate first.
+ */
+@Component
+@Endpoint(id = "anonymousballots")
+public class AnonymousBallotFilterEndpoint {
+
+    @Autowired
+    private AnonymousBallotDedup anonymousBallotDedup;
+
+    @ReadOperation
+    public List<AnonymousBallotFilterDTO> votes() {
+        return anonymousBallotDedup.stats();
+    }
+
+    @ReadOperation
+    public AnonymousBallotFilterDTO vote(@Selector Long voteId) {
+        return anonymousBallotDedup.stats(voteId);
+    }
+}
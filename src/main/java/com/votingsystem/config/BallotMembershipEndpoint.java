@@ -0,0 +1,33 @@
+package com.votingsystem.config;
+
+import com.votingsystem.dto.VoteMembershipDTO;
+import com.votingsystem.service.BallotMembershipIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Exposes the size of the has-voted index per vote at
+ * {@code /actuator/ballotmembership}, largest first, for capacity planning.
+ */
+@Component
+@Endpoint(id = "ballotmembership")
+public class BallotMembershipEndpoint {
+
+    @Autowired
+    private BallotMembershipIndex ballotMembershipIndex;
+
+    @ReadOperation
+    public List<VoteMembershipDTO> votes() {
+        return ballotMembershipIndex.stats();
+    }
+
+    @ReadOperation
+    public VoteMembershipDTO vote(@Selector Long voteId) {
+        return ballotMembershipIndex.stats(voteId);
+    }
+}
@@ -0,0 +1,41 @@
+package com.votingsystem.config;
+
+import com.votingsystem.service.VoteEventLogReplayer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.ExitCodeGenerator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * One-shot recovery mode: start the application with
+ * {@code --voting.event-log.replay=true} to rebuild ballots and counts from
+ * the vote event log. The runner only replays and returns, so the replay
+ * can run inside a test context; {@code main} closes the context afterwards
+ * and exits with this runner's exit code.
+ */
+@Component
+@ConditionalOnProperty(name = "voting.event-log.replay", havingValue = "true")
+public class EventLogReplayRunner implements ApplicationRunner, ExitCodeGenerator {
+
+    @Autowired
+    private VoteEventLogReplayer voteEventLogReplayer;
+
+    private volatile long restored = -1;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        restored = voteEventLogReplayer.replay();
+    }
+
+    /** Ballots the replay restored, or -1 if it has not run. */
+    public long getRestored() {
+        return restored;
+    }
+
+    @Override
+    public int getExitCode() {
+        return restored >= 0 ? 0 : 1;
+    }
+}
@@ -0,0 +1,49 @@
+package com.votingsystem.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves pooled id sequences past rows that were inserted before the table
+ * switched from identity columns to sequences. Without this, a database
+ * created by an older build would hand out ids that already exist.
+ */
+@Component
+public class IdSequenceAligner {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @PostConstruct
+    public void align() {
+        align("users", "users_seq", 50);
+        align("votes", "votes_seq", 50);
+        align("vote_options", "vote_options_seq", 50);
+        align("vote_option_shards", "vote_option_shards_seq", 50);
+        align("vote_responses", "vote_responses_seq", 50);
+        align("ballot_fingerprints", "ballot_fingerprints_seq", 50);
+    }
+
+    private void align(String table, String sequence, int allocationSize) {
+        Long maxId = jdbcTemplate.queryForObject("select max(id) from " + table, Long.class);
+        if (maxId == null) {
+            return;
+        }
+
+        Dialect dialect = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect();
+        Long next = jdbcTemplate.queryForObject(dialect.getSequenceSupport().getSequenceNextValString(sequence), Long.class);
+
+        // The pooled optimizer hands out the block ending at the fetched value.
+        if (next != null && next - allocationSize < maxId) {
+            jdbcTemplate.execute("alter sequence " + sequence + " restart with " + (maxId + allocationSize + 1));
+        }
+    }
+}
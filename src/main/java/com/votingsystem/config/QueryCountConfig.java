@@ -0,0 +1,26 @@
+package com.votingsystem.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class QueryCountConfig implements WebMvcConfigurer {
+
+    @Autowired
+    private QueryCountInterceptor queryCountInterceptor;
+
+    @Bean
+    public HibernatePropertiesCustomizer queryCountStatementInspector() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, queryCountInterceptor);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(queryCountInterceptor).addPathPatterns("/api/**");
+    }
+}
@@ -0,0 +1,76 @@
+package com.votingsystem.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Counts the SQL statements Hibernate prepares while a request is handled
+ * and records them in {@code http.server.requests.queries}, tagged like
+ * {@code http.server.requests} with the method and URI pattern. Hibernate
+ * sees this as its {@link StatementInspector}; statements prepared outside
+ * a request, or on another thread, are not counted.
+ */
+@Component
+public class QueryCountInterceptor implements AsyncHandlerInterceptor, StatementInspector {
+
+    private static final double[] BUCKETS = {1, 2, 3, 5, 8, 13, 21, 50};
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final ThreadLocal<int[]> queries = new ThreadLocal<>();
+    private final Map<String, DistributionSummary> summaries = new ConcurrentHashMap<>();
+
+    @Override
+    public String inspect(String sql) {
+        int[] count = queries.get();
+        if (count != null) {
+            count[0]++;
+        }
+        return sql;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        queries.set(new int[1]);
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        record(request);
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        record(request);
+    }
+
+    private void record(HttpServletRequest request) {
+        int[] count = queries.get();
+        if (count == null) {
+            return;
+        }
+        queries.remove();
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        String method = request.getMethod();
+        summaries.computeIfAbsent(method + ' ' + uri, key -> DistributionSummary.builder("http.server.requests.queries")
+                .baseUnit("queries")
+                .tag("method", method)
+                .tag("uri", uri)
+                .serviceLevelObjectives(BUCKETS)
+                .register(meterRegistry))
+            .record(count[0]);
+    }
+}
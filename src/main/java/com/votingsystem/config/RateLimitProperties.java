@@ -0,0 +1,107 @@
+package com.votingsystem.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Request rate limits, bound from {@code voting.rate-limit.*}. Each route
+ * allows {@code permits} requests per {@code period} to a single caller, with
+ * bursts of up to {@code burst} requests; a request is checked against the
+ * first route whose method and path match it, and requests matching no
+ * route are not limited. Paths are literal segments plus {@code *} for any
+ * one segment and a trailing {@code **} for the rest of the path.
+ */
+@Component
+@ConfigurationProperties("voting.rate-limit")
+public class RateLimitProperties {
+    private boolean enabled = true;
+    private long maxBucketsPerRoute = 100_000;
+    private List<Route> routes = new ArrayList<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getMaxBucketsPerRoute() {
+        return maxBucketsPerRoute;
+    }
+
+    public void setMaxBucketsPerRoute(long maxBucketsPerRoute) {
+        this.maxBucketsPerRoute = maxBucketsPerRoute;
+    }
+
+    public List<Route> getRoutes() {
+        return routes;
+    }
+
+    public void setRoutes(List<Route> routes) {
+        this.routes = routes;
+    }
+
+    public static class Route {
+        private String name;
+        private String method;
+        private String path;
+        private int permits;
+        private Duration period = Duration.ofSeconds(1);
+        private int burst;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        /** HTTP method to match, or {@code null} for any. */
+        public String getMethod() {
+            return method;
+        }
+
+        public void setMethod(String method) {
+            this.method = method;
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        public void setPath(String path) {
+            this.path = path;
+        }
+
+        public int getPermits() {
+            return permits;
+        }
+
+        public void setPermits(int permits) {
+            this.permits = permits;
+        }
+
+        public Duration getPeriod() {
+            return period;
+        }
+
+        public void setPeriod(Duration period) {
+            this.period = period;
+        }
+
+        /** Largest burst allowed after an idle spell; defaults to {@code permits}. */
+        public int getBurst() {
+            return burst > 0 ? burst : permits;
+        }
+
+        public void setBurst(int burst) {
+            this.burst = burst;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.votingsystem.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Decides whether the current thread may read from the replica. Only
+ * safe-method web requests qualify, so the reads a write path does before
+ * writing always see the primary; background jobs do too. A caller who just
+ * sent a write (a ballot, a publish) is pinned to the primary for
+ * {@code voting.replica.sticky-window}, long enough for replication to catch
+ * up, so they read their own writes.
+ */
+@Component
+public class ReplicaReadPolicy {
+
+    @Value("${voting.replica.enabled:false}")
+    private boolean replicaEnabled;
+
+    @Value("${voting.replica.sticky-window:5s}")
+    private Duration stickyWindow;
+
+    @Value("${voting.replica.sticky-max-callers:100000}")
+    private long maxCallers;
+
+    private final ThreadLocal<Boolean> replicaAllowed = new ThreadLocal<>();
+    private Cache<String, Boolean> pinnedCallers;
+
+    @PostConstruct
+    public void init() {
+        pinnedCallers = Caffeine.newBuilder()
+            .maximumSize(maxCallers)
+            .expireAfterWrite(stickyWindow)
+            .build();
+    }
+
+    public boolean isReplicaAllowed() {
+        return Boolean.TRUE.equals(replicaAllowed.get());
+    }
+
+    /** Whether reads on this thread are actually served by a configured replica. */
+    public boolean readsFromReplica() {
+        return replicaEnabled && isReplicaAllowed();
+    }
+
+    public void allowReplica(boolean allowed) {
+        if (allowed) {
+            replicaAllowed.set(Boolean.TRUE);
+        } else {
+            replicaAllowed.remove();
+        }
+    }
+
+    public void pinToPrimary(String callerKey) {
+        if (callerKey != null) {
+            pinnedCallers.put(callerKey, Boolean.TRUE);
+        }
+    }
+
+    public boolean isPinnedToPrimary(String callerKey) {
+        return callerKey != null && pinnedCallers.getIfPresent(callerKey) != null;
+    }
+
+    public static String userKey(Long userId) {
+        return userId != null ? "user:" + userId : null;
+    }
+
+    public static String voterKey(String voterId) {
+        return voterId != null ? "voter:" + voterId : null;
+    }
+}
@@ -0,0 +1,31 @@
+package com.votingsystem.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Sends connections for read-only transactions to the replica when
+ * {@link ReplicaReadPolicy} allows it, and everything else to the primary.
+ * Must sit behind a {@code LazyConnectionDataSourceProxy}: the read-only flag
+ * is only set after the transaction has begun, so the physical connection
+ * has to be fetched at the first statement, not at begin.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public static final String PRIMARY = "primary";
+    public static final String REPLICA = "replica";
+
+    private final ReplicaReadPolicy replicaReadPolicy;
+
+    public ReplicaRoutingDataSource(ReplicaReadPolicy replicaReadPolicy) {
+        this.replicaReadPolicy = replicaReadPolicy;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly() && replicaReadPolicy.isReplicaAllowed()) {
+            return REPLICA;
+        }
+        return PRIMARY;
+    }
+}
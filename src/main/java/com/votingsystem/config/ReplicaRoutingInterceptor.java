@@ -0,0 +1,60 @@
+package com.votingsystem.config;
+
+import com.votingsystem.util.VoterCookie;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Applies {@link ReplicaReadPolicy} to each request: GET and HEAD from a
+ * caller who is not pinned may read from the replica, and any other method
+ * pins the caller to the primary before the handler runs.
+ */
+@Component
+public class ReplicaRoutingInterceptor implements HandlerInterceptor {
+
+    @Autowired
+    private ReplicaReadPolicy replicaReadPolicy;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        List<String> callerKeys = callerKeys(request);
+        boolean safe = "GET".equals(request.getMethod()) || "HEAD".equals(request.getMethod());
+        if (!safe) {
+            callerKeys.forEach(replicaReadPolicy::pinToPrimary);
+            replicaReadPolicy.allowReplica(false);
+            return true;
+        }
+        replicaReadPolicy.allowReplica(callerKeys.stream().noneMatch(replicaReadPolicy::isPinnedToPrimary));
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        replicaReadPolicy.allowReplica(false);
+    }
+
+    private List<String> callerKeys(HttpServletRequest request) {
+        List<String> keys = new ArrayList<>(2);
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof Long userId) {
+            keys.add(ReplicaReadPolicy.userKey(userId));
+        }
+        if (request.getCookies() != null) {
+            for (Cookie cookie : request.getCookies()) {
+                if (VoterCookie.NAME.equals(cookie.getName())) {
+                    keys.add(ReplicaReadPolicy.voterKey(cookie.getValue()));
+                }
+            }
+        }
+        return keys;
+    }
+}
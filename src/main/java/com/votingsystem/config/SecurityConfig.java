@@ -1,14 +1,24 @@
 package com.votingsystem.config;
 
 import com.votingsystem.filter.JwtAuthenticationFilter;
+import com.votingsystem.filter.RateLimitFilter;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.actuate.info.InfoEndpoint;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
@@ -24,9 +34,57 @@ public class SecurityConfig {
     @Autowired
     private JwtAuthenticationFilter jwtAuthenticationFilter;
     
+    @Autowired
+    private RateLimitFilter rateLimitFilter;
+    
+    @Value("${voting.password-hashing.bcrypt-cost:10}")
+    private int bcryptCost;
+    
+    @Value("${voting.management.metrics-username:prometheus}")
+    private String metricsUsername;
+    
+    @Value("${voting.management.metrics-password:}")
+    private String metricsPassword;
+    
+    @Value("${voting.management.admin-username:admin}")
+    private String adminUsername;
+    
+    @Value("${voting.management.admin-password:}")
+    private String adminPassword;
+    
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new BCryptPasswordEncoder(bcryptCost);
+    }
+    
+    /**
+     * Actuator endpoints, except health and info, take HTTP Basic with the
+     * metrics scraper or admin credential from {@code voting.management.*};
+     * application tokens are not accepted here. A credential whose password
+     * is not set does not exist.
+     */
+    @Bean
+    @Order(1)
+    public SecurityFilterChain actuatorFilterChain(HttpSecurity http) throws Exception {
+        InMemoryUserDetailsManager managementUsers = new InMemoryUserDetailsManager();
+        addManagementUser(managementUsers, metricsUsername, metricsPassword, "METRICS");
+        addManagementUser(managementUsers, adminUsername, adminPassword, "ADMIN");
+        
+        http
+            .securityMatcher(EndpointRequest.toAnyEndpoint())
+            .csrf(csrf -> csrf.disable())
+            .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+            .authorizeHttpRequests(auth -> auth
+                .requestMatchers(EndpointRequest.to(HealthEndpoint.class, InfoEndpoint.class)).permitAll()
+                .requestMatchers(EndpointRequest.to(VoteTallyEndpoint.class)).hasRole("ADMIN")
+                .requestMatchers(EndpointRequest.to(BallotMembershipEndpoint.class)).hasRole("ADMIN")
+                .requestMatchers(EndpointRequest.to(AnonymousBallotFilterEndpoint.class)).hasRole("ADMIN")
+                .anyRequest().hasAnyRole("METRICS", "ADMIN")
+            )
+            .httpBasic(Customizer.withDefaults())
+            .userDetailsService(managementUsers);
+        
+        return http.build();
     }
     
     @Bean
@@ -39,6 +97,7 @@ public class SecurityConfig {
             .cors(cors -> cors.configurationSource(corsConfigurationSource()))
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(auth -> auth
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                 .requestMatchers("/h2-console/**").permitAll()
                 .requestMatchers("/", "/index.html", "/login.html", "/create-vote.html", "/styles.css", "/app.js", "/login.js", "/create-vote.js").permitAll()
                 .requestMatchers("/api/auth/**", "/api/votes/public/**", "/api/votes/share/**").permitAll()
@@ -48,11 +107,18 @@ public class SecurityConfig {
             .headers(headers -> headers
                 .frameOptions(frameOptions -> frameOptions.sameOrigin())
             )
-            .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+            .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+            .addFilterAfter(rateLimitFilter, JwtAuthenticationFilter.class);
         
         return http.build();
     }
     
+    private void addManagementUser(InMemoryUserDetailsManager users, String username, String password, String role) {
+        if (password != null && !password.isBlank()) {
+            users.createUser(User.withUsername(username).password(passwordEncoder().encode(password)).roles(role).build());
+        }
+    }
+    
     @Bean
     public CorsConfigurationSource corsConfigurationSource() {
         CorsConfiguration configuration = new CorsConfiguration();
@@ -0,0 +1,33 @@
+package com.votingsystem.config;
+
+import com.votingsystem.service.VoteEventLog;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports the vote event log as down once it has dropped a record or while
+ * its writer has no segment open. Either way the committed ballots are no
+ * longer all in the log, and a replay from it would be incomplete.
+ */
+@Component
+public class VoteEventLogHealthIndicator implements HealthIndicator {
+
+    @Autowired
+    private VoteEventLog voteEventLog;
+
+    @Override
+    public Health health() {
+        if (!voteEventLog.isEnabled()) {
+            return Health.unknown().withDetail("enabled", false).build();
+        }
+        long lost = voteEventLog.getLostRecords();
+        Health.Builder health = lost == 0 && voteEventLog.isWritable() ? Health.up() : Health.down();
+        return health
+            .withDetail("writable", voteEventLog.isWritable())
+            .withDetail("lostRecords", lost)
+            .withDetail("durableSequence", voteEventLog.getDurableSequence())
+            .build();
+    }
+}
@@ -0,0 +1,41 @@
+package com.votingsystem.config;
+
+import com.votingsystem.dto.TallyDriftDTO;
+import com.votingsystem.service.VoteTallyProjection;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Exposes tally drift found by the last consistency check at
+ * {@code /actuator/tallies}; a POST runs a new check. A vote id selector
+ * returns that vote's tallies rebuilt from its snapshot and the event log.
+ */
+@Component
+@Endpoint(id = "tallies")
+public class VoteTallyEndpoint {
+
+    @Autowired
+    private VoteTallyProjection voteTallyProjection;
+
+    @ReadOperation
+    public List<TallyDriftDTO> drift() {
+        return voteTallyProjection.getDrift();
+    }
+
+    @WriteOperation
+    public List<TallyDriftDTO> check() {
+        return voteTallyProjection.check();
+    }
+
+    @ReadOperation
+    public Map<Long, Long> vote(@Selector Long voteId) {
+        return voteTallyProjection.rebuild(voteId);
+    }
+}
@@ -0,0 +1,46 @@
+package com.votingsystem.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+
+/**
+ * Runs MVC async work (NDJSON export, results streams) on virtual threads
+ * whether or not {@code spring.threads.virtual.enabled} is set. Each results
+ * stream holds its thread for as long as the client stays connected, which a
+ * bounded platform pool cannot afford.
+ *
+ * <p>Async requests get {@code spring.mvc.async.request-timeout}. A handler
+ * that needs longer, like the results stream, puts a {@link Duration} in the
+ * {@link #TIMEOUT_ATTRIBUTE} request attribute before returning.
+ */
+@Configuration
+public class WebAsyncConfig implements WebMvcConfigurer {
+
+    public static final String TIMEOUT_ATTRIBUTE = WebAsyncConfig.class.getName() + ".timeout";
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("mvc-async-");
+        executor.setVirtualThreads(true);
+        configurer.setTaskExecutor(executor);
+        configurer.registerCallableInterceptors(new CallableProcessingInterceptor() {
+            @Override
+            public <T> void beforeConcurrentHandling(NativeWebRequest request, Callable<T> task) {
+                // Runs before the async request starts, while its timeout can still change.
+                if (request.getAttribute(TIMEOUT_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof Duration timeout
+                        && request instanceof AsyncWebRequest asyncRequest) {
+                    asyncRequest.setTimeout(timeout.toMillis());
+                }
+            }
+        });
+    }
+}
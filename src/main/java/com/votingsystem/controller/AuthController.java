@@ -3,15 +3,20 @@ package com.votingsystem.controller;
 import com.votingsystem.dto.AuthResponse;
 import com.votingsystem.dto.LoginRequest;
 import com.votingsystem.dto.RegisterRequest;
+import com.votingsystem.dto.UsernameAvailabilityDTO;
 import com.votingsystem.model.User;
 import com.votingsystem.repository.UserRepository;
+import com.votingsystem.service.PasswordHasher;
+import com.votingsystem.service.UsernameAvailability;
 import com.votingsystem.util.JwtUtil;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Locale;
+
 @RestController
 @RequestMapping("/api/auth")
 @CrossOrigin(origins = "*")
@@ -21,27 +26,36 @@ public class AuthController {
     private UserRepository userRepository;
     
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private PasswordHasher passwordHasher;
+    
+    @Autowired
+    private UsernameAvailability usernameAvailability;
     
     @Autowired
     private JwtUtil jwtUtil;
     
     @PostMapping("/register")
     public ResponseEntity<?> register(@Valid @RequestBody RegisterRequest request) {
-        if (userRepository.existsByUsername(request.getUsername())) {
+        // Only names the filter has seen are looked up first, to avoid hashing for a certain clash.
+        if (usernameAvailability.mightBeTaken(request.getUsername()) && userRepository.existsByUsername(request.getUsername())) {
             return ResponseEntity.badRequest().body(new ErrorResponse("Username already exists"));
         }
         
-        if (userRepository.existsByEmail(request.getEmail())) {
-            return ResponseEntity.badRequest().body(new ErrorResponse("Email already exists"));
-        }
-        
         User user = new User();
         user.setUsername(request.getUsername());
         user.setEmail(request.getEmail());
-        user.setPassword(passwordEncoder.encode(request.getPassword()));
+        user.setPassword(passwordHasher.hash(request.getPassword()));
         
-        userRepository.save(user);
+        try {
+            userRepository.save(user);
+        } catch (DataIntegrityViolationException e) {
+            if (violates(e, "uk_users_email")) {
+                return ResponseEntity.badRequest().body(new ErrorResponse("Email already exists"));
+            }
+            usernameAvailability.taken(user.getUsername());
+            return ResponseEntity.badRequest().body(new ErrorResponse("Username already exists"));
+        }
+        usernameAvailability.taken(user.getUsername());
         
         String token = jwtUtil.generateToken(user.getId(), user.getUsername());
         return ResponseEntity.ok(new AuthResponse(token, user.getId(), user.getUsername()));
@@ -52,14 +66,30 @@ public class AuthController {
         User user = userRepository.findByUsername(request.getUsername())
                 .orElse(null);
         
-        if (user == null || !passwordEncoder.matches(request.getPassword(), user.getPassword())) {
+        String passwordHash = user != null ? passwordHasher.verify(request.getPassword(), user.getPassword()) : null;
+        if (passwordHash == null) {
             return ResponseEntity.badRequest().body(new ErrorResponse("Invalid username or password"));
         }
         
+        if (!passwordHash.equals(user.getPassword())) {
+            user.setPassword(passwordHash);
+            userRepository.save(user);
+        }
+        
         String token = jwtUtil.generateToken(user.getId(), user.getUsername());
         return ResponseEntity.ok(new AuthResponse(token, user.getId(), user.getUsername()));
     }
     
+    @GetMapping("/available")
+    public ResponseEntity<UsernameAvailabilityDTO> available(@RequestParam String username) {
+        return ResponseEntity.ok(new UsernameAvailabilityDTO(username, usernameAvailability.isAvailable(username)));
+    }
+    
+    private static boolean violates(DataIntegrityViolationException e, String constraint) {
+        String detail = e.getMostSpecificCause().getMessage();
+        return detail != null && detail.toLowerCase(Locale.ROOT).contains(constraint);
+    }
+    
     public static class ErrorResponse {
         private String message;
         
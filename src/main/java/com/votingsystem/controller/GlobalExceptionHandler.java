@@ -1,6 +1,14 @@
 package com.votingsystem.controller;
 
+import com.votingsystem.service.BallotQueueFullException;
+import com.votingsystem.service.DuplicateBallotException;
+import com.votingsystem.service.InvalidVoteOperationException;
+import com.votingsystem.service.PasswordHashingBusyException;
+import com.votingsystem.service.UnknownUserException;
+import com.votingsystem.service.VoteAccessDeniedException;
+import com.votingsystem.service.VoteNotFoundException;
 import org.hibernate.LazyInitializationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotWritableException;
@@ -77,6 +85,49 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
     }
     
+    @ExceptionHandler(VoteNotFoundException.class)
+    public ResponseEntity<Map<String, String>> handleVoteNotFoundException(VoteNotFoundException ex) {
+        return errorResponse(HttpStatus.NOT_FOUND, ex.getMessage(), "NotFound");
+    }
+    
+    @ExceptionHandler(VoteAccessDeniedException.class)
+    public ResponseEntity<Map<String, String>> handleVoteAccessDeniedException(VoteAccessDeniedException ex) {
+        return errorResponse(HttpStatus.FORBIDDEN, ex.getMessage(), "Forbidden");
+    }
+    
+    @ExceptionHandler({InvalidVoteOperationException.class, DuplicateBallotException.class})
+    public ResponseEntity<Map<String, String>> handleInvalidVoteOperation(RuntimeException ex) {
+        return errorResponse(HttpStatus.BAD_REQUEST, ex.getMessage(), "BadRequest");
+    }
+    
+    @ExceptionHandler(UnknownUserException.class)
+    public ResponseEntity<Map<String, String>> handleUnknownUserException(UnknownUserException ex) {
+        return errorResponse(HttpStatus.UNAUTHORIZED, ex.getMessage(), "Unauthorized");
+    }
+    
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Map<String, String>> handleOptimisticLockingFailureException(OptimisticLockingFailureException ex) {
+        return errorResponse(HttpStatus.CONFLICT, "The vote was changed by another request, please retry", "Conflict");
+    }
+    
+    @ExceptionHandler(BallotQueueFullException.class)
+    public ResponseEntity<Map<String, String>> handleBallotQueueFullException(BallotQueueFullException ex) {
+        Map<String, String> response = new HashMap<>();
+        response.put("message", ex.getMessage());
+        response.put("error", "ServiceUnavailable");
+        
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header("Retry-After", "1").body(response);
+    }
+    
+    @ExceptionHandler(PasswordHashingBusyException.class)
+    public ResponseEntity<Map<String, String>> handlePasswordHashingBusyException(PasswordHashingBusyException ex) {
+        Map<String, String> response = new HashMap<>();
+        response.put("message", ex.getMessage());
+        response.put("error", "ServiceUnavailable");
+        
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header("Retry-After", "1").body(response);
+    }
+    
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Map<String, String>> handleGenericException(Exception ex) {
         Map<String, String> response = new HashMap<>();
@@ -95,5 +146,12 @@ public class GlobalExceptionHandler {
         
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
     }
+    
+    private ResponseEntity<Map<String, String>> errorResponse(HttpStatus status, String message, String error) {
+        Map<String, String> response = new HashMap<>();
+        response.put("message", message);
+        response.put("error", error);
+        return ResponseEntity.status(status).body(response);
+    }
 }
 
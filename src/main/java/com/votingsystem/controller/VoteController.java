@@ -1,38 +1,62 @@
 package com.votingsystem.controller;
 
+import com.votingsystem.config.ReplicaReadPolicy;
+import com.votingsystem.config.WebAsyncConfig;
+import com.votingsystem.dto.BallotBatchRequest;
 import com.votingsystem.dto.CreateVoteRequest;
 import com.votingsystem.dto.VoteDTO;
-import com.votingsystem.model.*;
-import com.votingsystem.repository.*;
+import com.votingsystem.model.Vote;
+import com.votingsystem.service.ResultsBroadcaster;
+import com.votingsystem.service.VoteService;
+import com.votingsystem.service.VoteVersions;
+import com.votingsystem.util.VoteCursor;
+import com.votingsystem.util.VoterCookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseCookie;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.time.LocalDateTime;
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/votes")
 @CrossOrigin(origins = "*")
 public class VoteController {
     
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+    
+    @Autowired
+    private VoteService voteService;
+    
     @Autowired
-    private VoteRepository voteRepository;
+    private ReplicaReadPolicy replicaReadPolicy;
     
     @Autowired
-    private UserRepository userRepository;
+    private VoterCookie voterCookie;
     
     @Autowired
-    private VoteOptionRepository voteOptionRepository;
+    private ResultsBroadcaster resultsBroadcaster;
     
     @Autowired
-    private VoteResponseRepository voteResponseRepository;
+    private VoteVersions voteVersions;
+    
+    @Value("${voting.http-cache.closed-vote-max-age:1d}")
+    private Duration closedVoteMaxAge;
     
     private Long getCurrentUserId(Authentication authentication) {
         if (authentication == null || authentication.getPrincipal() == null) {
@@ -42,514 +66,223 @@ public class VoteController {
     }
     
     @PostMapping
-    @Transactional
     public ResponseEntity<?> createVote(@Valid @RequestBody CreateVoteRequest request, Authentication authentication) {
-        try {
-            Long userId = getCurrentUserId(authentication);
-            User creator = userRepository.findById(userId).orElse(null);
-            if (creator == null) {
-                Map<String, String> errorResponse = new HashMap<>();
-                errorResponse.put("message", "User not found. Please login again.");
-                errorResponse.put("error", "Unauthorized");
-                return ResponseEntity.status(401).body(errorResponse);
-            }
-            
-            Vote vote = new Vote();
-            vote.setTitle(request.getTitle());
-            vote.setDescription(request.getDescription());
-            vote.setCreator(creator);
-            vote.setStatus(Vote.VoteStatus.DRAFT);
-            
-            if (request.getPermission() != null) {
-                try {
-                    vote.setPermission(Vote.VotePermission.valueOf(request.getPermission().toUpperCase()));
-                } catch (IllegalArgumentException e) {
-                    vote.setPermission(Vote.VotePermission.PUBLIC);
-                }
-            }
-            
-            vote = voteRepository.save(vote);
-            
-            for (String optionText : request.getOptions()) {
-                VoteOption option = new VoteOption();
-                option.setText(optionText);
-                option.setVote(vote);
-                option = voteOptionRepository.save(option);
-                vote.getOptions().add(option);
-            }
-            
-            vote = voteRepository.save(vote);
-            
-            if (vote.getCreator() != null) {
-                Long creatorId = vote.getCreator().getId();
-                String creatorUsername = vote.getCreator().getUsername();
-            }
-            
-            if (vote.getOptions() != null && !vote.getOptions().isEmpty()) {
-                for (VoteOption opt : vote.getOptions()) {
-                    Long optId = opt.getId();
-                    String optText = opt.getText();
-                    Integer optCount = opt.getVoteCount();
-                }
-            }
-            
-            VoteDTO dto = convertToDTO(vote, userId);
-            return ResponseEntity.ok(dto);
-        } catch (Exception e) {
-            e.printStackTrace(); // Log the exception
-            Map<String, String> errorResponse = new HashMap<>();
-            errorResponse.put("message", "Error creating vote: " + (e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName()));
-            errorResponse.put("error", e.getClass().getSimpleName());
-            return ResponseEntity.status(500).body(errorResponse);
-        }
+        Long userId = getCurrentUserId(authentication);
+        return ResponseEntity.ok(voteService.createVote(userId, request));
     }
     
     @PutMapping("/{id}")
     public ResponseEntity<?> editVote(@PathVariable Long id, @Valid @RequestBody CreateVoteRequest request, Authentication authentication) {
         Long userId = getCurrentUserId(authentication);
-        Vote vote = voteRepository.findById(id).orElse(null);
-        
-        if (vote == null) {
-            return ResponseEntity.notFound().build();
-        }
-        
-        if (!vote.getCreator().getId().equals(userId)) {
-            return ResponseEntity.status(403).body("You can only edit your own votes");
-        }
-        
-        if (vote.getStatus() == Vote.VoteStatus.PUBLISHED) {
-            return ResponseEntity.badRequest().body("Cannot edit published vote");
-        }
-        
-        if (vote.getStatus() == Vote.VoteStatus.DELETED) {
-            return ResponseEntity.badRequest().body("Cannot edit deleted vote");
-        }
-        
-        if (vote.getStatus() == Vote.VoteStatus.CLOSED) {
-            return ResponseEntity.badRequest().body("Cannot edit closed vote");
-        }
-        
-        vote.setTitle(request.getTitle());
-        vote.setDescription(request.getDescription());
-        
-        if (request.getPermission() != null) {
-            try {
-                vote.setPermission(Vote.VotePermission.valueOf(request.getPermission().toUpperCase()));
-            } catch (IllegalArgumentException e) {
-                vote.setPermission(Vote.VotePermission.PUBLIC);
-            }
-        }
-        
-        vote.getOptions().clear();
-        for (String optionText : request.getOptions()) {
-            VoteOption option = new VoteOption();
-            option.setText(optionText);
-            option.setVote(vote);
-            vote.getOptions().add(option);
-        }
-        
-        voteRepository.save(vote);
-        
-        return ResponseEntity.ok(convertToDTO(vote, userId));
+        return ResponseEntity.ok(voteService.editVote(id, userId, request));
     }
     
     @PostMapping("/{id}/publish")
     public ResponseEntity<?> publishVote(@PathVariable Long id, Authentication authentication) {
         Long userId = getCurrentUserId(authentication);
-        Vote vote = voteRepository.findById(id).orElse(null);
-        
-        if (vote == null) {
-            return ResponseEntity.notFound().build();
-        }
-        
-        if (!vote.getCreator().getId().equals(userId)) {
-            return ResponseEntity.status(403).body("You can only publish your own votes");
-        }
-        
-        if (vote.getOptions().size() < 2) {
-            return ResponseEntity.badRequest().body("Vote must have at least 2 options");
-        }
-        
-        vote.setStatus(Vote.VoteStatus.PUBLISHED);
-        vote.setPublishedAt(LocalDateTime.now());
-        voteRepository.save(vote);
-        
-        return ResponseEntity.ok(convertToDTO(vote, userId));
+        return ResponseEntity.ok(voteService.publishVote(id, userId));
     }
     
     @GetMapping
-    public ResponseEntity<List<VoteDTO>> browseVotes(@RequestParam(required = false) String status, Authentication authentication) {
+    public ResponseEntity<?> browseVotes(@RequestParam(required = false) String status,
+                                         @RequestParam(required = false) Integer limit,
+                                         @RequestParam(required = false) String cursor,
+                                         Authentication authentication) {
         Long userId = getCurrentUserId(authentication);
-        List<Vote> votes;
-        
-        if (status != null && !status.isEmpty()) {
+        Vote.VoteStatus voteStatus = parseStatus(status);
+    
+        if (limit == null && cursor == null) {
+            return ResponseEntity.ok(voteService.listVotes(userId, voteStatus));
+        }
+    
+        VoteCursor after = null;
+        if (cursor != null && !cursor.isEmpty()) {
             try {
-                Vote.VoteStatus voteStatus = Vote.VoteStatus.valueOf(status.toUpperCase());
-                votes = voteRepository.findByStatus(voteStatus);
+                after = VoteCursor.decode(cursor);
             } catch (IllegalArgumentException e) {
-                votes = voteRepository.findAll();
+                Map<String, String> errorResponse = new HashMap<>();
+                errorResponse.put("message", "Invalid cursor");
+                errorResponse.put("error", "BadRequest");
+                return ResponseEntity.badRequest().body(errorResponse);
             }
-        } else {
-            votes = voteRepository.findAll();
         }
-        
-        votes = votes.stream()
-            .filter(vote -> {
-                if (vote.getStatus() != Vote.VoteStatus.PUBLISHED) {
-                    return vote.getCreator().getId().equals(userId);
-                }
-                if (vote.getPermission() == Vote.VotePermission.PUBLIC) {
-                    return true;
-                }
-                if (vote.getPermission() == Vote.VotePermission.PRIVATE) {
-                    return vote.getCreator().getId().equals(userId);
-                }
-                return true;
-            })
-            .collect(Collectors.toList());
-        
-        List<VoteDTO> voteDTOs = votes.stream()
-            .map(vote -> convertToDTO(vote, userId))
-            .collect(Collectors.toList());
-        
-        return ResponseEntity.ok(voteDTOs);
+    
+        int pageSize = Math.max(1, Math.min(limit != null ? limit : DEFAULT_PAGE_SIZE, MAX_PAGE_SIZE));
+        return ResponseEntity.ok(voteService.pageVotes(userId, voteStatus, pageSize, after));
     }
     
-    @GetMapping("/{id}")
-    public ResponseEntity<VoteDTO> getVote(@PathVariable Long id, Authentication authentication) {
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> exportVotes(@RequestParam(required = false) String status, Authentication authentication) {
         Long userId = getCurrentUserId(authentication);
-        Vote vote = voteRepository.findById(id).orElse(null);
-        
-        if (vote == null) {
-            return ResponseEntity.notFound().build();
-        }
-        
-        if (vote.getStatus() != Vote.VoteStatus.PUBLISHED && !vote.getCreator().getId().equals(userId)) {
-            return ResponseEntity.status(403).build();
+        Vote.VoteStatus voteStatus = parseStatus(status);
+    
+        StreamingResponseBody body = outputStream -> voteService.exportVotes(userId, voteStatus, outputStream);
+    
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType("application/x-ndjson")).body(body);
+    }
+    
+    private Vote.VoteStatus parseStatus(String status) {
+        if (status == null || status.isEmpty()) {
+            return null;
         }
-        
-        if (vote.getPermission() == Vote.VotePermission.PRIVATE && !vote.getCreator().getId().equals(userId)) {
-            return ResponseEntity.status(403).build();
+        try {
+            return Vote.VoteStatus.valueOf(status.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return null;
         }
-        
-        return ResponseEntity.ok(convertToDTO(vote, userId));
+    }
+    
+    @GetMapping("/{id}")
+    public ResponseEntity<VoteDTO> getVote(@PathVariable Long id, Authentication authentication, @RequestHeader HttpHeaders headers) {
+        Long userId = getCurrentUserId(authentication);
+        return conditionalGet(id, userId, headers, true, () -> voteService.getVote(id, userId));
     }
     
     @PostMapping("/{id}/participate")
     public ResponseEntity<?> participateInVote(@PathVariable Long id, @RequestParam Long optionId, Authentication authentication) {
         Long userId = getCurrentUserId(authentication);
-        Vote vote = voteRepository.findById(id).orElse(null);
-        
-        if (vote == null) {
-            return ResponseEntity.notFound().build();
-        }
-        
-        if (vote.getStatus() != Vote.VoteStatus.PUBLISHED) {
-            Map<String, String> errorResponse = new HashMap<>();
-            errorResponse.put("message", "Vote is not published");
-            errorResponse.put("error", "BadRequest");
-            return ResponseEntity.badRequest().body(errorResponse);
-        }
-        
-        if (vote.getClosedAt() != null) {
-            Map<String, String> errorResponse = new HashMap<>();
-            errorResponse.put("message", "Vote is closed");
-            errorResponse.put("error", "BadRequest");
-            return ResponseEntity.badRequest().body(errorResponse);
-        }
-        
-        User user = userRepository.findById(userId).orElse(null);
-        if (user == null) {
-            Map<String, String> errorResponse = new HashMap<>();
-            errorResponse.put("message", "User not found. Please login again.");
-            errorResponse.put("error", "Unauthorized");
-            return ResponseEntity.status(401).body(errorResponse);
-        }
-        
-        if (voteResponseRepository.existsByVoteAndUser(vote, user)) {
-            Map<String, String> errorResponse = new HashMap<>();
-            errorResponse.put("message", "You have already voted");
-            errorResponse.put("error", "BadRequest");
-            return ResponseEntity.badRequest().body(errorResponse);
-        }
-        
-        VoteOption option = voteOptionRepository.findById(optionId).orElse(null);
-        if (option == null || !option.getVote().getId().equals(id)) {
-            Map<String, String> errorResponse = new HashMap<>();
-            errorResponse.put("message", "Invalid option");
-            errorResponse.put("error", "BadRequest");
-            return ResponseEntity.badRequest().body(errorResponse);
-        }
-        
-        VoteResponse response = new VoteResponse();
-        response.setVote(vote);
-        response.setUser(user);
-        response.setSelectedOption(option);
-        voteResponseRepository.save(response);
-        
-        option.setVoteCount(option.getVoteCount() + 1);
-        voteOptionRepository.save(option);
-        
-        vote = voteRepository.findById(vote.getId()).orElse(vote);
-        
-        return ResponseEntity.ok(convertToDTO(vote, userId));
+        return ballotResponse(voteService.castBallot(id, optionId, userId));
     }
     
     @GetMapping("/{id}/results")
-    public ResponseEntity<VoteDTO> getVoteResults(@PathVariable Long id, Authentication authentication) {
+    public ResponseEntity<VoteDTO> getVoteResults(@PathVariable Long id, Authentication authentication, @RequestHeader HttpHeaders headers) {
         Long userId = getCurrentUserId(authentication);
-        Vote vote = voteRepository.findById(id).orElse(null);
-        
-        if (vote == null) {
-            return ResponseEntity.notFound().build();
-        }
-        
-        return ResponseEntity.ok(convertToDTO(vote, userId));
+        return conditionalGet(id, userId, headers, false, () -> voteService.getResults(id, userId));
+    }
+    
+    @GetMapping(value = "/{id}/results/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamVoteResults(@PathVariable Long id, Authentication authentication, HttpServletRequest request) {
+        VoteDTO dto = voteService.getResults(id, getCurrentUserId(authentication));
+        request.setAttribute(WebAsyncConfig.TIMEOUT_ATTRIBUTE, resultsBroadcaster.getRequestTimeout());
+    
+        return ResponseEntity.ok()
+            .contentType(MediaType.TEXT_EVENT_STREAM)
+            .cacheControl(CacheControl.noCache())
+            .body(resultsBroadcaster.subscribe(dto));
     }
     
     @GetMapping("/share/{token}")
     public ResponseEntity<?> getVoteByShareToken(@PathVariable String token) {
-        Vote vote = voteRepository.findByShareToken(token).orElse(null);
-        
-        if (vote == null) {
-            Map<String, String> errorResponse = new HashMap<>();
-            errorResponse.put("message", "Vote not found with the provided share token");
-            errorResponse.put("error", "NotFound");
-            return ResponseEntity.status(404).body(errorResponse);
-        }
-        
-        if (vote.getStatus() != Vote.VoteStatus.PUBLISHED) {
-            Map<String, String> errorResponse = new HashMap<>();
-            errorResponse.put("message", "This vote is not published yet");
-            errorResponse.put("error", "BadRequest");
-            return ResponseEntity.badRequest().body(errorResponse);
-        }
-        
-        vote = voteRepository.findById(vote.getId()).orElse(vote);
-        
-        VoteDTO dto = convertToDTO(vote, null);
-        return ResponseEntity.ok(dto);
+        return ResponseEntity.ok(voteService.getVoteByShareToken(token));
     }
     
     @PostMapping("/{id}/participate-share")
-    public ResponseEntity<?> participateInVoteByShare(@PathVariable Long id, @RequestParam Long optionId, @RequestParam(required = false) String token, Authentication authentication) {
-        System.out.println("=== Participate by Share Debug ===");
-        System.out.println("Vote ID: " + id);
-        System.out.println("Option ID: " + optionId);
-        System.out.println("Share Token: " + token);
-        System.out.println("Authentication: " + authentication);
-        if (authentication != null) {
-            System.out.println("Is Authenticated: " + authentication.isAuthenticated());
-            System.out.println("Principal: " + authentication.getPrincipal());
-            System.out.println("Principal Type: " + (authentication.getPrincipal() != null ? authentication.getPrincipal().getClass().getName() : "null"));
-        }
-        System.out.println("================================");
-        
-        Vote vote = voteRepository.findById(id).orElse(null);
-        
-        if (vote == null) {
-            Map<String, String> errorResponse = new HashMap<>();
-            errorResponse.put("message", "Vote not found");
-            errorResponse.put("error", "NotFound");
-            return ResponseEntity.status(404).body(errorResponse);
+    public ResponseEntity<?> participateInVoteByShare(@PathVariable Long id, @RequestParam Long optionId, @RequestParam(required = false) String token,
+                                                      @CookieValue(name = VoterCookie.NAME, required = false) String voterId,
+                                                      Authentication authentication, HttpServletResponse servletResponse) {
+        Long userId = null;
+        if (authentication != null && authentication.isAuthenticated()) {
+            Object principal = authentication.getPrincipal();
+            if (principal instanceof Long) {
+                userId = (Long) principal;
+            } else if (principal != null && !"anonymousUser".equals(principal.toString())) {
+                try {
+                    userId = Long.parseLong(principal.toString());
+                } catch (NumberFormatException e) {
+                }
+            }
         }
-        
-        if (vote.getPermission() == Vote.VotePermission.LINK_ONLY && (token == null || !vote.getShareToken().equals(token))) {
-            Map<String, String> errorResponse = new HashMap<>();
-            errorResponse.put("message", "Invalid share token");
-            errorResponse.put("error", "Forbidden");
-            return ResponseEntity.status(403).body(errorResponse);
+    
+        return ballotResponse(voteService.castSharedBallot(id, optionId, token, userId,
+            () -> voterCookie.fingerprint(ensureVoterCookie(voterId, servletResponse))));
+    }
+    
+    private String ensureVoterCookie(String voterId, HttpServletResponse servletResponse) {
+        if (voterCookie.isValid(voterId)) {
+            return voterId;
         }
-        
-        if (vote.getStatus() != Vote.VoteStatus.PUBLISHED) {
-            Map<String, String> errorResponse = new HashMap<>();
-            errorResponse.put("message", "Vote is not published");
-            errorResponse.put("error", "BadRequest");
-            return ResponseEntity.badRequest().body(errorResponse);
+    
+        String issued = voterCookie.issue();
+        ResponseCookie cookie = ResponseCookie.from(VoterCookie.NAME, issued)
+            .httpOnly(true)
+            .sameSite("Lax")
+            .path("/")
+            .maxAge(Duration.ofDays(365))
+            .build();
+        servletResponse.addHeader(HttpHeaders.SET_COOKIE, cookie.toString());
+        replicaReadPolicy.pinToPrimary(ReplicaReadPolicy.voterKey(issued));
+        return issued;
+    }
+    
+    /**
+     * Answers with 304 when the caller's ETag matches the vote's current
+     * version (or, for a closed vote, when it has not changed since
+     * If-Modified-Since), without loading the vote. The version is read
+     * before loading, so a change made meanwhile is picked up by the next
+     * request. Reads that may go to the replica get no ETag, since the
+     * replica can lag behind the version.
+     */
+    private ResponseEntity<VoteDTO> conditionalGet(Long voteId, Long userId, HttpHeaders headers, boolean checkAccess,
+                                                   Supplier<VoteDTO> load) {
+        if (replicaReadPolicy.readsFromReplica()) {
+            return ResponseEntity.ok(load.get());
         }
-        
-        if (vote.getClosedAt() != null) {
-            Map<String, String> errorResponse = new HashMap<>();
-            errorResponse.put("message", "Vote is closed");
-            errorResponse.put("error", "BadRequest");
-            return ResponseEntity.badRequest().body(errorResponse);
+    
+        VoteVersions.Stamp stamp = voteVersions.current(voteId);
+        String etag = voteVersions.etag(voteId, stamp, userId);
+        boolean known = checkAccess ? stamp.isVisibleTo(userId) : stamp.isLoaded();
+        if (known && isNotModified(headers, etag, stamp)) {
+            return cacheHeaders(ResponseEntity.status(HttpStatus.NOT_MODIFIED), etag, stamp.closedAt()).build();
         }
-        
-        VoteOption option = voteOptionRepository.findById(optionId).orElse(null);
-        if (option == null || !option.getVote().getId().equals(id)) {
-            Map<String, String> errorResponse = new HashMap<>();
-            errorResponse.put("message", "Invalid option");
-            errorResponse.put("error", "BadRequest");
-            return ResponseEntity.badRequest().body(errorResponse);
+    
+        VoteDTO dto = load.get();
+        stamp = voteVersions.loaded(voteId, stamp, dto);
+        return cacheHeaders(ResponseEntity.ok(), etag, stamp.closedAt()).body(dto);
+    }
+    
+    private static boolean isNotModified(HttpHeaders headers, String etag, VoteVersions.Stamp stamp) {
+        List<String> ifNoneMatch = headers.getIfNoneMatch();
+        if (!ifNoneMatch.isEmpty()) {
+            return ifNoneMatch.contains(etag) || ifNoneMatch.contains("W/" + etag) || ifNoneMatch.contains("*");
         }
-        
-        User user = null;
-        Long userId = null;
-        
-        try {
-            if (authentication != null && authentication.isAuthenticated()) {
-                Object principal = authentication.getPrincipal();
-                if (principal instanceof Long) {
-                    userId = (Long) principal;
-                } else if (principal != null && !"anonymousUser".equals(principal.toString())) {
-                    try {
-                        userId = Long.parseLong(principal.toString());
-                    } catch (NumberFormatException e) {
-                    }
-                }
-                
-                if (userId != null) {
-                    user = userRepository.findById(userId).orElse(null);
-                    
-                    if (user != null && voteResponseRepository.existsByVoteAndUser(vote, user)) {
-                        Map<String, String> errorResponse = new HashMap<>();
-                        errorResponse.put("message", "You have already voted");
-                        errorResponse.put("error", "BadRequest");
-                        return ResponseEntity.badRequest().body(errorResponse);
-                    }
-                }
-            }
-        } catch (Exception e) {
-            System.err.println("Error checking user authentication: " + e.getMessage());
+        long ifModifiedSince = headers.getIfModifiedSince();
+        return stamp.isClosed() && ifModifiedSince >= 0 && stamp.closedAt() / 1000 <= ifModifiedSince / 1000;
+    }
+    
+    // Responses depend on the caller (hasVoted, access), so they are private. Open
+    // votes must be revalidated; closed ones can no longer change.
+    private ResponseEntity.BodyBuilder cacheHeaders(ResponseEntity.BodyBuilder response, String etag, Long closedAt) {
+        response.eTag(etag);
+        if (closedAt == null) {
+            return response.cacheControl(CacheControl.noCache().cachePrivate());
+        }
+        return response.cacheControl(CacheControl.maxAge(closedVoteMaxAge).cachePrivate()).lastModified(closedAt);
+    }
+    
+    private ResponseEntity<?> ballotResponse(VoteDTO dto) {
+        if (dto == null) {
+            Map<String, String> acceptedResponse = new HashMap<>();
+            acceptedResponse.put("message", "Ballot accepted");
+            acceptedResponse.put("status", "QUEUED");
+            return ResponseEntity.accepted().body(acceptedResponse);
         }
-        
-        VoteResponse response = new VoteResponse();
-        response.setVote(vote);
-        response.setUser(user);
-        response.setSelectedOption(option);
-        voteResponseRepository.save(response);
-        
-        option.setVoteCount(option.getVoteCount() + 1);
-        voteOptionRepository.save(option);
-        
-        vote = voteRepository.findById(vote.getId()).orElse(vote);
-        
-        VoteDTO dto = convertToDTO(vote, userId);
         return ResponseEntity.ok(dto);
     }
     
+    @PostMapping("/{id}/ballots:batch")
+    public ResponseEntity<?> submitBallotBatch(@PathVariable Long id, @Valid @RequestBody BallotBatchRequest request, Authentication authentication) {
+        Long userId = getCurrentUserId(authentication);
+        return ResponseEntity.ok(voteService.importBallots(id, userId, request.getBallots()));
+    }
+    
     @PutMapping("/{id}/permission")
     public ResponseEntity<?> setVotePermission(@PathVariable Long id, @RequestParam String permission, Authentication authentication) {
         Long userId = getCurrentUserId(authentication);
-        Vote vote = voteRepository.findById(id).orElse(null);
-        
-        if (vote == null) {
-            return ResponseEntity.notFound().build();
-        }
-        
-        if (!vote.getCreator().getId().equals(userId)) {
-            return ResponseEntity.status(403).body("You can only modify your own votes");
-        }
-        
-        try {
-            vote.setPermission(Vote.VotePermission.valueOf(permission.toUpperCase()));
-            voteRepository.save(vote);
-            return ResponseEntity.ok(convertToDTO(vote, userId));
-        } catch (IllegalArgumentException e) {
-            return ResponseEntity.badRequest().body("Invalid permission type");
-        }
+        return ResponseEntity.ok(voteService.setPermission(id, userId, permission));
     }
     
     @PostMapping("/{id}/close")
     public ResponseEntity<?> closeVote(@PathVariable Long id, Authentication authentication) {
         Long userId = getCurrentUserId(authentication);
-        Vote vote = voteRepository.findById(id).orElse(null);
-        
-        if (vote == null) {
-            return ResponseEntity.notFound().build();
-        }
-        
-        if (!vote.getCreator().getId().equals(userId)) {
-            return ResponseEntity.status(403).body("You can only close your own votes");
-        }
-        
-        vote.setStatus(Vote.VoteStatus.CLOSED);
-        vote.setClosedAt(LocalDateTime.now());
-        voteRepository.save(vote);
-        
-        return ResponseEntity.ok(convertToDTO(vote, userId));
+        return ResponseEntity.ok(voteService.closeVote(id, userId));
     }
     
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deleteVote(@PathVariable Long id, Authentication authentication) {
         Long userId = getCurrentUserId(authentication);
-        Vote vote = voteRepository.findById(id).orElse(null);
-        
-        if (vote == null) {
-            return ResponseEntity.notFound().build();
-        }
-        
-        if (!vote.getCreator().getId().equals(userId)) {
-            return ResponseEntity.status(403).body("You can only delete your own votes");
-        }
-        
-        vote.setStatus(Vote.VoteStatus.DELETED);
-        voteRepository.save(vote);
-        
+        voteService.deleteVote(id, userId);
         return ResponseEntity.ok().build();
     }
-    
-    private VoteDTO convertToDTO(Vote vote, Long currentUserId) {
-        if (vote == null) {
-            throw new IllegalArgumentException("Vote cannot be null");
-        }
-        
-        VoteDTO dto = new VoteDTO();
-        dto.setId(vote.getId());
-        dto.setTitle(vote.getTitle());
-        dto.setDescription(vote.getDescription());
-        
-        if (vote.getCreator() != null) {
-            dto.setCreatorId(vote.getCreator().getId());
-            dto.setCreatorUsername(vote.getCreator().getUsername() != null ? vote.getCreator().getUsername() : "Unknown");
-        } else {
-            dto.setCreatorId(null);
-            dto.setCreatorUsername("Unknown");
-        }
-        
-        dto.setStatus(vote.getStatus());
-        dto.setPermission(vote.getPermission());
-        dto.setShareToken(vote.getShareToken());
-        dto.setCreatedAt(vote.getCreatedAt());
-        dto.setPublishedAt(vote.getPublishedAt());
-        dto.setClosedAt(vote.getClosedAt());
-        
-        int totalVotes = 0;
-        if (vote.getOptions() != null) {
-            totalVotes = vote.getOptions().stream()
-                .mapToInt(option -> option.getVoteCount() != null ? option.getVoteCount() : 0)
-                .sum();
-        }
-        dto.setTotalVotes(totalVotes);
-        
-        boolean hasVoted = false;
-        if (currentUserId != null) {
-            User user = userRepository.findById(currentUserId).orElse(null);
-            if (user != null && vote != null) {
-                hasVoted = voteResponseRepository.existsByVoteAndUser(vote, user);
-            }
-        }
-        dto.setHasVoted(hasVoted);
-        
-        if (vote.getOptions() != null) {
-            for (VoteOption option : vote.getOptions()) {
-                VoteDTO.OptionDTO optionDTO = new VoteDTO.OptionDTO();
-                optionDTO.setId(option.getId());
-                optionDTO.setText(option.getText() != null ? option.getText() : "");
-                optionDTO.setVoteCount(option.getVoteCount() != null ? option.getVoteCount() : 0);
-                
-                if (totalVotes > 0) {
-                    optionDTO.setPercentage((double) optionDTO.getVoteCount() / totalVotes * 100);
-                } else {
-                    optionDTO.setPercentage(0.0);
-                }
-                
-                dto.getOptions().add(optionDTO);
-            }
-        }
-        
-        return dto;
-    }
 }
 
 
@@ -0,0 +1,47 @@
+package com.votingsystem.dto;
+
+public class AnonymousBallotFilterDTO {
+    private Long voteId;
+    private long ballots;
+    private long bytes;
+    private double expectedFalsePositiveRate;
+    
+    public AnonymousBallotFilterDTO(Long voteId, long ballots, long bytes, double expectedFalsePositiveRate) {
+        this.voteId = voteId;
+        this.ballots = ballots;
+        this.bytes = bytes;
+        this.expectedFalsePositiveRate = expectedFalsePositiveRate;
+    }
+    
+    public Long getVoteId() {
+        return voteId;
+    }
+    
+    public void setVoteId(Long voteId) {
+        this.voteId = voteId;
+    }
+    
+    public long getBallots() {
+        return ballots;
+    }
+    
+    public void setBallots(long ballots) {
+        this.ballots = ballots;
+    }
+    
+    public long getBytes() {
+        return bytes;
+    }
+    
+    public void setBytes(long bytes) {
+        this.bytes = bytes;
+    }
+    
+    public double getExpectedFalsePositiveRate() {
+        return expectedFalsePositiveRate;
+    }
+    
+    public void setExpectedFalsePositiveRate(double expectedFalsePositiveRate) {
+        this.expectedFalsePositiveRate = expectedFalsePositiveRate;
+    }
+}
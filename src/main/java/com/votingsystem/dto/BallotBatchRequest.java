@@ -0,0 +1,46 @@
+package com.votingsystem.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import java.util.List;
+
+public class BallotBatchRequest {
+    @NotEmpty(message = "At least one ballot is required")
+    private List<Ballot> ballots;
+    
+    public List<Ballot> getBallots() {
+        return ballots;
+    }
+    
+    public void setBallots(List<Ballot> ballots) {
+        this.ballots = ballots;
+    }
+    
+    public static class Ballot {
+        private Long userId;
+        private Long optionId;
+        
+        public Ballot() {
+        }
+        
+        public Ballot(Long userId, Long optionId) {
+            this.userId = userId;
+            this.optionId = optionId;
+        }
+        
+        public Long getUserId() {
+            return userId;
+        }
+        
+        public void setUserId(Long userId) {
+            this.userId = userId;
+        }
+        
+        public Long getOptionId() {
+            return optionId;
+        }
+        
+        public void setOptionId(Long optionId) {
+            this.optionId = optionId;
+        }
+    }
+}
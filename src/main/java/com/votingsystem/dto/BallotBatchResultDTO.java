@@ -0,0 +1,73 @@
+package com.votingsystem.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class BallotBatchResultDTO {
+    private int accepted;
+    private int rejected;
+    private List<ItemResult> results = new ArrayList<>();
+    
+    public int getAccepted() {
+        return accepted;
+    }
+    
+    public void setAccepted(int accepted) {
+        this.accepted = accepted;
+    }
+    
+    public int getRejected() {
+        return rejected;
+    }
+    
+    public void setRejected(int rejected) {
+        this.rejected = rejected;
+    }
+    
+    public List<ItemResult> getResults() {
+        return results;
+    }
+    
+    public void setResults(List<ItemResult> results) {
+        this.results = results;
+    }
+    
+    public static class ItemResult {
+        private int index;
+        private String status;
+        private String message;
+        
+        public ItemResult() {
+        }
+        
+        public ItemResult(int index, String status, String message) {
+            this.index = index;
+            this.status = status;
+            this.message = message;
+        }
+        
+        public int getIndex() {
+            return index;
+        }
+        
+        public void setIndex(int index) {
+            this.index = index;
+        }
+        
+        public String getStatus() {
+            return status;
+        }
+        
+        public void setStatus(String status) {
+            this.status = status;
+        }
+        
+        public String getMessage() {
+            return message;
+        }
+        
+        public void setMessage(String message) {
+            this.message = message;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.votingsystem.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ResultsDeltaDTO {
+    private Long voteId;
+    private Integer totalVotes;
+    private List<OptionDelta> options = new ArrayList<>();
+    
+    public static class OptionDelta {
+        private Long id;
+        private Integer voteCount;
+        private Integer delta;
+        private Double percentage;
+        
+        public Long getId() {
+            return id;
+        }
+        
+        public void setId(Long id) {
+            this.id = id;
+        }
+        
+        public Integer getVoteCount() {
+            return voteCount;
+        }
+        
+        public void setVoteCount(Integer voteCount) {
+            this.voteCount = voteCount;
+        }
+        
+        public Integer getDelta() {
+            return delta;
+        }
+        
+        public void setDelta(Integer delta) {
+            this.delta = delta;
+        }
+        
+        public Double getPercentage() {
+            return percentage;
+        }
+        
+        public void setPercentage(Double percentage) {
+            this.percentage = percentage;
+        }
+    }
+    
+    public Long getVoteId() {
+        return voteId;
+    }
+    
+    public void setVoteId(Long voteId) {
+        this.voteId = voteId;
+    }
+    
+    public Integer getTotalVotes() {
+        return totalVotes;
+    }
+    
+    public void setTotalVotes(Integer totalVotes) {
+        this.totalVotes = totalVotes;
+    }
+    
+    public List<OptionDelta> getOptions() {
+        return options;
+    }
+    
+    public void setOptions(List<OptionDelta> options) {
+        this.options = options;
+    }
+}
@@ -0,0 +1,47 @@
+package com.votingsystem.dto;
+
+public class TallyDriftDTO {
+    private Long voteId;
+    private Long optionId;
+    private long storedCount;
+    private long rebuiltCount;
+    
+    public TallyDriftDTO(Long voteId, Long optionId, long storedCount, long rebuiltCount) {
+        this.voteId = voteId;
+        this.optionId = optionId;
+        this.storedCount = storedCount;
+        this.rebuiltCount = rebuiltCount;
+    }
+    
+    public Long getVoteId() {
+        return voteId;
+    }
+    
+    public void setVoteId(Long voteId) {
+        this.voteId = voteId;
+    }
+    
+    public Long getOptionId() {
+        return optionId;
+    }
+    
+    public void setOptionId(Long optionId) {
+        this.optionId = optionId;
+    }
+    
+    public long getStoredCount() {
+        return storedCount;
+    }
+    
+    public void setStoredCount(long storedCount) {
+        this.storedCount = storedCount;
+    }
+    
+    public long getRebuiltCount() {
+        return rebuiltCount;
+    }
+    
+    public void setRebuiltCount(long rebuiltCount) {
+        this.rebuiltCount = rebuiltCount;
+    }
+}
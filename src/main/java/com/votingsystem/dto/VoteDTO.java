@@ -60,6 +60,22 @@ public class VoteDTO {
         }
     }
     
+    public void recalculateTotals() {
+        int total = 0;
+        for (OptionDTO option : options) {
+            total += option.getVoteCount() != null ? option.getVoteCount() : 0;
+        }
+        totalVotes = total;
+        
+        for (OptionDTO option : options) {
+            if (total > 0) {
+                option.setPercentage((double) option.getVoteCount() / total * 100);
+            } else {
+                option.setPercentage(0.0);
+            }
+        }
+    }
+    
     public Long getId() {
         return id;
     }
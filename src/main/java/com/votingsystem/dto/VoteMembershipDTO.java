@@ -0,0 +1,37 @@
+package com.votingsystem.dto;
+
+public class VoteMembershipDTO {
+    private Long voteId;
+    private long voters;
+    private long bytes;
+    
+    public VoteMembershipDTO(Long voteId, long voters, long bytes) {
+        this.voteId = voteId;
+        this.voters = voters;
+        this.bytes = bytes;
+    }
+    
+    public Long getVoteId() {
+        return voteId;
+    }
+    
+    public void setVoteId(Long voteId) {
+        this.voteId = voteId;
+    }
+    
+    public long getVoters() {
+        return voters;
+    }
+    
+    public void setVoters(long voters) {
+        this.voters = voters;
+    }
+    
+    public long getBytes() {
+        return bytes;
+    }
+    
+    public void setBytes(long bytes) {
+        this.bytes = bytes;
+    }
+}
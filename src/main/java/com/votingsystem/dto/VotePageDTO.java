@@ -0,0 +1,30 @@
+package com.votingsystem.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class VotePageDTO {
+    private List<VoteDTO> items = new ArrayList<>();
+    private String nextCursor;
+    
+    public VotePageDTO(List<VoteDTO> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+    
+    public List<VoteDTO> getItems() {
+        return items;
+    }
+    
+    public void setItems(List<VoteDTO> items) {
+        this.items = items;
+    }
+    
+    public String getNextCursor() {
+        return nextCursor;
+    }
+    
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
@@ -0,0 +1,19 @@
+package com.votingsystem.event;
+
+public class BallotAcceptedEvent {
+    private final Long voteId;
+    private final Long optionId;
+    
+    public BallotAcceptedEvent(Long voteId, Long optionId) {
+        this.voteId = voteId;
+        this.optionId = optionId;
+    }
+    
+    public Long getVoteId() {
+        return voteId;
+    }
+    
+    public Long getOptionId() {
+        return optionId;
+    }
+}
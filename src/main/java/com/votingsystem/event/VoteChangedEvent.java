@@ -0,0 +1,13 @@
+package com.votingsystem.event;
+
+public class VoteChangedEvent {
+    private final Long voteId;
+    
+    public VoteChangedEvent(Long voteId) {
+        this.voteId = voteId;
+    }
+    
+    public Long getVoteId() {
+        return voteId;
+    }
+}
@@ -0,0 +1,128 @@
+package com.votingsystem.event;
+
+import java.nio.ByteBuffer;
+import java.util.zip.CRC32C;
+
+/**
+ * One entry of the append-only vote event log. On disk a record is
+ * {@code length | crc | payload}, where the CRC-32C covers the previous
+ * record's CRC followed by this payload. The chain makes the log
+ * tamper-evident: editing, dropping or reordering a record breaks every
+ * check after it.
+ */
+public class VoteLogRecord {
+    public static final int PAYLOAD_BYTES = 8 + 8 + 1 + 8 + 8 + 8 + 8;
+    public static final int RECORD_BYTES = 4 + 4 + PAYLOAD_BYTES;
+    
+    private static final long NONE = -1L;
+    
+    public enum Type {
+        BALLOT_CAST, VOTE_PUBLISHED, VOTE_CLOSED
+    }
+    
+    private final long sequence;
+    private final long timestamp;
+    private final Type type;
+    private final Long voteId;
+    private final Long optionId;
+    private final Long userId;
+    private final Long responseId;
+    
+    public VoteLogRecord(long sequence, long timestamp, Type type, Long voteId, Long optionId, Long userId, Long responseId) {
+        this.sequence = sequence;
+        this.timestamp = timestamp;
+        this.type = type;
+        this.voteId = voteId;
+        this.optionId = optionId;
+        this.userId = userId;
+        this.responseId = responseId;
+    }
+    
+    public VoteLogRecord withSequence(long sequence) {
+        return new VoteLogRecord(sequence, timestamp, type, voteId, optionId, userId, responseId);
+    }
+    
+    /** Writes this record at the buffer's position and returns its CRC. */
+    public int encode(ByteBuffer out, int previousCrc) {
+        int start = out.position();
+        out.putInt(PAYLOAD_BYTES);
+        out.putInt(0);
+        out.putLong(sequence);
+        out.putLong(timestamp);
+        out.put((byte) type.ordinal());
+        out.putLong(orNone(voteId));
+        out.putLong(orNone(optionId));
+        out.putLong(orNone(userId));
+        out.putLong(orNone(responseId));
+        int crc = checksum(out, start + 8, previousCrc);
+        out.putInt(start + 4, crc);
+        return crc;
+    }
+    
+    /**
+     * Reads the record at the buffer's position, or returns {@code null}
+     * without consuming anything if the bytes there are incomplete or fail
+     * the CRC chain.
+     */
+    public static VoteLogRecord decode(ByteBuffer in, int previousCrc) {
+        int start = in.position();
+        if (in.remaining() < RECORD_BYTES || in.getInt(start) != PAYLOAD_BYTES) {
+            return null;
+        }
+        if (checksum(in, start + 8, previousCrc) != in.getInt(start + 4)) {
+            return null;
+        }
+        int typeOrdinal = in.get(start + 24);
+        if (typeOrdinal < 0 || typeOrdinal >= Type.values().length) {
+            return null;
+        }
+        VoteLogRecord record = new VoteLogRecord(in.getLong(start + 8), in.getLong(start + 16), Type.values()[typeOrdinal],
+            fromNone(in.getLong(start + 25)), fromNone(in.getLong(start + 33)),
+            fromNone(in.getLong(start + 41)), fromNone(in.getLong(start + 49)));
+        in.position(start + RECORD_BYTES);
+        return record;
+    }
+    
+    private static int checksum(ByteBuffer buffer, int payloadStart, int previousCrc) {
+        CRC32C crc = new CRC32C();
+        crc.update(ByteBuffer.allocate(4).putInt(0, previousCrc));
+        crc.update(buffer.slice(payloadStart, PAYLOAD_BYTES));
+        return (int) crc.getValue();
+    }
+    
+    private static long orNone(Long value) {
+        return value != null ? value : NONE;
+    }
+    
+    private static Long fromNone(long value) {
+        return value != NONE ? value : null;
+    }
+    
+    public long getSequence() {
+        return sequence;
+    }
+    
+    public long getTimestamp() {
+        return timestamp;
+    }
+    
+    public Type getType() {
+        return type;
+    }
+    
+    public Long getVoteId() {
+        return voteId;
+    }
+    
+    public Long getOptionId() {
+        return optionId;
+    }
+    
+    public Long getUserId() {
+        return userId;
+    }
+    
+    public Long getResponseId() {
+        return responseId;
+    }
+}
@@ -1,11 +1,21 @@
 package com.votingsystem.filter;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import com.votingsystem.util.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -14,7 +24,10 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.time.Duration;
 import java.util.Collections;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
@@ -22,6 +35,33 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private JwtUtil jwtUtil;
     
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${voting.jwt-cache.max-size:10000}")
+    private long maxSize;
+    
+    @Value("${voting.jwt-cache.max-ttl:5m}")
+    private Duration maxTtl;
+    
+    // Token string -> principal for tokens whose signature has already been
+    // checked. Entries never outlive the token's own exp claim.
+    private Cache<String, VerifiedToken> verifiedTokens;
+    private Timer validVerifications;
+    private Timer invalidVerifications;
+    
+    @PostConstruct
+    public void init() {
+        verifiedTokens = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfter(new TokenExpiry(maxTtl))
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, "jwt.verified");
+        validVerifications = Timer.builder("jwt.verification").tag("outcome", "valid").publishPercentileHistogram().register(meterRegistry);
+        invalidVerifications = Timer.builder("jwt.verification").tag("outcome", "invalid").publishPercentileHistogram().register(meterRegistry);
+    }
+    
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
             throws ServletException, IOException {
@@ -36,14 +76,13 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
             String token = authHeader.substring(7);
+            Long userId = authenticate(token);
             
-            if (jwtUtil.isTokenValid(token)) {
-                Long userId = jwtUtil.extractUserId(token);
-                
-                UsernamePasswordAuthenticationToken authentication = 
+            if (userId != null) {
+                UsernamePasswordAuthenticationToken authentication =
                     new UsernamePasswordAuthenticationToken(
-                        userId, 
-                        null, 
+                        userId,
+                        null,
                         Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER"))
                     );
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
@@ -53,6 +92,62 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         
         chain.doFilter(request, response);
     }
+    
+    private Long authenticate(String token) {
+        VerifiedToken cached = verifiedTokens.getIfPresent(token);
+        if (cached != null) {
+            return cached.userId;
+        }
+        
+        long start = System.nanoTime();
+        try {
+            Claims claims = jwtUtil.extractClaims(token);
+            Long userId = claims.get("userId", Long.class);
+            validVerifications.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            if (userId != null) {
+                verifiedTokens.put(token, new VerifiedToken(userId, claims.getExpiration()));
+            }
+            return userId;
+        } catch (JwtException | IllegalArgumentException e) {
+            invalidVerifications.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return null;
+        }
+    }
+    
+    private static final class VerifiedToken {
+        private final Long userId;
+        private final Date expiresAt;
+        
+        private VerifiedToken(Long userId, Date expiresAt) {
+            this.userId = userId;
+            this.expiresAt = expiresAt;
+        }
+    }
+    
+    private static final class TokenExpiry implements Expiry<String, VerifiedToken> {
+        private final long maxTtlNanos;
+        
+        private TokenExpiry(Duration maxTtl) {
+            this.maxTtlNanos = maxTtl.toNanos();
+        }
+        
+        @Override
+        public long expireAfterCreate(String token, VerifiedToken verified, long currentTime) {
+            if (verified.expiresAt == null) {
+                return maxTtlNanos;
+            }
+            long remaining = Duration.ofMillis(verified.expiresAt.getTime() - System.currentTimeMillis()).toNanos();
+            return Math.max(0, Math.min(maxTtlNanos, remaining));
+        }
+        
+        @Override
+        public long expireAfterUpdate(String token, VerifiedToken verified, long currentTime, long currentDuration) {
+            return expireAfterCreate(token, verified, currentTime);
+        }
+        
+        @Override
+        public long expireAfterRead(String token, VerifiedToken verified, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
 }
-
-
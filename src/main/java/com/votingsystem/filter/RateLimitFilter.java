@@ -0,0 +1,164 @@
+package com.votingsystem.filter;
+
+import com.votingsystem.config.RateLimitProperties;
+import com.votingsystem.util.RateLimiter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies the {@code voting.rate-limit.routes} limits. Runs right after
+ * {@link JwtAuthenticationFilter}, so a signed-in caller is limited by user id
+ * wherever they connect from, and anyone else by client address. Behind a
+ * proxy the address is only the caller's if {@code server.forward-headers-strategy}
+ * is set; forwarding headers are not trusted here on their own.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+    
+    private static final String TOO_MANY_REQUESTS =
+        "{\"message\":\"Too many requests, please retry later\",\"error\":\"TooManyRequests\"}";
+    
+    @Autowired
+    private RateLimitProperties properties;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    private final List<LimitedRoute> routes = new ArrayList<>();
+    
+    @PostConstruct
+    public void init() {
+        routes.clear();
+        if (!properties.isEnabled()) {
+            return;
+        }
+        for (RateLimitProperties.Route route : properties.getRoutes()) {
+            RateLimiter limiter = new RateLimiter(route.getPermits(), route.getPeriod(), route.getBurst(),
+                properties.getMaxBucketsPerRoute());
+            String name = route.getName() != null ? route.getName() : route.getPath();
+            routes.add(new LimitedRoute(route.getMethod(), segments(route.getPath()), limiter,
+                Counter.builder("http.rate-limit.rejected").tag("route", name).register(meterRegistry)));
+            Gauge.builder("http.rate-limit.buckets", limiter, RateLimiter::estimatedSize).tag("route", name).register(meterRegistry);
+        }
+    }
+    
+    @Scheduled(fixedDelayString = "${voting.rate-limit.evict-interval-ms:10000}")
+    public void evictIdle() {
+        routes.forEach(route -> route.limiter.evictIdle());
+    }
+    
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return routes.isEmpty();
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        
+        LimitedRoute route = match(request);
+        if (route != null) {
+            long wait = route.limiter.acquire(callerKey(request));
+            if (wait > 0) {
+                route.rejected.increment();
+                response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+                response.setHeader("Retry-After", Long.toString(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(wait + 999_999_999))));
+                response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+                response.getWriter().write(TOO_MANY_REQUESTS);
+                return;
+            }
+        }
+        
+        chain.doFilter(request, response);
+    }
+    
+    private LimitedRoute match(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        for (LimitedRoute route : routes) {
+            if ((route.method == null || route.method.equalsIgnoreCase(request.getMethod())) && matches(route.path, uri)) {
+                return route;
+            }
+        }
+        return null;
+    }
+    
+    // Walks the URI in place: a parsed PathPattern match costs more than the limiter itself.
+    private static boolean matches(String[] segments, String uri) {
+        int position = 1;
+        for (String segment : segments) {
+            if (segment.equals("**")) {
+                return true;
+            }
+            if (position > uri.length()) {
+                return false;
+            }
+            int end = uri.indexOf('/', position);
+            if (end < 0) {
+                end = uri.length();
+            }
+            boolean matched = segment.equals("*")
+                ? end > position
+                : end - position == segment.length() && uri.startsWith(segment, position);
+            if (!matched) {
+                return false;
+            }
+            position = end + 1;
+        }
+        return position >= uri.length();
+    }
+    
+    private static String[] segments(String path) {
+        String[] segments = path.replaceAll("^/+|/+$", "").split("/+");
+        for (int i = 0; i < segments.length; i++) {
+            String segment = segments[i];
+            boolean wildcard = segment.contains("*");
+            if (wildcard && !segment.equals("*") && !(segment.equals("**") && i == segments.length - 1)) {
+                throw new IllegalArgumentException("Unsupported rate limit path " + path
+                    + ": use * for one segment and ** only at the end");
+            }
+        }
+        return segments;
+    }
+    
+    // User ids and addresses are different key types, so they never share a bucket.
+    private static Object callerKey(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof Long userId) {
+            return userId;
+        }
+        return request.getRemoteAddr();
+    }
+    
+    private static final class LimitedRoute {
+        private final String method;
+        private final String[] path;
+        private final RateLimiter limiter;
+        private final Counter rejected;
+        
+        private LimitedRoute(String method, String[] path, RateLimiter limiter, Counter rejected) {
+            this.method = method;
+            this.path = path;
+            this.limiter = limiter;
+            this.rejected = rejected;
+        }
+    }
+}
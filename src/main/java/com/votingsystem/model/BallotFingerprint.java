@@ -0,0 +1,45 @@
+package com.votingsystem.model;
+
+import jakarta.persistence.*;
+
+@Entity
+@Table(name = "ballot_fingerprints", uniqueConstraints = {
+    @UniqueConstraint(columnNames = {"vote_id", "fingerprint"})
+})
+public class BallotFingerprint {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ballot_fingerprints_seq")
+    @SequenceGenerator(name = "ballot_fingerprints_seq", sequenceName = "ballot_fingerprints_seq", allocationSize = 50)
+    private Long id;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "vote_id", nullable = false)
+    private Vote vote;
+    
+    @Column(nullable = false)
+    private Long fingerprint;
+    
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public Vote getVote() {
+        return vote;
+    }
+    
+    public void setVote(Vote vote) {
+        this.vote = vote;
+    }
+    
+    public Long getFingerprint() {
+        return fingerprint;
+    }
+    
+    public void setFingerprint(Long fingerprint) {
+        this.fingerprint = fingerprint;
+    }
+}
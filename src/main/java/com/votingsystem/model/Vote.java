@@ -1,15 +1,24 @@
 package com.votingsystem.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "votes")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "votes")
+@Table(name = "votes", indexes = {
+    @Index(name = "idx_votes_status_permission_created", columnList = "status, permission, created_at"),
+    @Index(name = "idx_votes_creator", columnList = "creator_id")
+})
 public class Vote {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "votes_seq")
+    @SequenceGenerator(name = "votes_seq", sequenceName = "votes_seq", allocationSize = 50)
     private Long id;
     
     @Column(nullable = false)
@@ -22,6 +31,7 @@ public class Vote {
     private User creator;
     
     @OneToMany(mappedBy = "vote", cascade = CascadeType.ALL, orphanRemoval = true)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "vote-option-lists")
     private List<VoteOption> options = new ArrayList<>();
     
     @Enumerated(EnumType.STRING)
@@ -30,12 +40,18 @@ public class Vote {
     @Enumerated(EnumType.STRING)
     private VotePermission permission = VotePermission.PUBLIC;
     
+    @Column(unique = true)
     private String shareToken;
     
     private LocalDateTime createdAt;
     private LocalDateTime publishedAt;
     private LocalDateTime closedAt;
     
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+    
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -139,6 +155,14 @@ public class Vote {
     public void setClosedAt(LocalDateTime closedAt) {
         this.closedAt = closedAt;
     }
+    
+    public Long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
 
 
@@ -1,12 +1,20 @@
 package com.votingsystem.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 
 @Entity
-@Table(name = "vote_options")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "vote-options")
+@Table(name = "vote_options", indexes = {
+    @Index(name = "idx_vote_options_vote", columnList = "vote_id")
+})
 public class VoteOption {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "vote_options_seq")
+    @SequenceGenerator(name = "vote_options_seq", sequenceName = "vote_options_seq", allocationSize = 50)
     private Long id;
     
     @Column(nullable = false)
@@ -18,6 +26,11 @@ public class VoteOption {
     
     private Integer voteCount = 0;
     
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+    
     public Long getId() {
         return id;
     }
@@ -49,6 +62,14 @@ public class VoteOption {
     public void setVoteCount(Integer voteCount) {
         this.voteCount = voteCount;
     }
+    
+    public Long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
 
 
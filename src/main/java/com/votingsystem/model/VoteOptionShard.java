@@ -0,0 +1,56 @@
+package com.votingsystem.model;
+
+import jakarta.persistence.*;
+
+@Entity
+@Table(name = "vote_option_shards", uniqueConstraints = {
+    @UniqueConstraint(columnNames = {"option_id", "shard"})
+})
+public class VoteOptionShard {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "vote_option_shards_seq")
+    @SequenceGenerator(name = "vote_option_shards_seq", sequenceName = "vote_option_shards_seq", allocationSize = 50)
+    private Long id;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "option_id", nullable = false)
+    private VoteOption option;
+    
+    @Column(nullable = false)
+    private Integer shard;
+    
+    @Column(nullable = false)
+    private Integer voteCount = 0;
+    
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public VoteOption getOption() {
+        return option;
+    }
+    
+    public void setOption(VoteOption option) {
+        this.option = option;
+    }
+    
+    public Integer getShard() {
+        return shard;
+    }
+    
+    public void setShard(Integer shard) {
+        this.shard = shard;
+    }
+    
+    public Integer getVoteCount() {
+        return voteCount;
+    }
+    
+    public void setVoteCount(Integer voteCount) {
+        this.voteCount = voteCount;
+    }
+}
@@ -5,10 +5,13 @@ import jakarta.persistence.*;
 @Entity
 @Table(name = "vote_responses", uniqueConstraints = {
     @UniqueConstraint(columnNames = {"vote_id", "user_id"})
+}, indexes = {
+    @Index(name = "idx_vote_responses_option", columnList = "option_id")
 })
 public class VoteResponse {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "vote_responses_seq")
+    @SequenceGenerator(name = "vote_responses_seq", sequenceName = "vote_responses_seq", allocationSize = 50)
     private Long id;
     
     @ManyToOne
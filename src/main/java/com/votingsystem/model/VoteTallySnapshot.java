@@ -0,0 +1,82 @@
+package com.votingsystem.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "vote_tally_snapshots", uniqueConstraints = {
+    @UniqueConstraint(columnNames = {"option_id"})
+})
+public class VoteTallySnapshot {
+    // Identity, unlike the other tables: VoteTallyProjection writes these
+    // rows with set-based JDBC inserts that leave the id to the column.
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "vote_id", nullable = false)
+    private Vote vote;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "option_id", nullable = false)
+    private VoteOption option;
+    
+    @Column(nullable = false)
+    private Long logSequence;
+    
+    @Column(nullable = false)
+    private Long voteCount;
+    
+    @Column(nullable = false)
+    private LocalDateTime takenAt;
+    
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public Vote getVote() {
+        return vote;
+    }
+    
+    public void setVote(Vote vote) {
+        this.vote = vote;
+    }
+    
+    public VoteOption getOption() {
+        return option;
+    }
+    
+    public void setOption(VoteOption option) {
+        this.option = option;
+    }
+    
+    public Long getLogSequence() {
+        return logSequence;
+    }
+    
+    public void setLogSequence(Long logSequence) {
+        this.logSequence = logSequence;
+    }
+    
+    public Long getVoteCount() {
+        return voteCount;
+    }
+    
+    public void setVoteCount(Long voteCount) {
+        this.voteCount = voteCount;
+    }
+    
+    public LocalDateTime getTakenAt() {
+        return takenAt;
+    }
+    
+    public void setTakenAt(LocalDateTime takenAt) {
+        this.takenAt = takenAt;
+    }
+}
@@ -0,0 +1,8 @@
+package com.votingsystem.repository;
+
+import com.votingsystem.model.BallotFingerprint;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface BallotFingerprintRepository extends JpaRepository<BallotFingerprint, Long> {
+    boolean existsByVoteIdAndFingerprint(Long voteId, Long fingerprint);
+}
@@ -2,10 +2,31 @@ package com.votingsystem.repository;
 
 import com.votingsystem.model.VoteOption;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
 
 public interface VoteOptionRepository extends JpaRepository<VoteOption, Long> {
+    interface OptionSummary {
+        Long getVoteId();
+        Long getId();
+        String getText();
+        Integer getVoteCount();
+    }
+    
+    List<VoteOption> findByVoteId(Long voteId);
+    
+    @Query("select o.vote.id as voteId, o.id as id, o.text as text, " +
+           "cast(o.voteCount + coalesce((select sum(s.voteCount) from VoteOptionShard s where s.option = o), 0) as Integer) as voteCount " +
+           "from VoteOption o where o.vote.id in :voteIds order by o.id")
+    List<OptionSummary> findSummariesByVoteIds(@Param("voteIds") Collection<Long> voteIds);
+    
+    @Modifying
+    @Transactional
+    @Query("update VoteOption o set o.voteCount = (select count(r) from VoteResponse r where r.selectedOption = o)")
+    int reconcileVoteCounts();
 }
-
-
-
-
@@ -0,0 +1,47 @@
+package com.votingsystem.repository;
+
+import com.votingsystem.model.VoteOptionShard;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+public interface VoteOptionShardRepository extends JpaRepository<VoteOptionShard, Long> {
+    interface ShardSum {
+        Long getOptionId();
+        Long getVoteCount();
+    }
+    
+    boolean existsByOptionId(Long optionId);
+    
+    @Query("select distinct s.option.vote.id from VoteOptionShard s")
+    List<Long> findShardedVoteIds();
+    
+    @Query("select s.option.id as optionId, sum(s.voteCount) as voteCount from VoteOptionShard s " +
+           "where s.option.vote.id = :voteId group by s.option.id")
+    List<ShardSum> sumByVoteId(@Param("voteId") Long voteId);
+    
+    @Modifying
+    @Transactional
+    @Query("update VoteOptionShard s set s.voteCount = s.voteCount + :delta where s.option.id = :optionId and s.shard = :shard")
+    int incrementShard(@Param("optionId") Long optionId, @Param("shard") int shard, @Param("delta") int delta);
+    
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from VoteOptionShard s where s.option.id = :optionId")
+    List<VoteOptionShard> lockShards(@Param("optionId") Long optionId);
+    
+    @Modifying
+    @Transactional
+    @Query("update VoteOptionShard s set s.voteCount = 0 where s.option.id = :optionId")
+    int resetShards(@Param("optionId") Long optionId);
+    
+    @Modifying
+    @Transactional
+    @Query("delete from VoteOptionShard s where s.option.id = :optionId")
+    int deleteShards(@Param("optionId") Long optionId);
+}
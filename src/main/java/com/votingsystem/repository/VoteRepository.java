@@ -2,15 +2,54 @@ package com.votingsystem.repository;
 
 import com.votingsystem.model.Vote;
 import com.votingsystem.model.User;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface VoteRepository extends JpaRepository<Vote, Long> {
     List<Vote> findByCreator(User creator);
+    
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Vote> findByStatus(Vote.VoteStatus status);
-    Optional<Vote> findByShareToken(String shareToken);
+    
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("select distinct v from Vote v join fetch v.creator left join fetch v.options where v.shareToken = :shareToken")
+    Optional<Vote> findByShareToken(@Param("shareToken") String shareToken);
+    
     List<Vote> findByCreatorAndStatus(User creator, Vote.VoteStatus status);
+    
+    @Query("select v from Vote v join fetch v.creator c " +
+           "where (c.id = :userId or (v.status = com.votingsystem.model.Vote.VoteStatus.PUBLISHED " +
+           "and v.permission <> com.votingsystem.model.Vote.VotePermission.PRIVATE)) " +
+           "and (:status is null or v.status = :status) " +
+           "order by v.id")
+    List<Vote> findVisibleTo(@Param("userId") Long userId, @Param("status") Vote.VoteStatus status);
+    
+    @Query("select v from Vote v join fetch v.creator c " +
+           "where (c.id = :userId or (v.status = com.votingsystem.model.Vote.VoteStatus.PUBLISHED " +
+           "and v.permission <> com.votingsystem.model.Vote.VotePermission.PRIVATE)) " +
+           "and (:status is null or v.status = :status) " +
+           "and (:afterCreatedAt is null or v.createdAt < :afterCreatedAt " +
+           "or (v.createdAt = :afterCreatedAt and v.id < :afterId)) " +
+           "order by v.createdAt desc, v.id desc")
+    List<Vote> findVisiblePage(@Param("userId") Long userId, @Param("status") Vote.VoteStatus status,
+                               @Param("afterCreatedAt") LocalDateTime afterCreatedAt, @Param("afterId") Long afterId,
+                               Pageable pageable);
+    
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select v from Vote v join fetch v.creator c " +
+           "where (c.id = :userId or (v.status = com.votingsystem.model.Vote.VoteStatus.PUBLISHED " +
+           "and v.permission <> com.votingsystem.model.Vote.VotePermission.PRIVATE)) " +
+           "and (:status is null or v.status = :status) " +
+           "order by v.createdAt desc, v.id desc")
+    Stream<Vote> streamVisibleTo(@Param("userId") Long userId, @Param("status") Vote.VoteStatus status);
 }
 
 
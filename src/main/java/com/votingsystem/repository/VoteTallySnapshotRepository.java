@@ -0,0 +1,10 @@
+package com.votingsystem.repository;
+
+import com.votingsystem.model.VoteTallySnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface VoteTallySnapshotRepository extends JpaRepository<VoteTallySnapshot, Long> {
+    List<VoteTallySnapshot> findByVoteId(Long voteId);
+}
@@ -0,0 +1,195 @@
+package com.votingsystem.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.votingsystem.dto.AnonymousBallotFilterDTO;
+import com.votingsystem.event.VoteChangedEvent;
+import com.votingsystem.model.BallotFingerprint;
+import com.votingsystem.model.Vote;
+import com.votingsystem.repository.BallotFingerprintRepository;
+import com.votingsystem.util.BloomFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Duplicate check for anonymous share-link ballots, keyed on the fingerprint
+ * of the caller's signed voter cookie. Each vote keeps a fixed-size Bloom
+ * filter of the fingerprints it has accepted, so a first-time voter is
+ * answered from memory; only when the filter reports a probable hit is the
+ * {@code ballot_fingerprints} table consulted to tell a real repeat from a
+ * false positive.
+ *
+ * <p>The fingerprint row is written by {@link #record} in the same
+ * transaction as the ballot, so a ballot that rolls back leaves no row to
+ * lock its voter out, and two racing ballots with one cookie are settled by
+ * the {@code (vote_id, fingerprint)} constraint. The filter only learns a
+ * fingerprint through {@link #recorded}, once that transaction committed.
+ *
+ * <p>Filters are sized from {@code voting.anonymous-dedup.expected-ballots-per-vote}
+ * and {@code voting.anonymous-dedup.false-positive-rate}, which bounds memory
+ * per vote; a vote that outgrows its filter keeps working, it just falls back
+ * to the table more often, which the reported expected rate shows.
+ *
+ * <p>Only published votes are warmed at startup. Filters live in a cache
+ * bounded by {@code voting.anonymous-dedup.max-filters} and are dropped
+ * whenever their vote changes (closed, deleted, edited). A missing filter is
+ * rebuilt from {@code ballot_fingerprints} on that vote's next ballot.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+public class AnonymousBallotDedup {
+
+    @Autowired
+    private BallotFingerprintRepository ballotFingerprintRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${voting.anonymous-dedup.expected-ballots-per-vote:100000}")
+    private long expectedBallotsPerVote;
+
+    @Value("${voting.anonymous-dedup.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    @Value("${voting.anonymous-dedup.max-filters:256}")
+    private long maxFilters;
+
+    private Cache<Long, BloomFilter> filters;
+    private Counter accepted;
+    private Counter duplicates;
+    private Counter falsePositives;
+
+    @PostConstruct
+    public void warm() {
+        filters = Caffeine.newBuilder()
+            .maximumSize(maxFilters)
+            .build();
+        Map<Long, BloomFilter> warmed = new HashMap<>();
+        jdbcTemplate.query("select f.vote_id, f.fingerprint from ballot_fingerprints f "
+                + "join votes v on v.id = f.vote_id where v.status = 'PUBLISHED'",
+            rs -> {
+                warmed.computeIfAbsent(rs.getLong(1), id -> newFilter()).put(rs.getLong(2));
+            });
+        filters.putAll(warmed);
+
+        accepted = Counter.builder("vote.anonymous.dedup").tag("result", "accepted").register(meterRegistry);
+        duplicates = Counter.builder("vote.anonymous.dedup").tag("result", "duplicate").register(meterRegistry);
+        falsePositives = Counter.builder("vote.anonymous.dedup").tag("result", "false_positive").register(meterRegistry);
+        Gauge.builder("vote.anonymous.filter.bytes", this, AnonymousBallotDedup::totalBytes).baseUnit("bytes").register(meterRegistry);
+        Gauge.builder("vote.anonymous.filter.false-positive-rate", this, AnonymousBallotDedup::worstFalsePositiveRate).register(meterRegistry);
+        Gauge.builder("vote.anonymous.filter.target-false-positive-rate", () -> falsePositiveRate).register(meterRegistry);
+    }
+
+    /**
+     * Returns {@code false} if {@code fingerprint} has already voted on the
+     * vote. Writes nothing; a {@code true} answer still has to win the
+     * constraint in {@link #record}.
+     */
+    public boolean isNew(Long voteId, long fingerprint) {
+        BloomFilter filter = filter(voteId);
+        if (!filter.mightContain(fingerprint)) {
+            return true;
+        }
+        if (ballotFingerprintRepository.existsByVoteIdAndFingerprint(voteId, fingerprint)) {
+            duplicates.increment();
+            return false;
+        }
+        falsePositives.increment();
+        return true;
+    }
+
+    /**
+     * Adds the fingerprint row in the caller's transaction, next to the
+     * ballot it belongs to. A repeat fails that transaction on the unique
+     * constraint when it flushes.
+     */
+    public void record(Long voteId, long fingerprint) {
+        BallotFingerprint row = new BallotFingerprint();
+        row.setVote(entityManager.getReference(Vote.class, voteId));
+        row.setFingerprint(fingerprint);
+        ballotFingerprintRepository.save(row);
+    }
+
+    /** Called once the ballot and its fingerprint row have committed. */
+    public void recorded(Long voteId, long fingerprint) {
+        filter(voteId).put(fingerprint);
+        accepted.increment();
+    }
+
+    @EventListener
+    public void onVoteChanged(VoteChangedEvent event) {
+        filters.invalidate(event.getVoteId());
+    }
+
+    public double getFalsePositiveRate() {
+        return falsePositiveRate;
+    }
+
+    public AnonymousBallotFilterDTO stats(Long voteId) {
+        BloomFilter filter = filters.getIfPresent(voteId);
+        return filter != null ? stats(voteId, filter) : new AnonymousBallotFilterDTO(voteId, 0, 0, 0);
+    }
+
+    public List<AnonymousBallotFilterDTO> stats() {
+        List<AnonymousBallotFilterDTO> stats = new ArrayList<>();
+        filters.asMap().forEach((voteId, filter) -> stats.add(stats(voteId, filter)));
+        stats.sort((a, b) -> Double.compare(b.getExpectedFalsePositiveRate(), a.getExpectedFalsePositiveRate()));
+        return stats;
+    }
+
+    private AnonymousBallotFilterDTO stats(Long voteId, BloomFilter filter) {
+        return new AnonymousBallotFilterDTO(voteId, filter.approximateInsertions(), filter.sizeInBytes(),
+            filter.expectedFalsePositiveRate());
+    }
+
+    // Rebuilt outside the cache's entry lock, like VoteResultsCache, so the
+    // table read never pins a virtual thread. A filter that misses a
+    // fingerprint written during the rebuild only costs that fingerprint's
+    // repeat a trip to the unique constraint.
+    private BloomFilter filter(Long voteId) {
+        BloomFilter filter = filters.getIfPresent(voteId);
+        if (filter != null) {
+            return filter;
+        }
+        BloomFilter loaded = newFilter();
+        jdbcTemplate.query("select fingerprint from ballot_fingerprints where vote_id = ?",
+            rs -> {
+                loaded.put(rs.getLong(1));
+            }, voteId);
+        filter = filters.asMap().putIfAbsent(voteId, loaded);
+        return filter != null ? filter : loaded;
+    }
+
+    private BloomFilter newFilter() {
+        return BloomFilter.create(expectedBallotsPerVote, falsePositiveRate);
+    }
+
+    private double totalBytes() {
+        return filters.asMap().values().stream().mapToLong(BloomFilter::sizeInBytes).sum();
+    }
+
+    private double worstFalsePositiveRate() {
+        return filters.asMap().values().stream().mapToDouble(BloomFilter::expectedFalsePositiveRate).max().orElse(0);
+    }
+}
@@ -0,0 +1,310 @@
+package com.votingsystem.service;
+
+import com.votingsystem.dto.BallotBatchRequest;
+import com.votingsystem.dto.BallotBatchResultDTO;
+import com.votingsystem.event.BallotAcceptedEvent;
+import com.votingsystem.model.Vote;
+import com.votingsystem.model.VoteOption;
+import com.votingsystem.model.VoteResponse;
+import com.votingsystem.repository.VoteOptionRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk ballot import for polling-station kiosks and CSV imports. A whole
+ * batch is validated in one pass: options against the vote's option set,
+ * users with one lookup per chunk of ids, and duplicates against the ballot
+ * membership index plus the ids already seen in the batch. Accepted ballots
+ * are then written as chunked JDBC batches and each option's count is bumped
+ * once per chunk.
+ *
+ * <p>The unique (vote_id, user_id) constraint still guards against ballots
+ * that race in through another path while a chunk is being written; the
+ * chunk is then re-checked against the table and retried without them until
+ * it goes through. A violation that is not a duplicate ballot falls back to
+ * row-by-row inserts, so only the rows that fail are rejected. Once a chunk
+ * has committed the import never throws: rows it could not write are
+ * reported as rejected instead.
+ */
+@Component
+public class BallotBatchImporter {
+
+    public static final String ACCEPTED = "ACCEPTED";
+    public static final String REJECTED = "REJECTED";
+
+    private static final Logger log = LoggerFactory.getLogger(BallotBatchImporter.class);
+    private static final int LOOKUP_CHUNK_SIZE = 1000;
+
+    @Autowired
+    private VoteOptionRepository voteOptionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private BallotMembershipIndex ballotMembershipIndex;
+
+    @Autowired
+    private VoteCountSharding voteCountSharding;
+
+    @Autowired
+    private VoteCounter voteCounter;
+
+    @Autowired
+    private VoteEventLog voteEventLog;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${voting.batch-import.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${voting.batch-import.max-ballots:50000}")
+    private int maxBallots;
+
+    public int getMaxBallots() {
+        return maxBallots;
+    }
+
+    public BallotBatchResultDTO importBallots(Vote vote, List<BallotBatchRequest.Ballot> ballots) {
+        Map<Long, VoteOption> options = new HashMap<>();
+        for (VoteOption option : voteOptionRepository.findByVoteId(vote.getId())) {
+            options.put(option.getId(), option);
+        }
+        Set<Long> knownUsers = existingUsers(ballots);
+
+        BallotBatchResultDTO.ItemResult[] results = new BallotBatchResultDTO.ItemResult[ballots.size()];
+        Set<Long> seenUsers = new HashSet<>();
+        List<Row> accepted = new ArrayList<>();
+        for (int i = 0; i < ballots.size(); i++) {
+            BallotBatchRequest.Ballot ballot = ballots.get(i);
+            Long userId = ballot != null ? ballot.getUserId() : null;
+            VoteOption option = ballot != null && ballot.getOptionId() != null ? options.get(ballot.getOptionId()) : null;
+
+            if (option == null) {
+                results[i] = rejected(i, "Invalid option");
+            } else if (userId != null && !knownUsers.contains(userId)) {
+                results[i] = rejected(i, "User not found");
+            } else if (userId != null && (ballotMembershipIndex.hasVoted(vote.getId(), userId) || !seenUsers.add(userId))) {
+                results[i] = rejected(i, "Already voted");
+            } else {
+                accepted.add(new Row(i, userId, option));
+            }
+        }
+
+        for (int from = 0; from < accepted.size(); from += chunkSize) {
+            List<Row> chunk = accepted.subList(from, Math.min(from + chunkSize, accepted.size()));
+            try {
+                writeChunk(vote.getId(), chunk).forEach((row, message) -> results[row.index] = rejected(row.index, message));
+            } catch (RuntimeException e) {
+                if (from == 0) {
+                    throw e;
+                }
+                // Earlier chunks are committed; report the rest instead of failing the whole request.
+                log.error("Ballot import for vote {} stopped after {} stored rows", vote.getId(), from, e);
+                for (Row row : accepted.subList(from, accepted.size())) {
+                    results[row.index] = rejected(row.index, "Not stored");
+                }
+                break;
+            }
+        }
+
+        BallotBatchResultDTO result = new BallotBatchResultDTO();
+        for (int i = 0; i < results.length; i++) {
+            if (results[i] == null) {
+                results[i] = new BallotBatchResultDTO.ItemResult(i, ACCEPTED, null);
+            }
+            result.getResults().add(results[i]);
+            if (ACCEPTED.equals(results[i].getStatus())) {
+                result.setAccepted(result.getAccepted() + 1);
+            } else {
+                result.setRejected(result.getRejected() + 1);
+            }
+        }
+        return result;
+    }
+
+    private Map<Row, String> writeChunk(Long voteId, List<Row> chunk) {
+        Map<Row, String> rejections = new LinkedHashMap<>();
+        List<Row> pending = chunk;
+        while (!pending.isEmpty()) {
+            try {
+                insert(voteId, pending);
+                return rejections;
+            } catch (DataIntegrityViolationException e) {
+                Set<Long> voted = alreadyVoted(voteId, pending);
+                List<Row> remaining = new ArrayList<>();
+                for (Row row : pending) {
+                    if (row.userId != null && voted.contains(row.userId)) {
+                        ballotMembershipIndex.add(voteId, row.userId);
+                        rejections.put(row, "Already voted");
+                    } else {
+                        remaining.add(row);
+                    }
+                }
+                if (remaining.size() == pending.size()) {
+                    insertEach(voteId, remaining, rejections);
+                    return rejections;
+                }
+                pending = remaining;
+            }
+        }
+        return rejections;
+    }
+
+    // The violation was not a duplicate ballot, so find the rows that cause it.
+    private void insertEach(Long voteId, List<Row> rows, Map<Row, String> rejections) {
+        for (Row row : rows) {
+            try {
+                insert(voteId, List.of(row));
+            } catch (DataIntegrityViolationException e) {
+                if (row.userId != null && !alreadyVoted(voteId, List.of(row)).isEmpty()) {
+                    ballotMembershipIndex.add(voteId, row.userId);
+                    rejections.put(row, "Already voted");
+                } else {
+                    rejections.put(row, "Not stored");
+                }
+            } catch (RuntimeException e) {
+                log.error("Could not import ballot {} for vote {}", row.index, voteId, e);
+                rejections.put(row, "Not stored");
+            }
+        }
+    }
+
+    private void insert(Long voteId, List<Row> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        Map<Long, Integer> perOption = new LinkedHashMap<>();
+        long[] ids = new TransactionTemplate(transactionManager).execute(status -> {
+            long[] reserved = reserveIds(rows.size());
+            List<Object[]> args = new ArrayList<>(rows.size());
+            for (int i = 0; i < rows.size(); i++) {
+                Row row = rows.get(i);
+                args.add(new Object[] { reserved[i], voteId, row.userId, row.option.getId() });
+                perOption.merge(row.option.getId(), 1, Integer::sum);
+            }
+            jdbcTemplate.batchUpdate("insert into vote_responses (id, vote_id, user_id, option_id) values (?, ?, ?, ?)", args);
+            perOption.forEach((optionId, count) -> voteCountSharding.increment(voteId, optionId, count));
+            return reserved;
+        });
+        afterCommit(voteId, rows, ids, perOption);
+    }
+
+    // Runs once per committed chunk and never throws, so a failing listener
+    // cannot send committed rows back through the retry path.
+    private void afterCommit(Long voteId, List<Row> rows, long[] ids, Map<Long, Integer> perOption) {
+        Map<Long, VoteOption> options = new HashMap<>();
+        for (int i = 0; i < rows.size(); i++) {
+            Row row = rows.get(i);
+            options.putIfAbsent(row.option.getId(), row.option);
+            try {
+                ballotMembershipIndex.add(voteId, row.userId);
+                voteEventLog.ballotCast(ids[i], voteId, row.option.getId(), row.userId);
+            } catch (RuntimeException e) {
+                log.error("Bookkeeping failed for imported ballot {} on vote {}", ids[i], voteId, e);
+            }
+        }
+        perOption.forEach((optionId, count) -> {
+            try {
+                voteCounter.addCommitted(options.get(optionId), count);
+            } catch (RuntimeException e) {
+                log.error("Could not count {} imported ballots for option {}", count, optionId, e);
+            }
+            try {
+                eventPublisher.publishEvent(new BallotAcceptedEvent(voteId, optionId));
+            } catch (RuntimeException e) {
+                log.error("Ballot listener failed for option {}", optionId, e);
+            }
+        });
+    }
+
+    // Ids come from the entity's own generator so they share its pooled
+    // optimizer with regular inserts; one sequence call covers a whole block.
+    private long[] reserveIds(int count) {
+        SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+        IdentifierGenerator generator = (IdentifierGenerator) session.getFactory().getMappingMetamodel()
+            .getEntityDescriptor(VoteResponse.class).getGenerator();
+        long[] ids = new long[count];
+        for (int i = 0; i < count; i++) {
+            ids[i] = ((Number) generator.generate(session, null)).longValue();
+        }
+        return ids;
+    }
+
+    private Set<Long> existingUsers(List<BallotBatchRequest.Ballot> ballots) {
+        List<Long> userIds = ballots.stream()
+            .filter(ballot -> ballot != null && ballot.getUserId() != null)
+            .map(BallotBatchRequest.Ballot::getUserId)
+            .distinct()
+            .collect(Collectors.toList());
+        Set<Long> existing = new HashSet<>();
+        for (int from = 0; from < userIds.size(); from += LOOKUP_CHUNK_SIZE) {
+            List<Long> chunk = userIds.subList(from, Math.min(from + LOOKUP_CHUNK_SIZE, userIds.size()));
+            existing.addAll(jdbcTemplate.queryForList("select id from users where id in (" + placeholders(chunk.size()) + ")",
+                Long.class, chunk.toArray()));
+        }
+        return existing;
+    }
+
+    private Set<Long> alreadyVoted(Long voteId, List<Row> rows) {
+        List<Long> userIds = rows.stream().map(row -> row.userId).filter(id -> id != null).collect(Collectors.toList());
+        if (userIds.isEmpty()) {
+            return Set.of();
+        }
+        List<Object> args = new ArrayList<>();
+        args.add(voteId);
+        args.addAll(userIds);
+        return new HashSet<>(jdbcTemplate.queryForList(
+            "select user_id from vote_responses where vote_id = ? and user_id in (" + placeholders(userIds.size()) + ")",
+            Long.class, args.toArray()));
+    }
+
+    private static String placeholders(int count) {
+        return String.join(",", Collections.nCopies(count, "?"));
+    }
+
+    private static BallotBatchResultDTO.ItemResult rejected(int index, String message) {
+        return new BallotBatchResultDTO.ItemResult(index, REJECTED, message);
+    }
+
+    private static final class Row {
+        private final int index;
+        private final Long userId;
+        private final VoteOption option;
+
+        private Row(int index, Long userId, VoteOption option) {
+            this.index = index;
+            this.userId = userId;
+            this.option = option;
+        }
+    }
+}
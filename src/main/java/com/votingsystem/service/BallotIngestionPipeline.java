@@ -0,0 +1,307 @@
+package com.votingsystem.service;
+
+import com.votingsystem.event.BallotAcceptedEvent;
+import com.votingsystem.model.User;
+import com.votingsystem.model.Vote;
+import com.votingsystem.model.VoteOption;
+import com.votingsystem.model.VoteResponse;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.exception.ConstraintViolationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind path for accepted ballots. Requests put ballots on a bounded
+ * queue and a single writer thread drains them into one transaction per
+ * batch: the {@code vote_responses} rows go out as JDBC batches (possible
+ * because their ids come from a pooled sequence) and each option's count is
+ * bumped once per batch. An anonymous ballot's fingerprint row goes into the
+ * same transaction, so it commits or rolls back with the ballot.
+ *
+ * <p>Disabled by default; see the {@code voting.ingestion.*} properties.
+ */
+@Component
+public class BallotIngestionPipeline {
+
+    private static final Logger log = LoggerFactory.getLogger(BallotIngestionPipeline.class);
+
+    @Value("${voting.ingestion.enabled:false}")
+    private boolean enabled;
+
+    @Value("${voting.ingestion.batch-size:256}")
+    private int batchSize;
+
+    @Value("${voting.ingestion.linger-ms:5}")
+    private long lingerMs;
+
+    @Value("${voting.ingestion.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${voting.ingestion.ack-after-commit:false}")
+    private boolean ackAfterCommit;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private VoteCounter voteCounter;
+
+    @Autowired
+    private BallotMembershipIndex ballotMembershipIndex;
+
+    @Autowired
+    private VoteCountSharding voteCountSharding;
+
+    @Autowired
+    private VoteEventLog voteEventLog;
+
+    @Autowired
+    private AnonymousBallotDedup anonymousBallotDedup;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+    private BlockingQueue<PendingBallot> queue;
+    private Thread writer;
+    private volatile boolean running;
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        running = true;
+        writer = new Thread(this::drainLoop, "ballot-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (writer == null) {
+            return;
+        }
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean isAckAfterCommit() {
+        return ackAfterCommit;
+    }
+
+    public CompletableFuture<Void> submit(Vote vote, User user, VoteOption option) {
+        return submit(vote, user, option, null);
+    }
+
+    /**
+     * @param fingerprint the anonymous voter's fingerprint, recorded with the
+     *        ballot; {@code null} for a signed-in voter
+     */
+    public CompletableFuture<Void> submit(Vote vote, User user, VoteOption option, Long fingerprint) {
+        if (user != null && ballotMembershipIndex.hasVoted(vote.getId(), user.getId())) {
+            throw new DuplicateBallotException("You have already voted");
+        }
+        String key = user != null ? vote.getId() + ":" + user.getId()
+            : fingerprint != null ? vote.getId() + ":anonymous:" + fingerprint : null;
+        if (key != null && !inFlight.add(key)) {
+            throw new DuplicateBallotException("You have already voted");
+        }
+
+        PendingBallot ballot = new PendingBallot(vote, user, option, fingerprint, key);
+        if (!queue.offer(ballot)) {
+            release(ballot);
+            throw new BallotQueueFullException("Too many ballots in flight, please retry");
+        }
+        return ballot.committed;
+    }
+
+    private void drainLoop() {
+        long lingerNanos = TimeUnit.MILLISECONDS.toNanos(lingerMs);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingBallot first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+
+                List<PendingBallot> batch = new ArrayList<>(batchSize);
+                batch.add(first);
+                long deadline = System.nanoTime() + lingerNanos;
+                while (batch.size() < batchSize) {
+                    if (queue.drainTo(batch, batchSize - batch.size()) > 0) {
+                        continue;
+                    }
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        break;
+                    }
+                    PendingBallot next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Ballot writer failed", e);
+            }
+        }
+    }
+
+    private void write(List<PendingBallot> batch) {
+        List<PendingBallot> committed = batch;
+        try {
+            insert(batch);
+        } catch (RuntimeException batchFailure) {
+            // One bad ballot (usually a duplicate that raced the in-flight check)
+            // must not take the rest of the batch down with it.
+            committed = new ArrayList<>(batch.size());
+            for (PendingBallot ballot : batch) {
+                try {
+                    insert(List.of(ballot));
+                    committed.add(ballot);
+                } catch (DataIntegrityViolationException | ConstraintViolationException e) {
+                    fail(ballot, new DuplicateBallotException("You have already voted"));
+                } catch (RuntimeException e) {
+                    fail(ballot, e);
+                }
+            }
+        }
+        afterCommit(committed);
+    }
+
+    private void insert(List<PendingBallot> batch) {
+        Map<Long, Integer> perOption = new LinkedHashMap<>();
+        Map<Long, Long> voteIds = new LinkedHashMap<>();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            for (PendingBallot ballot : batch) {
+                VoteResponse response = new VoteResponse();
+                response.setVote(entityManager.getReference(Vote.class, ballot.vote.getId()));
+                if (ballot.user != null) {
+                    response.setUser(entityManager.getReference(User.class, ballot.user.getId()));
+                }
+                response.setSelectedOption(entityManager.getReference(VoteOption.class, ballot.option.getId()));
+                entityManager.persist(response);
+                ballot.responseId = response.getId();
+                if (ballot.fingerprint != null) {
+                    anonymousBallotDedup.record(ballot.vote.getId(), ballot.fingerprint);
+                }
+                perOption.merge(ballot.option.getId(), 1, Integer::sum);
+                voteIds.put(ballot.option.getId(), ballot.vote.getId());
+            }
+            entityManager.flush();
+            perOption.forEach((optionId, count) -> voteCountSharding.increment(voteIds.get(optionId), optionId, count));
+        });
+    }
+
+    // The rows are committed by now, so nothing here may send a ballot back
+    // through insert(): a failure is logged and the ballot still counts.
+    private void afterCommit(List<PendingBallot> committed) {
+        Map<Long, Integer> perOption = new LinkedHashMap<>();
+        Map<Long, VoteOption> options = new LinkedHashMap<>();
+        try {
+            for (PendingBallot ballot : committed) {
+                perOption.merge(ballot.option.getId(), 1, Integer::sum);
+                options.putIfAbsent(ballot.option.getId(), ballot.option);
+                try {
+                    if (ballot.user != null) {
+                        ballotMembershipIndex.add(ballot.vote.getId(), ballot.user.getId());
+                    }
+                    if (ballot.fingerprint != null) {
+                        anonymousBallotDedup.recorded(ballot.vote.getId(), ballot.fingerprint);
+                    }
+                    voteEventLog.ballotCast(ballot.responseId, ballot.vote.getId(), ballot.option.getId(),
+                        ballot.user != null ? ballot.user.getId() : null);
+                } catch (RuntimeException e) {
+                    log.error("Bookkeeping failed for committed ballot {} on vote {}", ballot.responseId, ballot.vote.getId(), e);
+                }
+            }
+            perOption.forEach((optionId, count) -> {
+                VoteOption option = options.get(optionId);
+                try {
+                    voteCounter.addCommitted(option, count);
+                } catch (RuntimeException e) {
+                    log.error("Could not count {} committed ballots for option {}", count, optionId, e);
+                }
+                try {
+                    eventPublisher.publishEvent(new BallotAcceptedEvent(option.getVote().getId(), optionId));
+                } catch (RuntimeException e) {
+                    log.error("Ballot listener failed for option {}", optionId, e);
+                }
+            });
+        } finally {
+            committed.forEach(this::complete);
+        }
+    }
+
+    private void complete(PendingBallot ballot) {
+        release(ballot);
+        ballot.committed.complete(null);
+    }
+
+    private void fail(PendingBallot ballot, RuntimeException cause) {
+        release(ballot);
+        if (!ackAfterCommit) {
+            log.warn("Dropped queued ballot for vote {}: {}", ballot.vote.getId(), cause.getMessage());
+        }
+        ballot.committed.completeExceptionally(cause);
+    }
+
+    private void release(PendingBallot ballot) {
+        if (ballot.key != null) {
+            inFlight.remove(ballot.key);
+        }
+    }
+
+    private static final class PendingBallot {
+        private final Vote vote;
+        private final User user;
+        private final VoteOption option;
+        private final Long fingerprint;
+        private final String key;
+        private final CompletableFuture<Void> committed = new CompletableFuture<>();
+        private Long responseId;
+
+        private PendingBallot(Vote vote, User user, VoteOption option, Long fingerprint, String key) {
+            this.vote = vote;
+            this.user = user;
+            this.option = option;
+            this.fingerprint = fingerprint;
+            this.key = key;
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.votingsystem.service;
+
+import com.votingsystem.dto.VoteMembershipDTO;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory (voteId, userId) membership for committed ballots, so has-voted
+ * and duplicate-ballot checks never go to the database. Each vote keeps its
+ * voters in a compressed bitmap; user ids are assigned sequentially, which
+ * keeps even a poll with millions of voters to a few hundred kilobytes.
+ *
+ * <p>Only ballots cast by signed-in users are indexed. The unique
+ * (vote_id, user_id) constraint stays in place as the final guard against
+ * two requests that race past the index.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+public class BallotMembershipIndex {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final ConcurrentHashMap<Long, VoterSet> voters = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void warm() {
+        jdbcTemplate.query("select vote_id, user_id from vote_responses where user_id is not null",
+            rs -> {
+                add(rs.getLong(1), rs.getLong(2));
+            });
+        voters.values().forEach(VoterSet::optimize);
+
+        Gauge.builder("vote.membership.voters", this, BallotMembershipIndex::totalVoters).register(meterRegistry);
+        Gauge.builder("vote.membership.bytes", this, BallotMembershipIndex::totalBytes).baseUnit("bytes").register(meterRegistry);
+    }
+
+    public boolean hasVoted(Long voteId, Long userId) {
+        if (voteId == null || userId == null) {
+            return false;
+        }
+        VoterSet set = voters.get(voteId);
+        return set != null && set.contains(userId);
+    }
+
+    public Set<Long> votedIn(Collection<Long> voteIds, Long userId) {
+        Set<Long> voted = new HashSet<>();
+        for (Long voteId : voteIds) {
+            if (hasVoted(voteId, userId)) {
+                voted.add(voteId);
+            }
+        }
+        return voted;
+    }
+
+    public void add(Long voteId, Long userId) {
+        if (userId != null) {
+            voters.computeIfAbsent(voteId, id -> new VoterSet()).add(userId);
+        }
+    }
+
+    public VoteMembershipDTO stats(Long voteId) {
+        VoterSet set = voters.get(voteId);
+        return set != null ? set.stats(voteId) : new VoteMembershipDTO(voteId, 0, 0);
+    }
+
+    public List<VoteMembershipDTO> stats() {
+        List<VoteMembershipDTO> stats = new ArrayList<>();
+        voters.forEach((voteId, set) -> stats.add(set.stats(voteId)));
+        stats.sort((a, b) -> Long.compare(b.getBytes(), a.getBytes()));
+        return stats;
+    }
+
+    private double totalVoters() {
+        return voters.values().stream().mapToLong(VoterSet::cardinality).sum();
+    }
+
+    private double totalBytes() {
+        return voters.values().stream().mapToLong(VoterSet::sizeInBytes).sum();
+    }
+
+    // Roaring bitmaps are not thread-safe; reads vastly outnumber writes, so a
+    // read/write lock per vote keeps lookups concurrent.
+    private static final class VoterSet {
+        private final Roaring64Bitmap bitmap = new Roaring64Bitmap();
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+        private boolean contains(long userId) {
+            lock.readLock().lock();
+            try {
+                return bitmap.contains(userId);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        private void add(long userId) {
+            lock.writeLock().lock();
+            try {
+                bitmap.addLong(userId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        private void optimize() {
+            lock.writeLock().lock();
+            try {
+                bitmap.runOptimize();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        private long cardinality() {
+            lock.readLock().lock();
+            try {
+                return bitmap.getLongCardinality();
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        private long sizeInBytes() {
+            lock.readLock().lock();
+            try {
+                return bitmap.getLongSizeInBytes();
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        private VoteMembershipDTO stats(Long voteId) {
+            lock.readLock().lock();
+            try {
+                return new VoteMembershipDTO(voteId, bitmap.getLongCardinality(), bitmap.getLongSizeInBytes());
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+    }
+}
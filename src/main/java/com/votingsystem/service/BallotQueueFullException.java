@@ -0,0 +1,7 @@
+package com.votingsystem.service;
+
+public class BallotQueueFullException extends RuntimeException {
+    public BallotQueueFullException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,23 @@
+package com.votingsystem.service;
+
+/**
+ * A ballot refused because the vote or the chosen option cannot take it.
+ * The reason is a short tag such as {@code closed} used for metrics; the
+ * message is what the caller sees.
+ */
+public class BallotRejectedException extends InvalidVoteOperationException {
+    public static final String NOT_PUBLISHED = "not_published";
+    public static final String CLOSED = "closed";
+    public static final String INVALID_OPTION = "invalid_option";
+
+    private final String reason;
+
+    public BallotRejectedException(String reason, String message) {
+        super(message);
+        this.reason = reason;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+}
@@ -0,0 +1,7 @@
+package com.votingsystem.service;
+
+public class DuplicateBallotException extends RuntimeException {
+    public DuplicateBallotException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.votingsystem.service;
+
+public class InvalidVoteOperationException extends RuntimeException {
+    public InvalidVoteOperationException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,161 @@
+package com.votingsystem.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Runs bcrypt on a small dedicated pool instead of the request thread. A
+ * burst of sign-ins would otherwise put every CPU to work on hashing: requests
+ * run on virtual threads, so nothing bounds how many hash at once, and
+ * ballots and reads wait for a carrier. The pool is capped at
+ * {@code voting.password-hashing.threads} with a bounded queue behind it;
+ * when both are full the request is rejected straight away with
+ * {@link PasswordHashingBusyException} rather than queued behind work it
+ * would time out waiting for.
+ *
+ * <p>Hashes are made at {@code voting.password-hashing.bcrypt-cost}. A
+ * successful login against a hash made at another cost returns a fresh hash
+ * for the caller to store, so changing the cost migrates users as they sign
+ * in.
+ */
+@Component
+public class PasswordHasher {
+
+    private static final Pattern BCRYPT_COST = Pattern.compile("^\\$2[abxy]?\\$(\\d{2})\\$");
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${voting.password-hashing.enabled:true}")
+    private boolean enabled;
+
+    @Value("${voting.password-hashing.threads:0}")
+    private int threads;
+
+    @Value("${voting.password-hashing.queue-capacity:64}")
+    private int queueCapacity;
+
+    @Value("${voting.password-hashing.bcrypt-cost:10}")
+    private int cost;
+
+    private ThreadPoolExecutor executor;
+    private Timer hashLatency;
+    private Timer verifyLatency;
+    private Timer queueWait;
+    private Counter rejected;
+    private Counter rehashed;
+
+    @PostConstruct
+    public void start() {
+        hashLatency = Timer.builder("auth.password.hash").tag("operation", "hash").publishPercentileHistogram().register(meterRegistry);
+        verifyLatency = Timer.builder("auth.password.hash").tag("operation", "verify").publishPercentileHistogram().register(meterRegistry);
+        queueWait = Timer.builder("auth.password.queue-wait").publishPercentileHistogram().register(meterRegistry);
+        rejected = Counter.builder("auth.password.rejected").register(meterRegistry);
+        rehashed = Counter.builder("auth.password.rehashed").register(meterRegistry);
+        if (!enabled) {
+            return;
+        }
+
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger next = new AtomicInteger();
+        executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            task -> {
+                Thread thread = new Thread(task, "password-hash-" + next.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy());
+        Gauge.builder("auth.password.queue", executor, pool -> pool.getQueue().size()).register(meterRegistry);
+        Gauge.builder("auth.password.active", executor, ThreadPoolExecutor::getActiveCount).register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    public String hash(String rawPassword) {
+        return run(hashLatency, () -> passwordEncoder.encode(rawPassword));
+    }
+
+    /**
+     * Checks a password against its stored hash.
+     *
+     * @return {@code null} if the password does not match, otherwise the hash
+     *         to keep: the stored one, or a new one if the stored hash was
+     *         made at a different cost
+     */
+    public String verify(String rawPassword, String encodedPassword) {
+        return run(verifyLatency, () -> {
+            if (!passwordEncoder.matches(rawPassword, encodedPassword)) {
+                return null;
+            }
+            if (costOf(encodedPassword) == cost) {
+                return encodedPassword;
+            }
+            rehashed.increment();
+            return passwordEncoder.encode(rawPassword);
+        });
+    }
+
+    static int costOf(String encodedPassword) {
+        Matcher matcher = encodedPassword != null ? BCRYPT_COST.matcher(encodedPassword) : null;
+        return matcher != null && matcher.find() ? Integer.parseInt(matcher.group(1)) : -1;
+    }
+
+    private <T> T run(Timer latency, Supplier<T> work) {
+        if (executor == null) {
+            return latency.record(work);
+        }
+
+        long submitted = System.nanoTime();
+        Future<T> result;
+        try {
+            result = executor.submit(() -> {
+                queueWait.record(System.nanoTime() - submitted, TimeUnit.NANOSECONDS);
+                return latency.record(work);
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new PasswordHashingBusyException("Too many sign-ins in progress, please retry");
+        }
+
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing a password", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.votingsystem.service;
+
+public class PasswordHashingBusyException extends RuntimeException {
+    public PasswordHashingBusyException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,304 @@
+package com.votingsystem.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.votingsystem.dto.ResultsDeltaDTO;
+import com.votingsystem.dto.VoteDTO;
+import com.votingsystem.event.BallotAcceptedEvent;
+import com.votingsystem.event.VoteChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Pushes live result deltas to Server-Sent Events subscribers. Ballots only
+ * mark a vote as dirty; a fixed-rate tick builds one payload per dirty vote
+ * and fans the same serialized payload out to every subscriber, so the
+ * emission rate per vote is bounded no matter how fast ballots arrive.
+ *
+ * <p>Each subscriber drains its own small buffer on the MVC async executor,
+ * which always runs on virtual threads. Events are written straight to the
+ * response stream instead of through {@code SseEmitter}, whose send path is
+ * {@code synchronized} and would pin the carrier thread for the duration of a
+ * blocking socket write. When the buffer is full the client is too slow to
+ * keep up and is disconnected rather than allowed to hold memory.
+ *
+ * <p>A quiet stream sends an SSE comment every
+ * {@code voting.results-stream.heartbeat}, so a subscriber whose connection
+ * went half-open fails a write and is evicted instead of being held until
+ * {@code voting.results-stream.timeout}.
+ */
+@Component
+public class ResultsBroadcaster {
+
+    @Autowired
+    private VoteCounter voteCounter;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${voting.results-stream.buffer-size:16}")
+    private int bufferSize;
+
+    @Value("${voting.results-stream.timeout:30m}")
+    private Duration timeout;
+
+    @Value("${voting.results-stream.heartbeat:15s}")
+    private Duration heartbeat;
+
+    private final ConcurrentHashMap<Long, Channel> channels = new ConcurrentHashMap<>();
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final ReentrantLock broadcastLock = new ReentrantLock();
+    private Counter droppedSubscribers;
+
+    @PostConstruct
+    public void init() {
+        meterRegistry.gauge("vote.results.stream.subscribers", subscriberCount);
+        droppedSubscribers = meterRegistry.counter("vote.results.stream.dropped");
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (Channel channel : channels.values()) {
+            for (Subscriber subscriber : channel.subscribers) {
+                unsubscribe(channel.voteId, subscriber);
+            }
+        }
+    }
+
+    public StreamingResponseBody subscribe(VoteDTO snapshot) {
+        Long voteId = snapshot.getId();
+        return outputStream -> {
+            Subscriber subscriber = new Subscriber(bufferSize);
+            channels.compute(voteId, (id, channel) -> {
+                Channel target = channel != null ? channel : new Channel(voteId, snapshot);
+                target.subscribers.add(subscriber);
+                return target;
+            });
+            subscriberCount.incrementAndGet();
+
+            try {
+                subscriber.offer(new Payload("results", serialize(fullResults(snapshot))));
+                subscriber.drain(outputStream, System.nanoTime() + timeout.toNanos(), heartbeat.toNanos());
+            } finally {
+                unsubscribe(voteId, subscriber);
+            }
+        };
+    }
+
+    /**
+     * Async timeout for a stream's request: a little past the stream's own
+     * deadline, so the stream normally ends itself first.
+     */
+    public Duration getRequestTimeout() {
+        return timeout.plus(heartbeat);
+    }
+
+    public int getSubscriberCount() {
+        return subscriberCount.get();
+    }
+
+    @EventListener
+    public void onBallotAccepted(BallotAcceptedEvent event) {
+        if (channels.containsKey(event.getVoteId())) {
+            dirty.add(event.getVoteId());
+        }
+    }
+
+    @EventListener
+    public void onVoteChanged(VoteChangedEvent event) {
+        Channel channel = channels.get(event.getVoteId());
+        if (channel != null) {
+            fanOut(channel, new Payload("vote-changed", "{\"voteId\":" + event.getVoteId() + "}"));
+        }
+    }
+
+    @Scheduled(fixedRateString = "${voting.results-stream.interval-ms:250}")
+    public void broadcast() {
+        // With virtual threads enabled the scheduler starts every tick on a new
+        // thread, so a slow tick could otherwise overlap the next one.
+        if (!broadcastLock.tryLock()) {
+            return;
+        }
+        try {
+            Iterator<Long> iterator = dirty.iterator();
+            while (iterator.hasNext()) {
+                Long voteId = iterator.next();
+                iterator.remove();
+                Channel channel = channels.get(voteId);
+                if (channel == null) {
+                    continue;
+                }
+                ResultsDeltaDTO delta = channel.delta();
+                if (delta != null) {
+                    fanOut(channel, new Payload("results", serialize(delta)));
+                }
+            }
+        } finally {
+            broadcastLock.unlock();
+        }
+    }
+
+    private void fanOut(Channel channel, Payload payload) {
+        for (Subscriber subscriber : channel.subscribers) {
+            if (!subscriber.offer(payload)) {
+                droppedSubscribers.increment();
+                unsubscribe(channel.voteId, subscriber);
+            }
+        }
+    }
+
+    private void unsubscribe(Long voteId, Subscriber subscriber) {
+        if (!subscriber.close()) {
+            return;
+        }
+        subscriberCount.decrementAndGet();
+        channels.computeIfPresent(voteId, (id, channel) -> {
+            channel.subscribers.remove(subscriber);
+            return channel.subscribers.isEmpty() ? null : channel;
+        });
+    }
+
+    private ResultsDeltaDTO fullResults(VoteDTO snapshot) {
+        ResultsDeltaDTO results = new ResultsDeltaDTO();
+        results.setVoteId(snapshot.getId());
+        results.setTotalVotes(snapshot.getTotalVotes());
+        for (VoteDTO.OptionDTO option : snapshot.getOptions()) {
+            ResultsDeltaDTO.OptionDelta optionDelta = new ResultsDeltaDTO.OptionDelta();
+            optionDelta.setId(option.getId());
+            optionDelta.setVoteCount(option.getVoteCount());
+            optionDelta.setDelta(0);
+            optionDelta.setPercentage(option.getPercentage());
+            results.getOptions().add(optionDelta);
+        }
+        return results;
+    }
+
+    private String serialize(ResultsDeltaDTO results) {
+        try {
+            return objectMapper.writeValueAsString(results);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize results", e);
+        }
+    }
+
+    private final class Channel {
+        private final Long voteId;
+        private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+        private final Map<Long, Integer> lastCounts = new LinkedHashMap<>();
+
+        private Channel(Long voteId, VoteDTO snapshot) {
+            this.voteId = voteId;
+            for (VoteDTO.OptionDTO option : snapshot.getOptions()) {
+                lastCounts.put(option.getId(), option.getVoteCount());
+            }
+        }
+
+        // Only called under the broadcast lock, which makes it the sole writer of lastCounts.
+        private ResultsDeltaDTO delta() {
+            ResultsDeltaDTO results = new ResultsDeltaDTO();
+            results.setVoteId(voteId);
+            boolean changed = false;
+            int total = 0;
+            for (Map.Entry<Long, Integer> entry : lastCounts.entrySet()) {
+                int current = voteCounter.count(entry.getKey(), entry.getValue());
+                ResultsDeltaDTO.OptionDelta optionDelta = new ResultsDeltaDTO.OptionDelta();
+                optionDelta.setId(entry.getKey());
+                optionDelta.setVoteCount(current);
+                optionDelta.setDelta(current - entry.getValue());
+                results.getOptions().add(optionDelta);
+                changed |= current != entry.getValue();
+                entry.setValue(current);
+                total += current;
+            }
+            if (!changed) {
+                return null;
+            }
+            results.setTotalVotes(total);
+            for (ResultsDeltaDTO.OptionDelta optionDelta : results.getOptions()) {
+                optionDelta.setPercentage(total > 0 ? (double) optionDelta.getVoteCount() / total * 100 : 0.0);
+            }
+            return results;
+        }
+    }
+
+    private static final class Subscriber {
+        private static final byte[] HEARTBEAT = ": heartbeat\n\n".getBytes(StandardCharsets.UTF_8);
+
+        private final BlockingQueue<Payload> buffer;
+        private final AtomicInteger state = new AtomicInteger();
+        private volatile Thread sender;
+
+        private Subscriber(int bufferSize) {
+            this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        }
+
+        private boolean offer(Payload payload) {
+            return state.get() == 0 && buffer.offer(payload);
+        }
+
+        private boolean close() {
+            if (!state.compareAndSet(0, 1)) {
+                return false;
+            }
+            Thread current = sender;
+            if (current != null && current != Thread.currentThread()) {
+                current.interrupt();
+            }
+            return true;
+        }
+
+        private void drain(OutputStream outputStream, long deadline, long heartbeatNanos) {
+            sender = Thread.currentThread();
+            try {
+                while (state.get() == 0) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        return;
+                    }
+                    Payload payload = buffer.poll(Math.min(remaining, heartbeatNanos), TimeUnit.NANOSECONDS);
+                    outputStream.write(payload != null ? payload.bytes : HEARTBEAT);
+                    outputStream.flush();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (IOException e) {
+                // The client went away; the finally block in subscribe() cleans up.
+            }
+        }
+    }
+
+    private static final class Payload {
+        private final byte[] bytes;
+
+        private Payload(String name, String data) {
+            this.bytes = ("event: " + name + "\ndata: " + data + "\n\n").getBytes(StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.votingsystem.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Resolves share tokens to vote ids for the anonymous share-link endpoints.
+ * Known tokens are kept in one cache and unknown ones in a second, smaller
+ * cache with a shorter TTL, so a scanner replaying bad tokens neither reaches
+ * the database nor pushes hot links out. Tokens that are not even shaped like
+ * one we issue are rejected without a lookup.
+ *
+ * <p>A token never moves to another vote, so entries are not invalidated on
+ * vote changes; the public DTO behind the id lives in {@link VoteResultsCache},
+ * which drops it whenever the vote's status or permission changes.
+ */
+@Component
+public class ShareTokenCache {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${voting.share-cache.max-size:10000}")
+    private long maxSize;
+
+    @Value("${voting.share-cache.ttl:10m}")
+    private Duration ttl;
+
+    @Value("${voting.share-cache.negative-max-size:10000}")
+    private long negativeMaxSize;
+
+    @Value("${voting.share-cache.negative-ttl:1m}")
+    private Duration negativeTtl;
+
+    private Cache<String, Long> tokens;
+    private Cache<String, Boolean> unknownTokens;
+
+    @PostConstruct
+    public void init() {
+        tokens = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(ttl)
+            .recordStats()
+            .build();
+        unknownTokens = Caffeine.newBuilder()
+            .maximumSize(negativeMaxSize)
+            .expireAfterWrite(negativeTtl)
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, tokens, "vote.share-tokens");
+        CaffeineCacheMetrics.monitor(meterRegistry, unknownTokens, "vote.share-tokens.unknown");
+    }
+
+    /**
+     * Returns the id of the vote shared under {@code token}, or {@code null}
+     * if there is none. The loader runs outside the caches' locks, like
+     * {@link VoteResultsCache}, so a slow lookup never pins a virtual thread.
+     */
+    public Long resolve(String token, Function<String, Long> loader) {
+        if (!isWellFormed(token)) {
+            return null;
+        }
+        Long voteId = tokens.getIfPresent(token);
+        if (voteId != null || unknownTokens.getIfPresent(token) != null) {
+            return voteId;
+        }
+
+        voteId = loader.apply(token);
+        if (voteId != null) {
+            tokens.put(token, voteId);
+        } else {
+            unknownTokens.put(token, Boolean.TRUE);
+        }
+        return voteId;
+    }
+
+    private static boolean isWellFormed(String token) {
+        if (token == null || token.length() != 36) {
+            return false;
+        }
+        try {
+            UUID.fromString(token);
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+}
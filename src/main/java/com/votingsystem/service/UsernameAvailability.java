@@ -0,0 +1,95 @@
+package com.votingsystem.service;
+
+import com.votingsystem.repository.UserRepository;
+import com.votingsystem.util.BloomFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Answers "is this username free?" for the signup form. Taken usernames are
+ * kept in a Bloom filter, warmed from the {@code users} table at startup and
+ * fed by every successful registration, so a name the filter has never seen
+ * is reported free without a query; only a probable hit is checked against
+ * the table to tell a real clash from a false positive.
+ *
+ * <p>The filter is sized from {@code voting.username-filter.expected-users}
+ * and {@code voting.username-filter.false-positive-rate}. It misses names
+ * registered on other nodes after this one started, so "free" is a hint: the
+ * unique constraint on {@code users.username} stays the authority.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+public class UsernameAvailability {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${voting.username-filter.expected-users:1000000}")
+    private long expectedUsers;
+
+    @Value("${voting.username-filter.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    private BloomFilter filter;
+    private Counter free;
+    private Counter taken;
+    private Counter falsePositives;
+
+    @PostConstruct
+    public void warm() {
+        filter = BloomFilter.create(expectedUsers, falsePositiveRate);
+        jdbcTemplate.query("select username from users", rs -> {
+            filter.put(key(rs.getString(1)));
+        });
+
+        free = Counter.builder("auth.username.availability").tag("result", "free").register(meterRegistry);
+        taken = Counter.builder("auth.username.availability").tag("result", "taken").register(meterRegistry);
+        falsePositives = Counter.builder("auth.username.availability").tag("result", "false_positive").register(meterRegistry);
+        Gauge.builder("auth.username.filter.false-positive-rate", filter, BloomFilter::expectedFalsePositiveRate).register(meterRegistry);
+    }
+
+    public boolean isAvailable(String username) {
+        if (!mightBeTaken(username)) {
+            free.increment();
+            return true;
+        }
+        if (userRepository.existsByUsername(username)) {
+            taken.increment();
+            return false;
+        }
+        falsePositives.increment();
+        return true;
+    }
+
+    /** {@code false} means no user has this name; {@code true} may be a false positive. */
+    public boolean mightBeTaken(String username) {
+        return filter.mightContain(key(username));
+    }
+
+    public void taken(String username) {
+        filter.put(key(username));
+    }
+
+    // 64-bit FNV-1a; String.hashCode would cap the filter at 2^32 distinct keys.
+    private static long key(String username) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < username.length(); i++) {
+            hash ^= username.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+}
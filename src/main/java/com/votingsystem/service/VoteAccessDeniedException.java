@@ -0,0 +1,7 @@
+package com.votingsystem.service;
+
+public class VoteAccessDeniedException extends RuntimeException {
+    public VoteAccessDeniedException(String message) {
+        super(message);
+    }
+}
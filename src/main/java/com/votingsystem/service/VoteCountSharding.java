@@ -0,0 +1,225 @@
+package com.votingsystem.service;
+
+import com.votingsystem.model.VoteOption;
+import com.votingsystem.model.VoteOptionShard;
+import com.votingsystem.repository.VoteOptionRepository;
+import com.votingsystem.repository.VoteOptionShardRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.query.NativeQuery;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Routes stored vote-count increments either to the option's own
+ * {@code vote_options} row or, for votes hot enough to make that row a lock
+ * hotspot, to one of N {@code vote_option_shards} rows picked at random. A
+ * vote switches to sharded writes once its measured ballot rate crosses
+ * {@code voting.sharding.threshold-per-second}; a background job then folds
+ * the shards back into {@code vote_options.voteCount}.
+ *
+ * <p>The stored count of an option is always the row value plus the sum of
+ * its shards, and a fold moves amounts between the two in one transaction
+ * while holding the shard row locks, so that sum never changes during a
+ * fold. Which votes are sharded is kept in memory, so on startup every vote
+ * that still has shard rows is picked up again and the fold job keeps
+ * draining it. Once a fold finds a vote's shards already empty and the vote
+ * is no longer hot, which includes every closed vote, the empty rows are
+ * deleted under the same locks and the vote goes back to row writes; a
+ * writer that still routes to the deleted rows updates nothing and falls
+ * back to the row.
+ */
+@Component
+public class VoteCountSharding {
+
+    private static final Logger log = LoggerFactory.getLogger(VoteCountSharding.class);
+
+    @Autowired
+    private VoteOptionRepository voteOptionRepository;
+
+    @Autowired
+    private VoteOptionShardRepository voteOptionShardRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${voting.sharding.enabled:false}")
+    private boolean enabled;
+
+    @Value("${voting.sharding.shards:16}")
+    private int shards;
+
+    @Value("${voting.sharding.threshold-per-second:500}")
+    private long thresholdPerSecond;
+
+    private final ConcurrentHashMap<Long, LongAdder> ballotRates = new ConcurrentHashMap<>();
+    private final Set<Long> shardedVotes = ConcurrentHashMap.newKeySet();
+    private final Set<Long> hotVotes = ConcurrentHashMap.newKeySet();
+    private long lastEvaluation = System.nanoTime();
+
+    @PostConstruct
+    public void adoptShards() {
+        // Another node may still be writing to these rows, and they may hold
+        // amounts no fold has moved yet, so they are folded, never dropped.
+        shardedVotes.addAll(voteOptionShardRepository.findShardedVoteIds());
+    }
+
+    public boolean isSharded(Long voteId) {
+        return voteId != null && shardedVotes.contains(voteId);
+    }
+
+    /**
+     * What the shards add to each option's row count, by option id. Empty,
+     * without a query, for a vote that is not sharded.
+     */
+    public Map<Long, Integer> shardCounts(Long voteId) {
+        if (!isSharded(voteId)) {
+            return Map.of();
+        }
+        Map<Long, Integer> counts = new HashMap<>();
+        for (VoteOptionShardRepository.ShardSum sum : voteOptionShardRepository.sumByVoteId(voteId)) {
+            counts.put(sum.getOptionId(), Math.toIntExact(sum.getVoteCount()));
+        }
+        return counts;
+    }
+
+    /**
+     * Adds {@code delta} to the stored count of an option. Must run inside
+     * the caller's transaction.
+     */
+    public void increment(Long voteId, Long optionId, int delta) {
+        if (voteId != null && enabled) {
+            ballotRates.computeIfAbsent(voteId, id -> new LongAdder()).add(delta);
+        }
+        if (isSharded(voteId)
+                && voteOptionShardRepository.incrementShard(optionId, ThreadLocalRandom.current().nextInt(shards), delta) > 0) {
+            return;
+        }
+        incrementStoredCount(optionId, delta);
+    }
+
+    @Scheduled(fixedDelayString = "${voting.sharding.evaluate-interval-ms:1000}")
+    public void evaluate() {
+        long now = System.nanoTime();
+        double seconds = Math.max(1e-3, (now - lastEvaluation) / 1_000_000_000.0);
+        lastEvaluation = now;
+
+        ballotRates.forEach((voteId, adder) -> {
+            long ballots = adder.sumThenReset();
+            if (ballots == 0) {
+                ballotRates.remove(voteId, adder);
+                hotVotes.remove(voteId);
+            } else if (ballots / seconds >= thresholdPerSecond) {
+                hotVotes.add(voteId);
+                if (!shardedVotes.contains(voteId)) {
+                    shard(voteId);
+                    log.info("Sharding vote counts for vote {} at {} ballots/s", voteId, Math.round(ballots / seconds));
+                }
+            } else {
+                hotVotes.remove(voteId);
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${voting.sharding.fold-interval-ms:5000}")
+    public void fold() {
+        for (Long voteId : shardedVotes) {
+            boolean drop = !hotVotes.contains(voteId);
+            boolean dropped = true;
+            for (VoteOptionRepository.OptionSummary option : voteOptionRepository.findSummariesByVoteIds(List.of(voteId))) {
+                dropped &= foldOption(option.getId(), drop);
+            }
+            if (drop && dropped) {
+                shardedVotes.remove(voteId);
+                log.info("Dropped drained vote count shards for vote {}", voteId);
+            }
+        }
+    }
+
+    private void shard(Long voteId) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            for (VoteOptionRepository.OptionSummary option : voteOptionRepository.findSummariesByVoteIds(List.of(voteId))) {
+                if (voteOptionShardRepository.existsByOptionId(option.getId())) {
+                    continue;
+                }
+                for (int i = 0; i < shards; i++) {
+                    VoteOptionShard shard = new VoteOptionShard();
+                    shard.setOption(entityManager.getReference(VoteOption.class, option.getId()));
+                    shard.setShard(i);
+                    entityManager.persist(shard);
+                }
+            }
+        });
+        // Only route writes to the shards once every row exists.
+        shardedVotes.add(voteId);
+    }
+
+    // Returns whether the option's shard rows were deleted: only when asked
+    // to and they were already empty, so rows are never dropped in the same
+    // fold that drained them.
+    private boolean foldOption(Long optionId, boolean drop) {
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            int pending = 0;
+            for (VoteOptionShard shard : voteOptionShardRepository.lockShards(optionId)) {
+                pending += shard.getVoteCount();
+            }
+            boolean dropped = false;
+            if (pending != 0) {
+                incrementStoredCount(optionId, pending);
+                voteOptionShardRepository.resetShards(optionId);
+            } else if (drop) {
+                voteOptionShardRepository.deleteShards(optionId);
+                dropped = true;
+            }
+            entityManager.clear();
+            return dropped;
+        });
+    }
+
+    private void incrementStoredCount(Long optionId, int delta) {
+        // A JPQL bulk update would make Hibernate drop the whole vote-options
+        // region and every cached query over vote_options on each flush. The
+        // native update is synchronized on no query space instead, and only
+        // this option's entry is evicted once the new count has committed.
+        entityManager.createNativeQuery("update vote_options set vote_count = vote_count + :delta where id = :id")
+            .unwrap(NativeQuery.class)
+            .addSynchronizedQuerySpace("")
+            .setParameter("delta", delta)
+            .setParameter("id", optionId)
+            .executeUpdate();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(optionId);
+                }
+            });
+        } else {
+            evict(optionId);
+        }
+    }
+
+    private void evict(Long optionId) {
+        entityManager.getEntityManagerFactory().getCache().evict(VoteOption.class, optionId);
+    }
+}
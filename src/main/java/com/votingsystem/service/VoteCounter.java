@@ -0,0 +1,268 @@
+package com.votingsystem.service;
+
+import com.votingsystem.event.BallotAcceptedEvent;
+import com.votingsystem.model.VoteOption;
+import com.votingsystem.repository.VoteOptionRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * Counts accepted ballots per option without read-modify-write on the
+ * {@code vote_options} row. Ballots land on a striped in-memory counter and
+ * are folded into the database in batches with an atomic
+ * {@code voteCount = voteCount + n} update, so concurrent voters never lose
+ * increments and a hot poll does not serialize on a single row lock.
+ *
+ * <p>A tally only adds what this process knows and the stored count does not
+ * show yet: ballots not flushed, and ballots the batch paths committed since
+ * the last refresh. After every flush the stored count (row plus shards) is
+ * re-read for each live tally, so for an option this process is counting,
+ * flushes from other nodes, folded shards and replay repairs show up within
+ * one flush interval; such a change is published as a
+ * {@link BallotAcceptedEvent} so cached results and live streams follow it.
+ * A tally with nothing pending for a whole interval is dropped, and the
+ * caller's stored count is used again. For an option with no tally here,
+ * other nodes' flushes only show up when that stored count is read again:
+ * {@link VoteResultsCache} reloads a snapshot one flush interval after
+ * loading it, and the reload sees the row once this process's second-level
+ * cache entry for it has expired (see {@code hibernate-cache.conf}).
+ *
+ * <p>The {@code vote_responses} table stays the source of truth, but a normal
+ * start does not reconcile against it: other nodes may be flushing into the
+ * same rows. Counts left unflushed by a crashed process are repaired by the
+ * event-log replay maintenance run ({@code voting.event-log.replay=true}),
+ * which rebuilds every stored count from {@code vote_responses}.
+ */
+@Component
+public class VoteCounter {
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private VoteCountSharding voteCountSharding;
+
+    @Autowired
+    private VoteOptionRepository voteOptionRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    private final ConcurrentHashMap<Long, Tally> tallies = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    public void increment(VoteOption option) {
+        add(option, 1);
+    }
+
+    public void add(VoteOption option, long delta) {
+        while (true) {
+            Tally tally = tally(option);
+            tally.added.add(delta);
+            if (!tally.retired) {
+                return;
+            }
+            // Dropped by a concurrent flush: take the ballots back and retry on a fresh tally.
+            tally.added.add(-delta);
+        }
+    }
+
+    /**
+     * Counts ballots whose stored count was already raised in a committed
+     * transaction. Without a live tally there is nothing to do: the stored
+     * count that {@link #count} reads already includes them.
+     */
+    public void addCommitted(VoteOption option, long delta) {
+        while (true) {
+            Tally tally = tallies.get(option.getId());
+            if (tally == null) {
+                return;
+            }
+            tally.committed.add(delta);
+            if (!tally.retired) {
+                return;
+            }
+            tally.committed.add(-delta);
+        }
+    }
+
+    /**
+     * Current count of one option. Without a tally this is the stored count:
+     * the entity's own {@code voteCount}, which is only the row, plus its
+     * shards if the vote is sharded.
+     */
+    public int count(VoteOption option) {
+        Tally tally = tallies.get(option.getId());
+        if (tally != null) {
+            return (int) tally.total();
+        }
+        return storedCount(option);
+    }
+
+    /**
+     * @param storedCount the option's stored count, row plus shards, as
+     *        {@link VoteOptionRepository#findSummariesByVoteIds} returns it;
+     *        used when this process has no tally for the option
+     */
+    public int count(Long optionId, Integer storedCount) {
+        Tally tally = optionId != null ? tallies.get(optionId) : null;
+        if (tally == null) {
+            return storedCount != null ? storedCount : 0;
+        }
+        return (int) tally.total();
+    }
+
+    @Scheduled(fixedDelayString = "${voting.counter.flush-interval-ms:200}")
+    public void flush() {
+        Map<Long, Long> changed;
+        flushLock.lock();
+        try {
+            changed = flushAndRefresh();
+        } finally {
+            flushLock.unlock();
+        }
+        changed.forEach((optionId, voteId) -> eventPublisher.publishEvent(new BallotAcceptedEvent(voteId, optionId)));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    // Returns option id -> vote id for every option whose stored count moved
+    // by more than this process wrote.
+    private Map<Long, Long> flushAndRefresh() {
+        Map<Long, Tally> live = new LinkedHashMap<>(tallies);
+        if (live.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, Long> added = new HashMap<>();
+        Map<Long, Long> committed = new HashMap<>();
+        Map<Long, Long> batch = new LinkedHashMap<>();
+        live.forEach((optionId, tally) -> {
+            State state = tally.state;
+            long sum = tally.added.sum();
+            added.put(optionId, sum);
+            committed.put(optionId, tally.committed.sum());
+            if (sum != state.flushed) {
+                batch.put(optionId, sum - state.flushed);
+            }
+        });
+
+        if (!batch.isEmpty()) {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                batch.forEach((optionId, pending) ->
+                    voteCountSharding.increment(live.get(optionId).voteId, optionId, Math.toIntExact(pending))));
+        }
+
+        Map<Long, Integer> stored = new HashMap<>();
+        Set<Long> voteIds = live.values().stream().map(tally -> tally.voteId).filter(Objects::nonNull).collect(Collectors.toSet());
+        if (!voteIds.isEmpty()) {
+            for (VoteOptionRepository.OptionSummary option : voteOptionRepository.findSummariesByVoteIds(voteIds)) {
+                stored.put(option.getId(), option.getVoteCount());
+            }
+        }
+
+        Map<Long, Long> changed = new LinkedHashMap<>();
+        live.forEach((optionId, tally) -> {
+            if (tally.voteId == null) {
+                return;
+            }
+            Integer count = stored.get(optionId);
+            if (count == null) {
+                // The option is gone; whatever was pending for it went with it.
+                retire(optionId, tally, true);
+                return;
+            }
+            long before = tally.total();
+            tally.state = new State(count, added.get(optionId), committed.get(optionId));
+            if (tally.total() != before) {
+                changed.put(optionId, tally.voteId);
+            } else if (!batch.containsKey(optionId)) {
+                retire(optionId, tally, false);
+            }
+        });
+        return changed;
+    }
+
+    // Adders re-check the flag after adding, so once it is set either they
+    // see it and move to a fresh tally, or this check sees their ballots.
+    private void retire(Long optionId, Tally tally, boolean force) {
+        tally.retired = true;
+        if (!force && tally.pending() != 0) {
+            tally.retired = false;
+            return;
+        }
+        tallies.remove(optionId, tally);
+    }
+
+    private Tally tally(VoteOption option) {
+        Tally tally = tallies.get(option.getId());
+        if (tally != null) {
+            return tally;
+        }
+        // Seeded from the stored count, row plus shards, so the first ballot
+        // never shows less than the listing did. Read outside the map so a
+        // slow query does not block other options; a racing seed just loses.
+        Tally seeded = new Tally(option.getVote() != null ? option.getVote().getId() : null, storedCount(option));
+        Tally existing = tallies.putIfAbsent(option.getId(), seeded);
+        return existing != null ? existing : seeded;
+    }
+
+    private int storedCount(VoteOption option) {
+        int row = option.getVoteCount() != null ? option.getVoteCount() : 0;
+        if (option.getVote() == null) {
+            return row;
+        }
+        return row + voteCountSharding.shardCounts(option.getVote().getId()).getOrDefault(option.getId(), 0);
+    }
+
+    /**
+     * Stored count as of the last refresh, and how much of {@code added} and
+     * {@code committed} it already includes. Replaced as a whole, so a reader
+     * never sees the new stored count with the old marks.
+     */
+    private record State(long stored, long flushed, long committed) {
+    }
+
+    private static final class Tally {
+        private final Long voteId;
+        private final LongAdder added = new LongAdder();
+        private final LongAdder committed = new LongAdder();
+        private volatile State state;
+        private volatile boolean retired;
+
+        private Tally(Long voteId, long stored) {
+            this.voteId = voteId;
+            this.state = new State(stored, 0, 0);
+        }
+
+        private long pending() {
+            return pending(state);
+        }
+
+        private long total() {
+            State current = state;
+            return current.stored + pending(current);
+        }
+
+        private long pending(State current) {
+            return (added.sum() - current.flushed) + (committed.sum() - current.committed);
+        }
+    }
+}
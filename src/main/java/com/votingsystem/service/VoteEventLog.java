@@ -0,0 +1,484 @@
+package com.votingsystem.service;
+
+import com.votingsystem.event.VoteLogRecord;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Append-only binary log of ballot, publish and close events, written off
+ * the request path. Callers enqueue a record and return immediately; a
+ * single writer thread drains the queue, appends everything it took in one
+ * {@link FileChannel} write and makes it durable with one {@code fsync}
+ * (group commit), then completes the returned futures.
+ *
+ * <p>The log is a directory of segments named after the sequence number of
+ * their first record. Each segment starts with a header carrying the CRC
+ * that ends the previous segment, so the {@link VoteLogRecord} CRC chain
+ * runs unbroken across segment boundaries. A new segment is started once
+ * the current one passes {@code voting.event-log.segment-bytes}. On startup
+ * a torn tail left by a crash is truncated back to the last complete record.
+ *
+ * <p>A batch that fails to append is cut back off the segment and written
+ * again once. Records that still cannot be written are counted as lost:
+ * their ballots are committed but a replay will not restore them, so
+ * {@code vote.event-log.lost} and the {@code voteEventLog} health indicator
+ * report it. If the segment cannot even be reopened the writer keeps
+ * draining the queue and failing what it takes, so producers never block on
+ * a queue nobody empties, and tries to reopen before every batch.
+ */
+@Component
+public class VoteEventLog {
+
+    public static final int HEADER_BYTES = 4 + 4 + 8;
+
+    private static final Logger log = LoggerFactory.getLogger(VoteEventLog.class);
+    private static final int MAGIC = 0x564f5445;
+    private static final String SUFFIX = ".log";
+    private static final int WRITE_ATTEMPTS = 2;
+
+    @Value("${voting.event-log.enabled:false}")
+    private boolean enabled;
+
+    @Value("${voting.event-log.dir:event-log}")
+    private Path dir;
+
+    @Value("${voting.event-log.segment-bytes:67108864}")
+    private long segmentBytes;
+
+    @Value("${voting.event-log.queue-capacity:65536}")
+    private int queueCapacity;
+
+    @Value("${voting.event-log.max-batch:4096}")
+    private int maxBatch;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private BlockingQueue<Pending> queue;
+    private Thread writer;
+    private volatile boolean running;
+
+    // Owned by the writer thread once it has started. Only advanced once a
+    // batch is durable, so they always describe the last good record.
+    private FileChannel channel;
+    private Path segment;
+    private long segmentSize;
+    private long nextSequence;
+    private int lastCrc;
+    private volatile long durableSequence;
+    private volatile boolean writable;
+    private final AtomicLong lostRecords = new AtomicLong();
+
+    private Timer fsyncLatency;
+    private DistributionSummary batchSizes;
+    private Counter records;
+    private Counter bytes;
+    private Counter lost;
+
+    @PostConstruct
+    public void start() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        Files.createDirectories(dir);
+        recover();
+
+        fsyncLatency = Timer.builder("vote.event-log.fsync").publishPercentileHistogram().register(meterRegistry);
+        batchSizes = DistributionSummary.builder("vote.event-log.batch-size").publishPercentileHistogram().register(meterRegistry);
+        records = Counter.builder("vote.event-log.records").register(meterRegistry);
+        bytes = Counter.builder("vote.event-log.bytes").baseUnit("bytes").register(meterRegistry);
+        lost = Counter.builder("vote.event-log.lost").register(meterRegistry);
+        Gauge.builder("vote.event-log.writable", this, eventLog -> eventLog.writable ? 1 : 0).register(meterRegistry);
+
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        Gauge.builder("vote.event-log.queue", queue, BlockingQueue::size).register(meterRegistry);
+        running = true;
+        writer = new Thread(this::drainLoop, "vote-event-log");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException, IOException {
+        if (writer == null) {
+            return;
+        }
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+        if (channel != null) {
+            channel.close();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Path getDir() {
+        return dir;
+    }
+
+    /** Sequence number of the last record known to be on disk. */
+    public long getDurableSequence() {
+        return durableSequence;
+    }
+
+    /**
+     * Records that were accepted but could not be written. Each is a ballot
+     * or status change that a replay of this log will miss.
+     */
+    public long getLostRecords() {
+        return lostRecords.get();
+    }
+
+    /** Whether the writer currently has an open segment to append to. */
+    public boolean isWritable() {
+        return writable;
+    }
+
+    /** Completes once every record appended before this call is durable. */
+    public CompletableFuture<Void> sync() {
+        return enqueue(new Pending(null));
+    }
+
+    /**
+     * Logs a committed ballot. Callers need not wait on the result: a failed
+     * append is retried here, and one that still fails is counted as lost
+     * and turns the health indicator down.
+     */
+    public CompletableFuture<Void> ballotCast(Long responseId, Long voteId, Long optionId, Long userId) {
+        return append(VoteLogRecord.Type.BALLOT_CAST, voteId, optionId, userId, responseId);
+    }
+
+    public CompletableFuture<Void> votePublished(Long voteId) {
+        return append(VoteLogRecord.Type.VOTE_PUBLISHED, voteId, null, null, null);
+    }
+
+    public CompletableFuture<Void> voteClosed(Long voteId) {
+        return append(VoteLogRecord.Type.VOTE_CLOSED, voteId, null, null, null);
+    }
+
+    private CompletableFuture<Void> append(VoteLogRecord.Type type, Long voteId, Long optionId, Long userId, Long responseId) {
+        if (!enabled) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return enqueue(new Pending(new VoteLogRecord(0, System.currentTimeMillis(), type, voteId, optionId, userId, responseId)));
+    }
+
+    private CompletableFuture<Void> enqueue(Pending pending) {
+        if (!enabled) {
+            return CompletableFuture.completedFuture(null);
+        }
+        try {
+            // Blocking here is the back-pressure when the disk falls behind;
+            // dropping audit records is not an option.
+            queue.put(pending);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            pending.written.completeExceptionally(e);
+        }
+        return pending.written;
+    }
+
+    private void drainLoop() {
+        while (running || !queue.isEmpty()) {
+            try {
+                Pending first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                List<Pending> batch = new ArrayList<>();
+                batch.add(first);
+                queue.drainTo(batch, maxBatch - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Vote event log writer failed", e);
+            }
+        }
+    }
+
+    private void write(List<Pending> batch) {
+        int count = (int) batch.stream().filter(pending -> pending.record != null).count();
+        IOException failure = null;
+        for (int attempt = 1; attempt <= WRITE_ATTEMPTS; attempt++) {
+            try {
+                if (!writable) {
+                    reopen();
+                }
+                appendBatch(batch, count);
+                batch.forEach(pending -> pending.written.complete(null));
+                return;
+            } catch (IOException e) {
+                failure = e;
+                writable = false;
+                log.warn("Could not append {} records to the vote event log (attempt {} of {})", count, attempt, WRITE_ATTEMPTS, e);
+            }
+        }
+
+        IOException cause = failure;
+        batch.forEach(pending -> pending.written.completeExceptionally(cause));
+        if (count > 0) {
+            lostRecords.addAndGet(count);
+            lost.increment(count);
+            log.error("Dropped {} vote event log records after {} attempts; a replay will not restore them", count, WRITE_ATTEMPTS, cause);
+        }
+    }
+
+    private void appendBatch(List<Pending> batch, int count) throws IOException {
+        if (segmentSize >= segmentBytes) {
+            roll();
+        }
+        // Sync markers carry no record; earlier batches are already durable.
+        if (count == 0) {
+            return;
+        }
+        long sequence = nextSequence;
+        int crc = lastCrc;
+        ByteBuffer buffer = ByteBuffer.allocate(count * VoteLogRecord.RECORD_BYTES);
+        for (Pending pending : batch) {
+            if (pending.record != null) {
+                crc = pending.record.withSequence(sequence++).encode(buffer, crc);
+            }
+        }
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        long start = System.nanoTime();
+        channel.force(false);
+        fsyncLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        nextSequence = sequence;
+        lastCrc = crc;
+        segmentSize += buffer.limit();
+        durableSequence = nextSequence - 1;
+        records.increment(count);
+        bytes.increment(buffer.limit());
+        batchSizes.record(count);
+    }
+
+    // Cuts a failed batch back off the current segment, so a retry does not
+    // leave the records it already wrote in the log twice.
+    private void reopen() throws IOException {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            log.debug("Could not close vote event log segment {}", segment, e);
+        }
+        channel = FileChannel.open(segment, StandardOpenOption.WRITE);
+        channel.truncate(segmentSize);
+        channel.force(true);
+        channel.position(segmentSize);
+        writable = true;
+    }
+
+    private void recover() throws IOException {
+        List<Path> segments = segments(dir);
+        while (!segments.isEmpty() && Files.size(segments.get(segments.size() - 1)) < HEADER_BYTES) {
+            Files.delete(segments.remove(segments.size() - 1));
+        }
+        if (segments.isEmpty()) {
+            nextSequence = 1;
+            durableSequence = 0;
+            lastCrc = 0;
+            open(newSegment(1, 0));
+            writable = true;
+            return;
+        }
+
+        Path tail = segments.get(segments.size() - 1);
+        Scan scan = scan(tail, null, record -> {
+        });
+        segment = tail;
+        channel = FileChannel.open(tail, StandardOpenOption.WRITE);
+        if (scan.validBytes < channel.size()) {
+            log.warn("Truncating {} torn bytes from vote event log segment {}", channel.size() - scan.validBytes, tail);
+            channel.truncate(scan.validBytes);
+            channel.force(true);
+        }
+        channel.position(scan.validBytes);
+        segmentSize = scan.validBytes;
+        nextSequence = scan.nextSequence;
+        durableSequence = scan.nextSequence - 1;
+        lastCrc = scan.lastCrc;
+        writable = true;
+    }
+
+    private void roll() throws IOException {
+        channel.force(true);
+        channel.close();
+        open(newSegment(nextSequence, lastCrc));
+    }
+
+    // A segment named after the next sequence holds no durable record yet, so
+    // one left behind by a failed roll is simply overwritten.
+    private Path newSegment(long firstSequence, int previousCrc) throws IOException {
+        Path created = dir.resolve(String.format("%020d%s", firstSequence, SUFFIX));
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).putInt(MAGIC).putInt(previousCrc).putLong(firstSequence).flip();
+        try (FileChannel file = FileChannel.open(created, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE)) {
+            while (header.hasRemaining()) {
+                file.write(header);
+            }
+            file.force(true);
+        }
+        return created;
+    }
+
+    private void open(Path opened) throws IOException {
+        FileChannel next = FileChannel.open(opened, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        channel = next;
+        segment = opened;
+        segmentSize = next.size();
+    }
+
+    /**
+     * Reads every record in {@code dir} in log order, verifying the CRC chain
+     * across segments. A torn tail at the end of the newest segment is
+     * ignored, since that is what a crash mid-write leaves behind; a broken
+     * record anywhere else means the log was damaged or altered.
+     *
+     * @return the number of records read
+     */
+    public static long read(Path dir, Consumer<VoteLogRecord> consumer) throws IOException {
+        return read(dir, 0, consumer);
+    }
+
+    /**
+     * Like {@link #read(Path, Consumer)}, but skips segments that end at or
+     * before {@code afterSequence} and only passes on later records.
+     */
+    public static long read(Path dir, long afterSequence, Consumer<VoteLogRecord> consumer) throws IOException {
+        List<Path> segments = segmentsAfter(dir, afterSequence);
+        Integer expectedCrc = null;
+        long total = 0;
+        for (int i = 0; i < segments.size(); i++) {
+            Path segment = segments.get(i);
+            boolean last = i == segments.size() - 1;
+            if (last && Files.size(segment) < HEADER_BYTES) {
+                break;
+            }
+            Scan scan = scan(segment, expectedCrc, record -> {
+                if (record.getSequence() > afterSequence) {
+                    consumer.accept(record);
+                }
+            });
+            if (!last && scan.validBytes < Files.size(segment)) {
+                throw new IllegalStateException("Vote event log segment " + segment + " is corrupt at byte " + scan.validBytes);
+            }
+            expectedCrc = scan.lastCrc;
+            total += scan.records;
+        }
+        return total;
+    }
+
+    /**
+     * Segments that may hold records after {@code afterSequence}, oldest
+     * first. Each one can be read on its own with {@link #readSegment}.
+     */
+    public static List<Path> segmentsAfter(Path dir, long afterSequence) throws IOException {
+        List<Path> segments = segments(dir);
+        int first = 0;
+        for (int i = 1; i < segments.size(); i++) {
+            if (firstSequence(segments.get(i)) <= afterSequence + 1) {
+                first = i;
+            }
+        }
+        return new ArrayList<>(segments.subList(first, segments.size()));
+    }
+
+    /**
+     * Reads one segment, verifying the CRC chain from its header on. Stops
+     * quietly at the first record that does not verify.
+     */
+    public static long readSegment(Path segment, Consumer<VoteLogRecord> consumer) throws IOException {
+        if (Files.size(segment) < HEADER_BYTES) {
+            return 0;
+        }
+        return scan(segment, null, consumer).records;
+    }
+
+    private static long firstSequence(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(0, name.length() - SUFFIX.length()));
+    }
+
+    private static List<Path> segments(Path dir) throws IOException {
+        if (!Files.isDirectory(dir)) {
+            return new ArrayList<>();
+        }
+        try (Stream<Path> files = Files.list(dir)) {
+            return new ArrayList<>(files.filter(file -> file.getFileName().toString().endsWith(SUFFIX)).sorted().toList());
+        }
+    }
+
+    private static Scan scan(Path segment, Integer expectedCrc, Consumer<VoteLogRecord> consumer) throws IOException {
+        try (FileChannel file = FileChannel.open(segment, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = file.map(FileChannel.MapMode.READ_ONLY, 0, file.size());
+            if (buffer.remaining() < HEADER_BYTES || buffer.getInt() != MAGIC) {
+                throw new IllegalStateException("Vote event log segment " + segment + " has no valid header");
+            }
+            int crc = buffer.getInt();
+            long sequence = buffer.getLong();
+            if (expectedCrc != null && crc != expectedCrc) {
+                throw new IllegalStateException("Vote event log segment " + segment + " does not continue the previous segment");
+            }
+
+            long count = 0;
+            VoteLogRecord record;
+            while ((record = VoteLogRecord.decode(buffer, crc)) != null) {
+                if (record.getSequence() != sequence) {
+                    throw new IllegalStateException("Vote event log segment " + segment + " skips from sequence "
+                        + sequence + " to " + record.getSequence());
+                }
+                crc = buffer.getInt(buffer.position() - VoteLogRecord.RECORD_BYTES + 4);
+                sequence++;
+                count++;
+                consumer.accept(record);
+            }
+            return new Scan(buffer.position(), sequence, crc, count);
+        }
+    }
+
+    private record Scan(long validBytes, long nextSequence, int lastCrc, long records) {
+    }
+
+    private static final class Pending {
+        private final VoteLogRecord record;
+        private final CompletableFuture<Void> written = new CompletableFuture<>();
+
+        private Pending(VoteLogRecord record) {
+            this.record = record;
+        }
+    }
+}
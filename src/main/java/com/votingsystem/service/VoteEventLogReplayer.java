@@ -0,0 +1,121 @@
+package com.votingsystem.service;
+
+import com.votingsystem.event.VoteLogRecord;
+import com.votingsystem.repository.VoteOptionRepository;
+import com.votingsystem.repository.VoteOptionShardRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Rebuilds {@code vote_responses}, vote publish/close state and the stored
+ * option counts from the vote event log. Ballots already in the table are
+ * left alone, so replaying onto a partially restored database only fills
+ * the gaps. Run it through {@code voting.event-log.replay=true}, which
+ * replays at startup and exits; the next normal start warms every in-memory
+ * index from the rebuilt tables.
+ *
+ * <p>Ballots are inserted and status changes applied in transactions of at
+ * most {@value #CHUNK_SIZE} rows, so a long log never holds its locks or
+ * persistence context all at once. Every step is idempotent: a replay cut
+ * short is finished by running it again. The counts are reconciled in one
+ * final transaction.
+ */
+@Component
+public class VoteEventLogReplayer {
+
+    private static final Logger log = LoggerFactory.getLogger(VoteEventLogReplayer.class);
+    private static final int CHUNK_SIZE = 1000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private VoteOptionRepository voteOptionRepository;
+
+    @Autowired
+    private VoteOptionShardRepository voteOptionShardRepository;
+
+    @Autowired
+    private VoteEventLog voteEventLog;
+
+    public long replay() {
+        return replay(voteEventLog.getDir());
+    }
+
+    public long replay(Path dir) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        List<Object[]> ballots = new ArrayList<>(CHUNK_SIZE);
+        long[] restored = new long[1];
+        long records;
+        try {
+            records = VoteEventLog.read(dir, record -> {
+                if (record.getType() == VoteLogRecord.Type.BALLOT_CAST) {
+                    ballots.add(new Object[] {
+                        record.getResponseId(), record.getVoteId(), record.getUserId(), record.getOptionId(),
+                        record.getResponseId(), record.getVoteId(), record.getUserId()
+                    });
+                    if (ballots.size() == CHUNK_SIZE) {
+                        restored[0] += transaction.execute(status -> insertBallots(ballots));
+                    }
+                } else {
+                    // Ballots are applied in log order relative to status changes.
+                    restored[0] += transaction.execute(status -> insertBallots(ballots));
+                    transaction.executeWithoutResult(status -> applyStatus(record));
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        restored[0] += transaction.execute(status -> insertBallots(ballots));
+
+        transaction.executeWithoutResult(status -> {
+            voteOptionShardRepository.deleteAllInBatch();
+            voteOptionRepository.reconcileVoteCounts();
+        });
+        log.info("Replayed {} vote event log records from {}, restored {} ballots", records, dir, restored[0]);
+        return restored[0];
+    }
+
+    private long insertBallots(List<Object[]> ballots) {
+        if (ballots.isEmpty()) {
+            return 0;
+        }
+        int[] counts = jdbcTemplate.batchUpdate(
+            "insert into vote_responses (id, vote_id, user_id, option_id) "
+                + "select cast(? as bigint), cast(? as bigint), cast(? as bigint), cast(? as bigint) "
+                + "where not exists (select 1 from vote_responses where id = ? or (vote_id = ? and user_id = cast(? as bigint)))",
+            ballots);
+        ballots.clear();
+        long inserted = 0;
+        for (int count : counts) {
+            inserted += Math.max(count, 0);
+        }
+        return inserted;
+    }
+
+    private void applyStatus(VoteLogRecord record) {
+        Timestamp at = new Timestamp(record.getTimestamp());
+        if (record.getType() == VoteLogRecord.Type.VOTE_PUBLISHED) {
+            jdbcTemplate.update("update votes set status = 'PUBLISHED', published_at = ? where id = ? and status = 'DRAFT'",
+                at, record.getVoteId());
+        } else if (record.getType() == VoteLogRecord.Type.VOTE_CLOSED) {
+            jdbcTemplate.update("update votes set status = 'CLOSED', closed_at = ? where id = ? and status in ('DRAFT', 'PUBLISHED')",
+                at, record.getVoteId());
+        }
+    }
+}
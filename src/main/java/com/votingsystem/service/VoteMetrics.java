@@ -0,0 +1,77 @@
+package com.votingsystem.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Meters for the vote use cases: ballots accepted, queued on the ingestion
+ * pipeline or rejected (tagged by reason), and the time spent building vote
+ * DTOs. Every meter is created up front so the ballot path only increments.
+ */
+@Component
+public class VoteMetrics {
+    static final String DUPLICATE = "duplicate";
+    static final String ACCESS_DENIED = "access_denied";
+    static final String NOT_FOUND = "not_found";
+    static final String QUEUE_FULL = "queue_full";
+    static final String OTHER = "other";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Counter accepted;
+    private Counter queued;
+    private final Map<String, Counter> rejected = new ConcurrentHashMap<>();
+    private Timer singleDTO;
+    private Timer listDTO;
+
+    @PostConstruct
+    public void init() {
+        accepted = Counter.builder("vote.ballots.accepted").tag("mode", "direct").register(meterRegistry);
+        queued = Counter.builder("vote.ballots.accepted").tag("mode", "queued").register(meterRegistry);
+        for (String reason : new String[] {DUPLICATE, BallotRejectedException.CLOSED, BallotRejectedException.NOT_PUBLISHED,
+                BallotRejectedException.INVALID_OPTION, ACCESS_DENIED, NOT_FOUND, QUEUE_FULL, OTHER}) {
+            rejected.put(reason, Counter.builder("vote.ballots.rejected").tag("reason", reason).register(meterRegistry));
+        }
+        singleDTO = Timer.builder("vote.dto.build").tag("shape", "single").publishPercentileHistogram().register(meterRegistry);
+        listDTO = Timer.builder("vote.dto.build").tag("shape", "list").publishPercentileHistogram().register(meterRegistry);
+    }
+
+    public void accepted(boolean wasQueued) {
+        (wasQueued ? queued : accepted).increment();
+    }
+
+    public void rejected(RuntimeException e) {
+        String reason;
+        if (e instanceof DuplicateBallotException) {
+            reason = DUPLICATE;
+        } else if (e instanceof BallotRejectedException rejection) {
+            reason = rejection.getReason();
+        } else if (e instanceof VoteAccessDeniedException) {
+            reason = ACCESS_DENIED;
+        } else if (e instanceof VoteNotFoundException) {
+            reason = NOT_FOUND;
+        } else if (e instanceof BallotQueueFullException) {
+            reason = QUEUE_FULL;
+        } else {
+            reason = OTHER;
+        }
+        rejected.getOrDefault(reason, rejected.get(OTHER)).increment();
+    }
+
+    public void dtoBuilt(long startNanos) {
+        singleDTO.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void dtosBuilt(long startNanos) {
+        listDTO.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,7 @@
+package com.votingsystem.service;
+
+public class VoteNotFoundException extends RuntimeException {
+    public VoteNotFoundException(String message) {
+        super(message);
+    }
+}
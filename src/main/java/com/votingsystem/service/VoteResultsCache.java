@@ -0,0 +1,144 @@
+package com.votingsystem.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.votingsystem.dto.VoteDTO;
+import com.votingsystem.event.BallotAcceptedEvent;
+import com.votingsystem.event.VoteChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Ready-to-serve results snapshots keyed by vote id. A snapshot is a
+ * {@link VoteDTO} without the per-user {@code hasVoted} flag; callers get a
+ * copy with that flag filled in. Counts are refreshed in place whenever a
+ * ballot is accepted, and the entry is dropped when the vote itself changes.
+ *
+ * <p>In-place refreshes only see this process's tallies, so a snapshot also
+ * expires a fixed time after it was loaded, by default one counter flush
+ * interval, however often it is read or refreshed. The reload picks up the
+ * stored counts other nodes have flushed since.
+ */
+@Component
+public class VoteResultsCache {
+
+    @Autowired
+    private VoteCounter voteCounter;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${voting.results-cache.max-size:10000}")
+    private long maxSize;
+
+    @Value("${voting.results-cache.expire-after-write:${voting.counter.flush-interval-ms:200}ms}")
+    private Duration expireAfterWrite;
+
+    private final AtomicLong changes = new AtomicLong();
+    private Cache<Long, VoteDTO> snapshots;
+
+    @PostConstruct
+    public void init() {
+        snapshots = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            // Not expireAfterWrite: every in-place recount is a write, which
+            // would keep a steadily voted snapshot alive for good.
+            .expireAfter(Expiry.creating((Long voteId, VoteDTO snapshot) -> expireAfterWrite))
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, snapshots, "vote.results");
+    }
+
+    public VoteDTO get(Long voteId, Function<Long, VoteDTO> loader) {
+        VoteDTO snapshot = snapshots.getIfPresent(voteId);
+        if (snapshot == null) {
+            snapshot = load(voteId, loader);
+        }
+        return snapshot != null ? copy(snapshot, false) : null;
+    }
+
+    public void invalidate(Long voteId) {
+        changes.incrementAndGet();
+        snapshots.invalidate(voteId);
+    }
+
+    @EventListener
+    @Order(0)
+    public void onBallotAccepted(BallotAcceptedEvent event) {
+        snapshots.asMap().computeIfPresent(event.getVoteId(), (voteId, snapshot) -> recount(snapshot));
+    }
+
+    @EventListener
+    @Order(0)
+    public void onVoteChanged(VoteChangedEvent event) {
+        invalidate(event.getVoteId());
+    }
+
+    // The loader runs outside the cache's entry lock: that lock is a monitor
+    // inside ConcurrentHashMap, and holding it across JDBC I/O would pin a
+    // virtual thread to its carrier. Counts are re-read from the counter when
+    // the snapshot is installed, so ballots accepted during the load are not
+    // lost; a vote change during the load means the snapshot may be stale and
+    // it is served once without being cached.
+    private VoteDTO load(Long voteId, Function<Long, VoteDTO> loader) {
+        long generation = changes.get();
+        VoteDTO loaded = loader.apply(voteId);
+        if (loaded == null) {
+            return null;
+        }
+        VoteDTO installed = snapshots.asMap().compute(voteId, (id, existing) -> {
+            if (existing != null) {
+                return existing;
+            }
+            return changes.get() == generation ? recount(loaded) : null;
+        });
+        return installed != null ? installed : recount(loaded);
+    }
+
+    private VoteDTO recount(VoteDTO snapshot) {
+        VoteDTO updated = copy(snapshot, false);
+        List<VoteDTO.OptionDTO> options = new ArrayList<>(snapshot.getOptions().size());
+        for (VoteDTO.OptionDTO option : snapshot.getOptions()) {
+            VoteDTO.OptionDTO counted = new VoteDTO.OptionDTO();
+            counted.setId(option.getId());
+            counted.setText(option.getText());
+            counted.setVoteCount(voteCounter.count(option.getId(), option.getVoteCount()));
+            options.add(counted);
+        }
+        updated.setOptions(options);
+        updated.recalculateTotals();
+        return updated;
+    }
+
+    private static VoteDTO copy(VoteDTO source, boolean hasVoted) {
+        VoteDTO dto = new VoteDTO();
+        dto.setId(source.getId());
+        dto.setTitle(source.getTitle());
+        dto.setDescription(source.getDescription());
+        dto.setCreatorId(source.getCreatorId());
+        dto.setCreatorUsername(source.getCreatorUsername());
+        dto.setOptions(source.getOptions());
+        dto.setStatus(source.getStatus());
+        dto.setPermission(source.getPermission());
+        dto.setShareToken(source.getShareToken());
+        dto.setCreatedAt(source.getCreatedAt());
+        dto.setPublishedAt(source.getPublishedAt());
+        dto.setClosedAt(source.getClosedAt());
+        dto.setTotalVotes(source.getTotalVotes());
+        dto.setHasVoted(hasVoted);
+        return dto;
+    }
+}
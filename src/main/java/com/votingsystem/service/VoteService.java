@@ -0,0 +1,685 @@
+package com.votingsystem.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.votingsystem.dto.BallotBatchRequest;
+import com.votingsystem.dto.BallotBatchResultDTO;
+import com.votingsystem.dto.CreateVoteRequest;
+import com.votingsystem.dto.VoteDTO;
+import com.votingsystem.dto.VotePageDTO;
+import com.votingsystem.event.BallotAcceptedEvent;
+import com.votingsystem.event.VoteChangedEvent;
+import com.votingsystem.model.User;
+import com.votingsystem.model.Vote;
+import com.votingsystem.model.VoteOption;
+import com.votingsystem.model.VoteResponse;
+import com.votingsystem.repository.UserRepository;
+import com.votingsystem.repository.VoteOptionRepository;
+import com.votingsystem.repository.VoteRepository;
+import com.votingsystem.repository.VoteResponseRepository;
+import com.votingsystem.util.VoteCursor;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Hibernate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Vote use cases, each in one short transaction. Commands run read-write and
+ * are re-run from the start, with exponential backoff, when they lose an
+ * optimistic-locking race on a {@link Vote} or {@link VoteOption} version;
+ * queries run read-only. Anything that cannot be rolled back (the event log,
+ * the in-memory counters and membership index, change events) happens after
+ * the commit, so a retried or failed attempt leaves no trace.
+ *
+ * <p>Failures surface as exceptions ({@link VoteNotFoundException},
+ * {@link VoteAccessDeniedException}, {@link InvalidVoteOperationException},
+ * {@link UnknownUserException}, {@link DuplicateBallotException}) that the
+ * web layer maps to status codes.
+ */
+@Component
+public class VoteService {
+
+    private static final Logger log = LoggerFactory.getLogger(VoteService.class);
+    private static final int EXPORT_CHUNK_SIZE = 500;
+    // Keeps the IN list of a listing's option query far below the 32767
+    // bind parameters the postgres driver allows per statement.
+    private static final int OPTION_QUERY_CHUNK_SIZE = 1000;
+
+    @Autowired
+    private VoteRepository voteRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private VoteOptionRepository voteOptionRepository;
+
+    @Autowired
+    private VoteResponseRepository voteResponseRepository;
+
+    @Autowired
+    private VoteCounter voteCounter;
+
+    @Autowired
+    private VoteCountSharding voteCountSharding;
+
+    @Autowired
+    private BallotMembershipIndex ballotMembershipIndex;
+
+    @Autowired
+    private BallotIngestionPipeline ballotIngestionPipeline;
+
+    @Autowired
+    private AnonymousBallotDedup anonymousBallotDedup;
+
+    @Autowired
+    private BallotBatchImporter ballotBatchImporter;
+
+    @Autowired
+    private VoteEventLog voteEventLog;
+
+    @Autowired
+    private VoteResultsCache voteResultsCache;
+
+    @Autowired
+    private ShareTokenCache shareTokenCache;
+
+    @Autowired
+    private VoteMetrics voteMetrics;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${voting.vote-service.max-attempts:4}")
+    private int maxAttempts;
+
+    @Value("${voting.vote-service.retry-backoff-ms:10}")
+    private long retryBackoffMs;
+
+    public VoteDTO createVote(Long userId, CreateVoteRequest request) {
+        return write(status -> {
+            User creator = userRepository.findById(userId)
+                .orElseThrow(() -> new UnknownUserException("User not found. Please login again."));
+
+            Vote vote = new Vote();
+            vote.setTitle(request.getTitle());
+            vote.setDescription(request.getDescription());
+            vote.setCreator(creator);
+            vote.setStatus(Vote.VoteStatus.DRAFT);
+            if (request.getPermission() != null) {
+                vote.setPermission(parsePermission(request.getPermission()));
+            }
+            for (String optionText : request.getOptions()) {
+                VoteOption option = new VoteOption();
+                option.setText(optionText);
+                option.setVote(vote);
+                vote.getOptions().add(option);
+            }
+
+            // Options cascade from the vote, and pooled sequence ids mean
+            // nothing is flushed until the commit.
+            return convertToDTO(voteRepository.save(vote), userId);
+        });
+    }
+
+    public VoteDTO editVote(Long voteId, Long userId, CreateVoteRequest request) {
+        VoteDTO dto = write(status -> {
+            Vote vote = requireOwnVote(voteId, userId, "You can only edit your own votes");
+            if (vote.getStatus() != Vote.VoteStatus.DRAFT) {
+                throw new InvalidVoteOperationException("Cannot edit " + vote.getStatus().name().toLowerCase() + " vote");
+            }
+
+            vote.setTitle(request.getTitle());
+            vote.setDescription(request.getDescription());
+            if (request.getPermission() != null) {
+                vote.setPermission(parsePermission(request.getPermission()));
+            }
+            vote.getOptions().clear();
+            for (String optionText : request.getOptions()) {
+                VoteOption option = new VoteOption();
+                option.setText(optionText);
+                option.setVote(vote);
+                // Persisted right away so the returned DTO has the new option ids.
+                voteOptionRepository.save(option);
+                vote.getOptions().add(option);
+            }
+            return convertToDTO(vote, userId);
+        });
+        eventPublisher.publishEvent(new VoteChangedEvent(voteId));
+        return dto;
+    }
+
+    public VoteDTO publishVote(Long voteId, Long userId) {
+        VoteDTO dto = write(status -> {
+            Vote vote = requireOwnVote(voteId, userId, "You can only publish your own votes");
+            if (vote.getOptions().size() < 2) {
+                throw new InvalidVoteOperationException("Vote must have at least 2 options");
+            }
+            vote.setStatus(Vote.VoteStatus.PUBLISHED);
+            vote.setPublishedAt(LocalDateTime.now());
+            return convertToDTO(vote, userId);
+        });
+        eventPublisher.publishEvent(new VoteChangedEvent(voteId));
+        voteEventLog.votePublished(voteId);
+        return dto;
+    }
+
+    public VoteDTO setPermission(Long voteId, Long userId, String permission) {
+        Vote.VotePermission parsed;
+        try {
+            parsed = Vote.VotePermission.valueOf(permission.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new InvalidVoteOperationException("Invalid permission type");
+        }
+
+        VoteDTO dto = write(status -> {
+            Vote vote = requireOwnVote(voteId, userId, "You can only modify your own votes");
+            vote.setPermission(parsed);
+            return convertToDTO(vote, userId);
+        });
+        eventPublisher.publishEvent(new VoteChangedEvent(voteId));
+        return dto;
+    }
+
+    public VoteDTO closeVote(Long voteId, Long userId) {
+        VoteDTO dto = write(status -> {
+            Vote vote = requireOwnVote(voteId, userId, "You can only close your own votes");
+            vote.setStatus(Vote.VoteStatus.CLOSED);
+            vote.setClosedAt(LocalDateTime.now());
+            return convertToDTO(vote, userId);
+        });
+        eventPublisher.publishEvent(new VoteChangedEvent(voteId));
+        voteEventLog.voteClosed(voteId);
+        return dto;
+    }
+
+    public void deleteVote(Long voteId, Long userId) {
+        write(status -> {
+            requireOwnVote(voteId, userId, "You can only delete your own votes").setStatus(Vote.VoteStatus.DELETED);
+            return null;
+        });
+        eventPublisher.publishEvent(new VoteChangedEvent(voteId));
+    }
+
+    /**
+     * Casts a signed-in user's ballot.
+     *
+     * @return the vote with updated counts, or {@code null} if the ballot was
+     *         queued on the ingestion pipeline and is not committed yet
+     */
+    public VoteDTO castBallot(Long voteId, Long optionId, Long userId) {
+        try {
+            if (ballotIngestionPipeline.isEnabled()) {
+                return queue(read(status -> validateBallot(voteId, optionId, userId)), userId);
+            }
+            return accepted(writeBallot(status -> save(validateBallot(voteId, optionId, userId))), userId);
+        } catch (RuntimeException e) {
+            voteMetrics.rejected(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Casts a ballot through a share link. Signed-in users vote as
+     * themselves; anyone else is deduplicated by the fingerprint of their
+     * voter cookie, which is only asked for once the ballot has passed
+     * validation.
+     *
+     * @return as for {@link #castBallot}
+     */
+    public VoteDTO castSharedBallot(Long voteId, Long optionId, String token, Long userId, LongSupplier anonymousFingerprint) {
+        try {
+            return castShared(voteId, optionId, token, userId, anonymousFingerprint);
+        } catch (RuntimeException e) {
+            voteMetrics.rejected(e);
+            throw e;
+        }
+    }
+
+    private VoteDTO castShared(Long voteId, Long optionId, String token, Long userId, LongSupplier anonymousFingerprint) {
+        boolean queued = ballotIngestionPipeline.isEnabled();
+        // A queued ballot is written by the pipeline, as in castBallot, and an
+        // anonymous one is saved below with its fingerprint, so validating
+        // either needs no read-write transaction.
+        Ballot ballot = queued || userId == null
+            ? read(status -> validateSharedBallot(voteId, optionId, token, userId))
+            : writeBallot(status -> {
+                Ballot validated = validateSharedBallot(voteId, optionId, token, userId);
+                return validated.user != null ? save(validated) : validated;
+            });
+
+        if (ballot.user != null) {
+            return queued ? queue(ballot, userId) : accepted(ballot, userId);
+        }
+
+        long fingerprint = anonymousFingerprint.getAsLong();
+        if (!anonymousBallotDedup.isNew(voteId, fingerprint)) {
+            throw new DuplicateBallotException("You have already voted");
+        }
+        if (queued) {
+            return queue(ballot, null, fingerprint);
+        }
+        // The fingerprint row commits or rolls back with the ballot.
+        Ballot saved = writeBallot(status -> {
+            anonymousBallotDedup.record(voteId, fingerprint);
+            return save(ballot);
+        });
+        VoteDTO dto = accepted(saved, null);
+        try {
+            anonymousBallotDedup.recorded(voteId, fingerprint);
+        } catch (RuntimeException e) {
+            log.error("Bookkeeping failed for committed ballot {} on vote {}", saved.responseId, voteId, e);
+        }
+        return dto;
+    }
+
+    public BallotBatchResultDTO importBallots(Long voteId, Long userId, List<BallotBatchRequest.Ballot> ballots) {
+        Vote vote = read(status -> {
+            Vote loaded = loadVote(voteId);
+            if (!loaded.getCreator().getId().equals(userId)) {
+                throw new VoteAccessDeniedException("You can only submit ballots to your own votes");
+            }
+            requireOpen(loaded);
+            return loaded;
+        });
+
+        if (ballots.size() > ballotBatchImporter.getMaxBallots()) {
+            throw new InvalidVoteOperationException("At most " + ballotBatchImporter.getMaxBallots() + " ballots per batch");
+        }
+        return ballotBatchImporter.importBallots(vote, ballots);
+    }
+
+    @Transactional(readOnly = true)
+    public VoteDTO getVote(Long voteId, Long userId) {
+        Vote vote = loadVote(voteId);
+        boolean owner = vote.getCreator().getId().equals(userId);
+        if ((vote.getStatus() != Vote.VoteStatus.PUBLISHED || vote.getPermission() == Vote.VotePermission.PRIVATE) && !owner) {
+            throw new VoteAccessDeniedException("You do not have access to this vote");
+        }
+        return convertToDTO(vote, userId);
+    }
+
+    @Transactional(readOnly = true)
+    public List<VoteDTO> listVotes(Long userId, Vote.VoteStatus status) {
+        return convertToDTOs(voteRepository.findVisibleTo(userId, status), userId);
+    }
+
+    @Transactional(readOnly = true)
+    public VotePageDTO pageVotes(Long userId, Vote.VoteStatus status, int pageSize, VoteCursor after) {
+        List<Vote> votes = voteRepository.findVisiblePage(userId, status,
+            after != null ? after.getCreatedAt() : null, after != null ? after.getId() : null,
+            PageRequest.of(0, pageSize + 1));
+
+        String nextCursor = null;
+        if (votes.size() > pageSize) {
+            votes = votes.subList(0, pageSize);
+            Vote last = votes.get(pageSize - 1);
+            nextCursor = new VoteCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        return new VotePageDTO(convertToDTOs(votes, userId), nextCursor);
+    }
+
+    /**
+     * Writes every vote visible to the user as one JSON document per line,
+     * converting and detaching them in chunks so memory stays flat however
+     * many votes there are.
+     */
+    @Transactional(readOnly = true)
+    public void exportVotes(Long userId, Vote.VoteStatus status, OutputStream outputStream) throws IOException {
+        try (Stream<Vote> votes = voteRepository.streamVisibleTo(userId, status)) {
+            List<Vote> chunk = new ArrayList<>(EXPORT_CHUNK_SIZE);
+            Iterator<Vote> iterator = votes.iterator();
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == EXPORT_CHUNK_SIZE || !iterator.hasNext()) {
+                    for (VoteDTO dto : convertToDTOs(chunk, userId)) {
+                        outputStream.write(objectMapper.writeValueAsBytes(dto));
+                        outputStream.write('\n');
+                    }
+                    outputStream.flush();
+                    chunk.clear();
+                    entityManager.clear();
+                }
+            }
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public VoteDTO getResults(Long voteId, Long userId) {
+        VoteDTO dto = loadResults(voteId);
+        if (dto == null) {
+            throw new VoteNotFoundException("Vote not found");
+        }
+        dto.setHasVoted(ballotMembershipIndex.hasVoted(voteId, userId));
+        return dto;
+    }
+
+    @Transactional(readOnly = true)
+    public VoteDTO getVoteByShareToken(String token) {
+        Long voteId = shareTokenCache.resolve(token, shareToken -> voteRepository.findByShareToken(shareToken)
+            .map(vote -> {
+                voteResultsCache.get(vote.getId(), id -> convertToDTO(vote, null));
+                return vote.getId();
+            })
+            .orElse(null));
+        VoteDTO dto = voteId != null ? loadResults(voteId) : null;
+
+        if (dto == null) {
+            throw new VoteNotFoundException("Vote not found with the provided share token");
+        }
+        if (dto.getStatus() != Vote.VoteStatus.PUBLISHED) {
+            throw new InvalidVoteOperationException("This vote is not published yet");
+        }
+        return dto;
+    }
+
+    private VoteDTO loadResults(Long voteId) {
+        return voteResultsCache.get(voteId, id -> voteRepository.findById(id)
+            .map(vote -> convertToDTO(vote, null))
+            .orElse(null));
+    }
+
+    private Ballot validateBallot(Long voteId, Long optionId, Long userId) {
+        Vote vote = loadVote(voteId);
+        requireOpen(vote);
+
+        User user = userRepository.findById(userId)
+            .orElseThrow(() -> new UnknownUserException("User not found. Please login again."));
+        if (ballotMembershipIndex.hasVoted(voteId, userId)) {
+            throw new DuplicateBallotException("You have already voted");
+        }
+        return new Ballot(vote, user, loadOption(voteId, optionId));
+    }
+
+    private Ballot validateSharedBallot(Long voteId, Long optionId, String token, Long userId) {
+        Vote vote = loadVote(voteId);
+        if (vote.getPermission() == Vote.VotePermission.LINK_ONLY && (token == null || !vote.getShareToken().equals(token))) {
+            throw new VoteAccessDeniedException("Invalid share token");
+        }
+        requireOpen(vote);
+        VoteOption option = loadOption(voteId, optionId);
+
+        User user = userId != null ? userRepository.findById(userId).orElse(null) : null;
+        if (user != null && ballotMembershipIndex.hasVoted(voteId, userId)) {
+            throw new DuplicateBallotException("You have already voted");
+        }
+        return new Ballot(vote, user, option);
+    }
+
+    private Ballot save(Ballot ballot) {
+        VoteResponse response = new VoteResponse();
+        response.setVote(ballot.vote);
+        response.setUser(ballot.user);
+        response.setSelectedOption(ballot.option);
+        voteResponseRepository.save(response);
+        ballot.responseId = response.getId();
+        return ballot;
+    }
+
+    // The ballot is committed by now: count it first, and only log what fails
+    // after that, so the client is not told to retry a ballot that is stored.
+    private VoteDTO accepted(Ballot ballot, Long userId) {
+        Long voteId = ballot.vote.getId();
+        Long voterId = ballot.user != null ? ballot.user.getId() : null;
+        try {
+            voteCounter.increment(ballot.option);
+        } catch (RuntimeException e) {
+            log.error("Could not count committed ballot {} for option {}", ballot.responseId, ballot.option.getId(), e);
+        }
+        try {
+            ballotMembershipIndex.add(voteId, voterId);
+            voteEventLog.ballotCast(ballot.responseId, voteId, ballot.option.getId(), voterId);
+        } catch (RuntimeException e) {
+            log.error("Bookkeeping failed for committed ballot {} on vote {}", ballot.responseId, voteId, e);
+        }
+        try {
+            eventPublisher.publishEvent(new BallotAcceptedEvent(voteId, ballot.option.getId()));
+        } catch (RuntimeException e) {
+            log.error("Ballot listener failed for option {}", ballot.option.getId(), e);
+        }
+        voteMetrics.accepted(false);
+        return convertToDTO(ballot.vote, userId);
+    }
+
+    private VoteDTO queue(Ballot ballot, Long userId) {
+        return queue(ballot, userId, null);
+    }
+
+    private VoteDTO queue(Ballot ballot, Long userId, Long fingerprint) {
+        CompletableFuture<Void> committed = ballotIngestionPipeline.submit(ballot.vote, ballot.user, ballot.option, fingerprint);
+        if (!ballotIngestionPipeline.isAckAfterCommit()) {
+            voteMetrics.accepted(true);
+            return null;
+        }
+
+        try {
+            committed.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof DuplicateBallotException duplicate) {
+                throw duplicate;
+            }
+            throw e;
+        }
+        voteMetrics.accepted(true);
+        return convertToDTO(ballot.vote, userId);
+    }
+
+    private Vote loadVote(Long voteId) {
+        Vote vote = voteRepository.findById(voteId)
+            .orElseThrow(() -> new VoteNotFoundException("Vote not found"));
+        // DTOs are built after the transaction for some use cases.
+        Hibernate.initialize(vote.getOptions());
+        return vote;
+    }
+
+    private Vote requireOwnVote(Long voteId, Long userId, String message) {
+        Vote vote = loadVote(voteId);
+        if (!vote.getCreator().getId().equals(userId)) {
+            throw new VoteAccessDeniedException(message);
+        }
+        return vote;
+    }
+
+    private void requireOpen(Vote vote) {
+        if (vote.getStatus() != Vote.VoteStatus.PUBLISHED) {
+            throw new BallotRejectedException(BallotRejectedException.NOT_PUBLISHED, "Vote is not published");
+        }
+        if (vote.getClosedAt() != null) {
+            throw new BallotRejectedException(BallotRejectedException.CLOSED, "Vote is closed");
+        }
+    }
+
+    private VoteOption loadOption(Long voteId, Long optionId) {
+        VoteOption option = voteOptionRepository.findById(optionId).orElse(null);
+        if (option == null || !option.getVote().getId().equals(voteId)) {
+            throw new BallotRejectedException(BallotRejectedException.INVALID_OPTION, "Invalid option");
+        }
+        return option;
+    }
+
+    private static Vote.VotePermission parsePermission(String permission) {
+        try {
+            return Vote.VotePermission.valueOf(permission.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return Vote.VotePermission.PUBLIC;
+        }
+    }
+
+    private <T> T read(TransactionCallback<T> work) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        return transactionTemplate.execute(work);
+    }
+
+    private <T> T write(TransactionCallback<T> work) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(work);
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= maxAttempts) {
+                    throw e;
+                }
+                log.debug("Optimistic lock conflict on attempt {}, retrying: {}", attempt, e.getMessage());
+                backoff(attempt, e);
+            }
+        }
+    }
+
+    private Ballot writeBallot(TransactionCallback<Ballot> work) {
+        try {
+            return write(work);
+        } catch (DataIntegrityViolationException e) {
+            // The (vote_id, user_id) constraint catches a ballot that raced
+            // past the membership index.
+            throw new DuplicateBallotException("You have already voted");
+        }
+    }
+
+    private void backoff(int attempt, RuntimeException conflict) {
+        long ceiling = retryBackoffMs << (attempt - 1);
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling / 2, ceiling + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw conflict;
+        }
+    }
+
+    private VoteDTO convertToDTO(Vote vote, Long currentUserId) {
+        if (vote == null) {
+            throw new IllegalArgumentException("Vote cannot be null");
+        }
+
+        long start = System.nanoTime();
+        boolean hasVoted = ballotMembershipIndex.hasVoted(vote.getId(), currentUserId);
+
+        List<VoteDTO.OptionDTO> options = new ArrayList<>();
+        if (vote.getOptions() != null) {
+            // Drafts take no ballots, and a new draft's options are not flushed
+            // yet. Otherwise the cached rows plus, for a sharded vote only, its
+            // shards give the same stored counts as the listing.
+            boolean draft = vote.getStatus() == Vote.VoteStatus.DRAFT;
+            Map<Long, Integer> shardCounts = draft ? Map.of() : voteCountSharding.shardCounts(vote.getId());
+            for (VoteOption option : vote.getOptions()) {
+                int stored = (option.getVoteCount() != null ? option.getVoteCount() : 0)
+                    + shardCounts.getOrDefault(option.getId(), 0);
+                options.add(toOptionDTO(option.getId(), option.getText(), draft ? 0 : voteCounter.count(option.getId(), stored)));
+            }
+        }
+
+        VoteDTO dto = buildDTO(vote, options, hasVoted);
+        voteMetrics.dtoBuilt(start);
+        return dto;
+    }
+
+    private List<VoteDTO> convertToDTOs(List<Vote> votes, Long currentUserId) {
+        if (votes.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        long start = System.nanoTime();
+        List<Long> voteIds = votes.stream().map(Vote::getId).collect(Collectors.toList());
+
+        Map<Long, List<VoteDTO.OptionDTO>> optionsByVote = new HashMap<>();
+        for (int from = 0; from < voteIds.size(); from += OPTION_QUERY_CHUNK_SIZE) {
+            List<Long> chunk = voteIds.subList(from, Math.min(from + OPTION_QUERY_CHUNK_SIZE, voteIds.size()));
+            for (VoteOptionRepository.OptionSummary option : voteOptionRepository.findSummariesByVoteIds(chunk)) {
+                optionsByVote.computeIfAbsent(option.getVoteId(), id -> new ArrayList<>())
+                    .add(toOptionDTO(option.getId(), option.getText(), voteCounter.count(option.getId(), option.getVoteCount())));
+            }
+        }
+
+        Set<Long> votedIds = ballotMembershipIndex.votedIn(voteIds, currentUserId);
+
+        List<VoteDTO> dtos = votes.stream()
+            .map(vote -> buildDTO(vote, optionsByVote.getOrDefault(vote.getId(), new ArrayList<>()), votedIds.contains(vote.getId())))
+            .collect(Collectors.toList());
+        voteMetrics.dtosBuilt(start);
+        return dtos;
+    }
+
+    private VoteDTO.OptionDTO toOptionDTO(Long id, String text, int voteCount) {
+        VoteDTO.OptionDTO optionDTO = new VoteDTO.OptionDTO();
+        optionDTO.setId(id);
+        optionDTO.setText(text != null ? text : "");
+        optionDTO.setVoteCount(voteCount);
+        return optionDTO;
+    }
+
+    private VoteDTO buildDTO(Vote vote, List<VoteDTO.OptionDTO> options, boolean hasVoted) {
+        VoteDTO dto = new VoteDTO();
+        dto.setId(vote.getId());
+        dto.setTitle(vote.getTitle());
+        dto.setDescription(vote.getDescription());
+
+        if (vote.getCreator() != null) {
+            dto.setCreatorId(vote.getCreator().getId());
+            dto.setCreatorUsername(vote.getCreator().getUsername() != null ? vote.getCreator().getUsername() : "Unknown");
+        } else {
+            dto.setCreatorId(null);
+            dto.setCreatorUsername("Unknown");
+        }
+
+        dto.setStatus(vote.getStatus());
+        dto.setPermission(vote.getPermission());
+        dto.setShareToken(vote.getShareToken());
+        dto.setCreatedAt(vote.getCreatedAt());
+        dto.setPublishedAt(vote.getPublishedAt());
+        dto.setClosedAt(vote.getClosedAt());
+        dto.setHasVoted(hasVoted);
+        dto.setOptions(options);
+        dto.recalculateTotals();
+
+        return dto;
+    }
+
+    private static final class Ballot {
+        private final Vote vote;
+        private final User user;
+        private final VoteOption option;
+        private Long responseId;
+
+        private Ballot(Vote vote, User user, VoteOption option) {
+            this.vote = vote;
+            this.user = user;
+            this.option = option;
+        }
+    }
+}
@@ -0,0 +1,342 @@
+package com.votingsystem.service;
+
+import com.votingsystem.dto.TallyDriftDTO;
+import com.votingsystem.event.VoteLogRecord;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Event-sourced view of the vote tallies. The vote event log is the
+ * sequence of immutable ballot events; {@code vote_tally_snapshots} holds,
+ * per option, the count as of some log sequence number. A tally is the
+ * latest snapshot plus the ballots logged after it, so a rebuild only has to
+ * read the log tail.
+ *
+ * <p>A periodic pass folds the tail into new snapshots for every vote that
+ * received ballots since the previous pass. Every vote therefore has no
+ * ballots between its own snapshot and the last pass, and rebuilds only
+ * need the log after the last pass. The first start after the log is
+ * enabled seeds the snapshots from {@code vote_responses}.
+ *
+ * <p>The consistency check rebuilds every tally, reading the tail segments
+ * in parallel, and compares the result with the stored counts. A mismatch
+ * is only reported once it shows up in two consecutive checks, because
+ * ballots in flight make a single comparison racy.
+ *
+ * <p>Both passes are scheduled and reachable from the actuator, so they can
+ * run on virtual threads. They serialise on {@link ReentrantLock}s rather
+ * than monitors, which would pin the carrier for the JDBC and log I/O.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+public class VoteTallyProjection {
+
+    private static final Logger log = LoggerFactory.getLogger(VoteTallyProjection.class);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private VoteEventLog voteEventLog;
+
+    @Autowired
+    private VoteCounter voteCounter;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${voting.snapshots.rebuild-threads:0}")
+    private int rebuildThreads;
+
+    private final ReentrantLock snapshotLock = new ReentrantLock();
+    private final ReentrantLock checkLock = new ReentrantLock();
+
+    private volatile long lastPass;
+    private volatile List<TallyDriftDTO> drift = List.of();
+    private Set<Long> suspects = Set.of();
+    private Timer rebuildTimer;
+    private ExecutorService rebuildExecutor;
+
+    @PostConstruct
+    public void seed() {
+        rebuildTimer = Timer.builder("vote.tally.rebuild").register(meterRegistry);
+        Gauge.builder("vote.tally.drift", this, projection -> projection.drift.size()).register(meterRegistry);
+        AtomicInteger next = new AtomicInteger();
+        rebuildExecutor = Executors.newFixedThreadPool(rebuildThreads > 0 ? rebuildThreads : Runtime.getRuntime().availableProcessors(),
+            task -> {
+                Thread thread = new Thread(task, "tally-rebuild-" + next.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        if (!voteEventLog.isEnabled()) {
+            return;
+        }
+
+        long durable = voteEventLog.getDurableSequence();
+        Long newest = jdbcTemplate.queryForObject("select max(log_sequence) from vote_tally_snapshots", Long.class);
+        if (newest != null && newest <= durable) {
+            lastPass = newest;
+            return;
+        }
+        if (newest != null) {
+            log.warn("Vote tally snapshots are ahead of the event log ({} > {}), reseeding", newest, durable);
+        }
+
+        // Everything already in vote_responses was logged at or before the
+        // durable sequence, or predates the log altogether.
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            jdbcTemplate.update("delete from vote_tally_snapshots");
+            jdbcTemplate.update("insert into vote_tally_snapshots (vote_id, option_id, log_sequence, vote_count, taken_at) "
+                    + "select o.vote_id, o.id, ?, (select count(*) from vote_responses r where r.option_id = o.id), ? "
+                    + "from vote_options o",
+                durable, Timestamp.valueOf(LocalDateTime.now()));
+        });
+        lastPass = durable;
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (rebuildExecutor != null) {
+            rebuildExecutor.shutdownNow();
+        }
+    }
+
+    /** Folds the log tail into new snapshots for every vote that changed. */
+    @Scheduled(fixedDelayString = "${voting.snapshots.interval-ms:60000}")
+    public void snapshot() {
+        if (!voteEventLog.isEnabled()) {
+            return;
+        }
+        // Two passes over the same tail would fold its ballots twice.
+        snapshotLock.lock();
+        try {
+            fold();
+        } finally {
+            snapshotLock.unlock();
+        }
+    }
+
+    private void fold() {
+        long from = lastPass;
+        long upTo = voteEventLog.getDurableSequence();
+        if (upTo <= from) {
+            return;
+        }
+
+        Map<Long, Long> voteOfOption = new HashMap<>();
+        Map<Long, Long> counts = new HashMap<>();
+        Set<Long> changedVotes = new HashSet<>();
+        readTail(from, upTo, record -> {
+            changedVotes.add(record.getVoteId());
+            voteOfOption.put(record.getOptionId(), record.getVoteId());
+            counts.merge(record.getOptionId(), 1L, Long::sum);
+        });
+
+        if (!changedVotes.isEmpty()) {
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                List<Object[]> updates = new ArrayList<>();
+                List<Object[]> inserts = new ArrayList<>();
+                Set<Long> snapshotted = new HashSet<>();
+                for (Long voteId : changedVotes) {
+                    jdbcTemplate.query("select option_id from vote_tally_snapshots where vote_id = ?",
+                        rs -> {
+                            snapshotted.add(rs.getLong(1));
+                        }, voteId);
+                }
+                counts.forEach((optionId, delta) -> {
+                    if (snapshotted.contains(optionId)) {
+                        updates.add(new Object[] { delta, optionId });
+                    } else {
+                        inserts.add(new Object[] { voteOfOption.get(optionId), optionId, upTo, delta, now });
+                    }
+                });
+                if (!updates.isEmpty()) {
+                    jdbcTemplate.batchUpdate("update vote_tally_snapshots set vote_count = vote_count + ? where option_id = ?", updates);
+                }
+                if (!inserts.isEmpty()) {
+                    jdbcTemplate.batchUpdate("insert into vote_tally_snapshots (vote_id, option_id, log_sequence, vote_count, taken_at) "
+                        + "values (?, ?, ?, ?, ?)", inserts);
+                }
+                List<Object[]> moved = new ArrayList<>();
+                changedVotes.forEach(voteId -> moved.add(new Object[] { upTo, now, voteId }));
+                jdbcTemplate.batchUpdate("update vote_tally_snapshots set log_sequence = ?, taken_at = ? where vote_id = ?", moved);
+            });
+        }
+        lastPass = upTo;
+    }
+
+    /** Latest snapshot plus log tail for one vote, by option id. */
+    public Map<Long, Long> rebuild(Long voteId) {
+        long from = lastPass;
+        long upTo = voteEventLog.getDurableSequence();
+        Map<Long, Long> tally = new HashMap<>();
+        long[] snapshotSequence = { from };
+        jdbcTemplate.query("select option_id, vote_count, log_sequence from vote_tally_snapshots where vote_id = ?",
+            rs -> {
+                tally.put(rs.getLong(1), rs.getLong(2));
+                snapshotSequence[0] = Math.max(snapshotSequence[0], rs.getLong(3));
+            }, voteId);
+        readTail(snapshotSequence[0], upTo, record -> {
+            if (voteId.equals(record.getVoteId())) {
+                tally.merge(record.getOptionId(), 1L, Long::sum);
+            }
+        });
+        return tally;
+    }
+
+    /**
+     * Recomputes every option's tally from the snapshots and the log tail,
+     * scanning tail segments on {@code voting.snapshots.rebuild-threads}
+     * threads (one per core by default).
+     */
+    public Map<Long, Long> rebuildAll() {
+        return rebuildTimer.record(() -> {
+            long from = lastPass;
+            long upTo = voteEventLog.getDurableSequence();
+            Map<Long, Long> tally = new HashMap<>();
+            Map<Long, Long> snapshotSequences = new HashMap<>();
+            jdbcTemplate.query("select option_id, vote_count, log_sequence, vote_id from vote_tally_snapshots",
+                rs -> {
+                    tally.put(rs.getLong(1), rs.getLong(2));
+                    snapshotSequences.merge(rs.getLong(4), rs.getLong(3), Math::max);
+                });
+
+            List<Path> segments;
+            try {
+                segments = VoteEventLog.segmentsAfter(voteEventLog.getDir(), from);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            if (segments.isEmpty()) {
+                return tally;
+            }
+
+            try {
+                List<Future<Map<Long, Long>>> partials = new ArrayList<>();
+                for (Path segment : segments) {
+                    partials.add(rebuildExecutor.submit(() -> {
+                        Map<Long, Long> partial = new HashMap<>();
+                        VoteEventLog.readSegment(segment, record -> {
+                            long after = Math.max(from, snapshotSequences.getOrDefault(record.getVoteId(), from));
+                            if (isBallot(record) && record.getSequence() > after && record.getSequence() <= upTo) {
+                                partial.merge(record.getOptionId(), 1L, Long::sum);
+                            }
+                        });
+                        return partial;
+                    }));
+                }
+                for (Future<Map<Long, Long>> partial : partials) {
+                    partial.get().forEach((optionId, count) -> tally.merge(optionId, count, Long::sum));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Tally rebuild interrupted", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Tally rebuild failed", e.getCause());
+            }
+            return tally;
+        });
+    }
+
+    /** Compares rebuilt tallies with the stored counts and records any drift. */
+    @Scheduled(fixedDelayString = "${voting.snapshots.check-interval-ms:300000}")
+    public List<TallyDriftDTO> check() {
+        if (!voteEventLog.isEnabled()) {
+            return drift;
+        }
+        voteCounter.flush();
+        voteEventLog.sync().join();
+
+        Map<Long, Long> rebuilt = rebuildAll();
+        List<TallyDriftDTO> mismatches = new ArrayList<>();
+        jdbcTemplate.query("select o.id, o.vote_id, o.vote_count + coalesce((select sum(s.vote_count) "
+                + "from vote_option_shards s where s.option_id = o.id), 0) from vote_options o",
+            rs -> {
+                long stored = rs.getLong(3);
+                long expected = rebuilt.getOrDefault(rs.getLong(1), 0L);
+                if (stored != expected) {
+                    mismatches.add(new TallyDriftDTO(rs.getLong(2), rs.getLong(1), stored, expected));
+                }
+            });
+
+        Set<Long> current = new HashSet<>();
+        for (TallyDriftDTO mismatch : mismatches) {
+            current.add(mismatch.getOptionId());
+        }
+
+        List<TallyDriftDTO> confirmed = new ArrayList<>();
+        checkLock.lock();
+        try {
+            for (TallyDriftDTO mismatch : mismatches) {
+                if (suspects.contains(mismatch.getOptionId())) {
+                    confirmed.add(mismatch);
+                }
+            }
+            suspects = current;
+            drift = confirmed;
+        } finally {
+            checkLock.unlock();
+        }
+        for (TallyDriftDTO mismatch : confirmed) {
+            log.warn("Tally drift on vote {} option {}: stored {}, rebuilt from events {}",
+                mismatch.getVoteId(), mismatch.getOptionId(), mismatch.getStoredCount(), mismatch.getRebuiltCount());
+        }
+        return confirmed;
+    }
+
+    public List<TallyDriftDTO> getDrift() {
+        return drift;
+    }
+
+    private void readTail(long from, long upTo, Consumer<VoteLogRecord> ballots) {
+        try {
+            VoteEventLog.read(voteEventLog.getDir(), from, record -> {
+                if (isBallot(record) && record.getSequence() <= upTo) {
+                    ballots.accept(record);
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static boolean isBallot(VoteLogRecord record) {
+        return record.getType() == VoteLogRecord.Type.BALLOT_CAST && record.getOptionId() != null;
+    }
+}
@@ -0,0 +1,143 @@
+package com.votingsystem.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.votingsystem.dto.VoteDTO;
+import com.votingsystem.event.BallotAcceptedEvent;
+import com.votingsystem.event.VoteChangedEvent;
+import com.votingsystem.model.Vote;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.ZoneId;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory versions of votes, for conditional GETs. A vote's version is
+ * bumped by every accepted ballot and replaced by a higher one on every
+ * edit, publish, permission change, close or delete, so a request carrying
+ * the current ETag can be answered with 304 without touching the database.
+ *
+ * <p>Versions come from one sequence shared by all votes and are never
+ * reused, and ETags carry a random per-process epoch, so an entry evicted
+ * from the {@code voting.vote-versions.max-size} cache or lost in a restart
+ * can never match an old ETag. What a 304 may be sent to is only known once
+ * the vote has been loaded at the current version; until then every
+ * request takes the full path.
+ *
+ * <p>Only this node's ballots and changes bump a version. On a multi-node
+ * deployment, stamps of votes that are not closed therefore expire
+ * {@code voting.vote-versions.open-ttl} after they were issued, which bounds
+ * how long a ballot cast on another node can go unnoticed. A closed vote
+ * takes no more ballots, so its stamp is kept until evicted.
+ */
+@Component
+public class VoteVersions {
+
+    @Autowired
+    private BallotMembershipIndex ballotMembershipIndex;
+
+    @Value("${voting.vote-versions.max-size:100000}")
+    private long maxSize;
+
+    @Value("${voting.vote-versions.open-ttl:5s}")
+    private Duration openTtl;
+
+    private final String epoch = Long.toHexString(ThreadLocalRandom.current().nextLong());
+    private final AtomicLong sequence = new AtomicLong();
+    private Cache<Long, Stamp> stamps;
+
+    @PostConstruct
+    public void init() {
+        stamps = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfter(new Expiry<Long, Stamp>() {
+                @Override
+                public long expireAfterCreate(Long voteId, Stamp stamp, long currentTime) {
+                    return stamp.isClosed() ? Long.MAX_VALUE : openTtl.toNanos();
+                }
+
+                // Local bumps keep the original deadline, so a busy vote is
+                // still re-read on schedule.
+                @Override
+                public long expireAfterUpdate(Long voteId, Stamp stamp, long currentTime, long currentDuration) {
+                    return stamp.isClosed() ? Long.MAX_VALUE : currentDuration;
+                }
+
+                @Override
+                public long expireAfterRead(Long voteId, Stamp stamp, long currentTime, long currentDuration) {
+                    return currentDuration;
+                }
+            })
+            .build();
+    }
+
+    /** The vote's current version, to be read before the vote is loaded. */
+    public Stamp current(Long voteId) {
+        return stamps.get(voteId, id -> new Stamp(sequence.incrementAndGet(), null, false, null));
+    }
+
+    /**
+     * Records who may see the vote at {@code stamp}'s version, unless the
+     * version moved on while it was loaded.
+     *
+     * @return {@code stamp} with what the loaded vote says about it
+     */
+    public Stamp loaded(Long voteId, Stamp stamp, VoteDTO dto) {
+        boolean restricted = dto.getStatus() != Vote.VoteStatus.PUBLISHED || dto.getPermission() == Vote.VotePermission.PRIVATE;
+        Long closedAt = dto.getClosedAt() != null
+            ? dto.getClosedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+            : null;
+        Stamp loaded = new Stamp(stamp.version, dto.getCreatorId(), restricted, closedAt);
+        stamps.asMap().replace(voteId, stamp, loaded);
+        return loaded;
+    }
+
+    /** A strong ETag for the vote at {@code stamp}'s version as seen by the user. */
+    public String etag(Long voteId, Stamp stamp, Long userId) {
+        return "\"" + epoch + "-" + stamp.version + (ballotMembershipIndex.hasVoted(voteId, userId) ? "-v\"" : "\"");
+    }
+
+    // Runs after VoteResultsCache has refreshed its snapshot, so a new
+    // version is never handed out alongside the old counts.
+    @EventListener
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void onBallotAccepted(BallotAcceptedEvent event) {
+        stamps.asMap().computeIfPresent(event.getVoteId(),
+            (voteId, stamp) -> new Stamp(sequence.incrementAndGet(), stamp.creatorId, stamp.restricted, stamp.closedAt));
+    }
+
+    @EventListener
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void onVoteChanged(VoteChangedEvent event) {
+        stamps.invalidate(event.getVoteId());
+    }
+
+    /**
+     * A version of a vote, with what is known about the vote at that
+     * version: {@code creatorId} is {@code null} until it has been loaded.
+     */
+    public record Stamp(long version, Long creatorId, boolean restricted, Long closedAt) {
+
+        public boolean isLoaded() {
+            return creatorId != null;
+        }
+
+        /** Whether a user may be told the vote has not changed. */
+        public boolean isVisibleTo(Long userId) {
+            return isLoaded() && (!restricted || creatorId.equals(userId));
+        }
+
+        public boolean isClosed() {
+            return closedAt != null;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.votingsystem.util;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Token bucket per key. Each bucket is a single {@link AtomicLong} holding the
+ * time at which it will be full again (the generic cell rate algorithm, which
+ * is a token bucket stored as a timestamp), so refill is implied by the clock
+ * and a request costs one compare-and-set with no lock and no refill task.
+ *
+ * <p>A full bucket behaves exactly like a missing one, so {@link #evictIdle()}
+ * can drop every bucket that has refilled without changing any decision. The
+ * buckets are also held in a size-capped Caffeine cache, which keeps memory
+ * bounded when keys churn faster than the sweep runs; its frequency-based
+ * admission keeps the buckets of active callers over one-off keys. A bucket
+ * evicted while still draining only forgets what its caller had used.
+ */
+public final class RateLimiter {
+    private static final Function<Object, AtomicLong> NEW_BUCKET = key -> new AtomicLong(Long.MIN_VALUE);
+    
+    private final long intervalNanos;
+    private final long toleranceNanos;
+    private final Cache<Object, AtomicLong> buckets;
+    
+    public RateLimiter(int permits, Duration period, int burst, long maxBuckets) {
+        if (permits <= 0 || burst <= 0 || period.isNegative() || period.isZero()) {
+            throw new IllegalArgumentException("Invalid rate limit " + permits + "/" + period + " burst " + burst);
+        }
+        this.intervalNanos = Math.max(1, period.toNanos() / permits);
+        this.toleranceNanos = intervalNanos * (burst - 1);
+        // No expireAfterAccess: it costs more per read than the rest of acquire().
+        this.buckets = Caffeine.newBuilder()
+            .maximumSize(maxBuckets)
+            .build();
+    }
+    
+    /**
+     * Takes a token from {@code key}'s bucket.
+     *
+     * @return {@code 0} if the request is allowed, otherwise the nanoseconds
+     *         until the bucket has a token again
+     */
+    public long acquire(Object key) {
+        AtomicLong fullAt = buckets.get(key, NEW_BUCKET);
+        long now = System.nanoTime();
+        while (true) {
+            long current = fullAt.get();
+            long start = Math.max(current, now);
+            long wait = start - now - toleranceNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (fullAt.compareAndSet(current, start + intervalNanos)) {
+                return 0;
+            }
+        }
+    }
+    
+    /** Drops buckets that have refilled; a request racing the sweep may go uncounted. */
+    public void evictIdle() {
+        long now = System.nanoTime();
+        buckets.asMap().values().removeIf(fullAt -> fullAt.get() <= now);
+    }
+    
+    public long estimatedSize() {
+        return buckets.estimatedSize();
+    }
+}
@@ -0,0 +1,92 @@
+package com.votingsystem.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * Signed, server-issued voter id for anonymous share-link ballots. The cookie
+ * value is {@code <random id>.<hmac>}; only values carrying a valid signature
+ * are trusted, and the fingerprint used for ballot dedup is taken from the
+ * random id, so clients cannot pick or forge fingerprints.
+ *
+ * <p>The signing secret comes from {@code VOTING_COOKIE_SECRET}. Without it a
+ * random secret is generated at startup, so cookies stop validating after a
+ * restart and are not shared between nodes.
+ */
+@Component
+public class VoterCookie {
+    public static final String NAME = "voter_id";
+    
+    private static final Logger log = LoggerFactory.getLogger(VoterCookie.class);
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int ID_BYTES = 16;
+    private static final int SIGNATURE_BYTES = 16;
+    
+    private final SecureRandom random = new SecureRandom();
+    private final SecretKeySpec key;
+    
+    public VoterCookie(@Value("${voting.anonymous-dedup.cookie-secret:}") String secret) {
+        byte[] keyBytes;
+        if (secret == null || secret.isBlank()) {
+            log.warn("No voter cookie secret configured; using a random one, so voter cookies will not survive a restart");
+            keyBytes = new byte[32];
+            random.nextBytes(keyBytes);
+        } else {
+            keyBytes = secret.getBytes(StandardCharsets.UTF_8);
+        }
+        this.key = new SecretKeySpec(keyBytes, ALGORITHM);
+    }
+    
+    public String issue() {
+        byte[] id = new byte[ID_BYTES];
+        random.nextBytes(id);
+        String encodedId = Base64.getUrlEncoder().withoutPadding().encodeToString(id);
+        return encodedId + "." + Base64.getUrlEncoder().withoutPadding().encodeToString(sign(encodedId));
+    }
+    
+    public boolean isValid(String value) {
+        if (value == null) {
+            return false;
+        }
+        int separator = value.indexOf('.');
+        if (separator <= 0) {
+            return false;
+        }
+        try {
+            byte[] signature = Base64.getUrlDecoder().decode(value.substring(separator + 1));
+            return MessageDigest.isEqual(signature, sign(value.substring(0, separator)));
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+    
+    /** 64-bit fingerprint of a cookie that passed {@link #isValid(String)}. */
+    public long fingerprint(String value) {
+        byte[] id = Base64.getUrlDecoder().decode(value.substring(0, value.indexOf('.')));
+        return ByteBuffer.wrap(id).getLong();
+    }
+    
+    private byte[] sign(String encodedId) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            byte[] full = mac.doFinal(encodedId.getBytes(StandardCharsets.UTF_8));
+            byte[] truncated = new byte[SIGNATURE_BYTES];
+            System.arraycopy(full, 0, truncated, 0, SIGNATURE_BYTES);
+            return truncated;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot sign voter cookie", e);
+        }
+    }
+}
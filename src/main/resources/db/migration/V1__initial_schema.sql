@@ -0,0 +1,95 @@
+-- Schema for the postgres profile. Entity ids come from pooled sequences
+-- (increment 50, matching allocationSize) so Hibernate can batch inserts.
+
+create sequence users_seq start with 1 increment by 50;
+create sequence votes_seq start with 1 increment by 50;
+create sequence vote_options_seq start with 1 increment by 50;
+create sequence vote_option_shards_seq start with 1 increment by 50;
+create sequence vote_responses_seq start with 1 increment by 50;
+
+create table users (
+    id bigint not null,
+    username varchar(255) not null,
+    email varchar(255) not null,
+    password varchar(255) not null,
+    created_at timestamp(6),
+    constraint pk_users primary key (id),
+    constraint uk_users_username unique (username)
+);
+
+create table votes (
+    id bigint not null,
+    title varchar(255) not null,
+    description varchar(255),
+    creator_id bigint not null,
+    status varchar(255) check (status in ('DRAFT', 'PUBLISHED', 'CLOSED', 'DELETED')),
+    permission varchar(255) check (permission in ('PUBLIC', 'PRIVATE', 'LINK_ONLY')),
+    share_token varchar(255),
+    created_at timestamp(6),
+    published_at timestamp(6),
+    closed_at timestamp(6),
+    constraint pk_votes primary key (id),
+    constraint uk_votes_share_token unique (share_token),
+    constraint fk_votes_creator foreign key (creator_id) references users (id)
+);
+
+create index idx_votes_status_permission_created on votes (status, permission, created_at);
+create index idx_votes_creator on votes (creator_id);
+
+create table vote_options (
+    id bigint not null,
+    text varchar(255) not null,
+    vote_id bigint not null,
+    vote_count integer,
+    constraint pk_vote_options primary key (id),
+    constraint fk_vote_options_vote foreign key (vote_id) references votes (id)
+);
+
+create index idx_vote_options_vote on vote_options (vote_id);
+
+create table vote_option_shards (
+    id bigint not null,
+    option_id bigint not null,
+    shard integer not null,
+    vote_count integer not null,
+    constraint pk_vote_option_shards primary key (id),
+    constraint uk_vote_option_shards_option_shard unique (option_id, shard),
+    constraint fk_vote_option_shards_option foreign key (option_id) references vote_options (id)
+);
+
+-- The (vote_id, user_id) unique constraint doubles as the has-voted index.
+create table vote_responses (
+    id bigint not null,
+    vote_id bigint not null,
+    user_id bigint,
+    option_id bigint not null,
+    constraint pk_vote_responses primary key (id),
+    constraint uk_vote_responses_vote_user unique (vote_id, user_id),
+    constraint fk_vote_responses_vote foreign key (vote_id) references votes (id),
+    constraint fk_vote_responses_user foreign key (user_id) references users (id),
+    constraint fk_vote_responses_option foreign key (option_id) references vote_options (id)
+);
+
+create index idx_vote_responses_option on vote_responses (option_id);
+
+create table ballot_fingerprints (
+    id bigint generated by default as identity,
+    vote_id bigint not null,
+    fingerprint bigint not null,
+    constraint pk_ballot_fingerprints primary key (id),
+    constraint uk_ballot_fingerprints_vote_fingerprint unique (vote_id, fingerprint),
+    constraint fk_ballot_fingerprints_vote foreign key (vote_id) references votes (id)
+);
+
+create table vote_tally_snapshots (
+    id bigint generated by default as identity,
+    vote_id bigint not null,
+    option_id bigint not null,
+    log_sequence bigint not null,
+    vote_count bigint not null,
+    taken_at timestamp(6) not null,
+    constraint pk_vote_tally_snapshots primary key (id),
+    constraint uk_vote_tally_snapshots_option unique (option_id),
+    constraint fk_vote_tally_snapshots_vote foreign key (vote_id) references votes (id),
+    constraint fk_vote_tally_snapshots_option foreign key (option_id) references vote_options (id)
+);
@@ -0,0 +1,4 @@
+-- Version columns for optimistic locking on votes and their options.
+
+alter table votes add column version bigint default 0 not null;
+alter table vote_options add column version bigint default 0 not null;
@@ -0,0 +1,3 @@
+-- Registration is a single insert, so the unique constraints catch duplicates.
+
+alter table users add constraint uk_users_email unique (email);
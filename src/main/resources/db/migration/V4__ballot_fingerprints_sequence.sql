@@ -0,0 +1,5 @@
+-- Anonymous ballot fingerprints are inserted next to their ballot, in the
+-- same batches, so their ids come from a pooled sequence like the ballots'.
+
+create sequence ballot_fingerprints_seq start with 1 increment by 50;
+alter table ballot_fingerprints alter column id drop identity;
@@ -375,7 +375,7 @@ function displayVoteDetail(vote) {
                 <div class="flex flex-wrap gap-4 text-sm text-gray-500">
                     <span>Created by: ${vote.creatorUsername}</span>
                     <span>Status: ${vote.status}</span>
-                    <span>Total votes: ${vote.totalVotes || 0}</span>
+                    <span>Total votes: <span id="vote-total-count">${vote.totalVotes || 0}</span></span>
                 </div>
             </div>
             
@@ -388,11 +388,11 @@ function displayVoteDetail(vote) {
                         ${showResults ? `
                             <div class="mt-3">
                                 <div class="w-full bg-gray-200 rounded-full h-6 mb-2 relative overflow-hidden">
-                                    <div class="bg-gradient-to-r from-blue-500 to-purple-600 h-6 rounded-full flex items-center justify-center text-white text-xs font-medium transition-all" style="width: ${option.percentage || 0}%">
+                                    <div class="bg-gradient-to-r from-blue-500 to-purple-600 h-6 rounded-full flex items-center justify-center text-white text-xs font-medium transition-all" data-option-bar="${option.id}" style="width: ${option.percentage || 0}%">
                                         ${option.percentage && option.percentage > 5 ? option.percentage.toFixed(1) + '%' : ''}
                                     </div>
                                 </div>
-                                <div class="text-sm text-gray-600">${option.voteCount || 0} votes ${option.percentage ? '(' + option.percentage.toFixed(1) + '%)' : ''}</div>
+                                <div class="text-sm text-gray-600" data-option-count="${option.id}">${option.voteCount || 0} votes ${option.percentage ? '(' + option.percentage.toFixed(1) + '%)' : ''}</div>
                             </div>
                         ` : ''}
                     </div>
@@ -437,12 +437,105 @@ function displayVoteDetail(vote) {
             submitVote(voteId);
         };
     }
+    
+    if (showResults) {
+        watchResults(vote.id);
+    } else {
+        stopWatchingResults();
+    }
 }
 
 function closeVoteDetailModal() {
     const modal = document.getElementById('vote-detail-modal');
     modal.classList.add('hidden');
     modal.classList.remove('flex');
+    stopWatchingResults();
+}
+
+let resultsStreamController = null;
+
+async function watchResults(voteId) {
+    stopWatchingResults();
+    const controller = new AbortController();
+    resultsStreamController = controller;
+    
+    try {
+        const response = await fetch(`${API_BASE_URL}/votes/${voteId}/results/stream`, {
+            headers: {
+                'Authorization': `Bearer ${authToken}`,
+                'Accept': 'text/event-stream'
+            },
+            signal: controller.signal
+        });
+        
+        if (!response.ok || !response.body) {
+            return;
+        }
+        
+        const reader = response.body.getReader();
+        const decoder = new TextDecoder();
+        let buffer = '';
+        
+        while (true) {
+            const { value, done } = await reader.read();
+            if (done) {
+                break;
+            }
+            buffer += decoder.decode(value, { stream: true });
+            
+            let boundary;
+            while ((boundary = buffer.indexOf('\n\n')) >= 0) {
+                handleResultsEvent(buffer.slice(0, boundary));
+                buffer = buffer.slice(boundary + 2);
+            }
+        }
+    } catch (error) {
+        if (error.name !== 'AbortError') {
+            console.error('Results stream error:', error);
+        }
+    }
+}
+
+function stopWatchingResults() {
+    if (resultsStreamController) {
+        resultsStreamController.abort();
+        resultsStreamController = null;
+    }
+}
+
+function handleResultsEvent(rawEvent) {
+    let name = 'message';
+    let data = '';
+    rawEvent.split('\n').forEach(line => {
+        if (line.startsWith('event:')) {
+            name = line.slice(6).trim();
+        } else if (line.startsWith('data:')) {
+            data += line.slice(5);
+        }
+    });
+    
+    if (name !== 'results' || !data) {
+        return;
+    }
+    
+    const results = JSON.parse(data);
+    const total = document.getElementById('vote-total-count');
+    if (total) {
+        total.textContent = results.totalVotes || 0;
+    }
+    
+    results.options.forEach(option => {
+        const percentage = option.percentage || 0;
+        const bar = document.querySelector(`[data-option-bar="${option.id}"]`);
+        if (bar) {
+            bar.style.width = `${percentage}%`;
+            bar.textContent = percentage > 5 ? percentage.toFixed(1) + '%' : '';
+        }
+        const count = document.querySelector(`[data-option-count="${option.id}"]`);
+        if (count) {
+            count.textContent = `${option.voteCount || 0} votes ${percentage ? '(' + percentage.toFixed(1) + '%)' : ''}`;
+        }
+    });
 }
 
 let selectedOptionId = null;
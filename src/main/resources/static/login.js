@@ -22,6 +22,34 @@ function setupEventListeners() {
     document.getElementById('login-form-element').addEventListener('submit', handleLogin);
     
     document.getElementById('register-form-element').addEventListener('submit', handleRegister);
+    
+    document.getElementById('register-username').addEventListener('input', checkUsernameAvailability);
+}
+
+let usernameCheckTimer;
+
+function checkUsernameAvailability(e) {
+    const username = e.target.value.trim();
+    const hint = document.getElementById('register-username-hint');
+    clearTimeout(usernameCheckTimer);
+    hint.textContent = '';
+    if (username.length < 3 || username.length > 20) {
+        return;
+    }
+    
+    usernameCheckTimer = setTimeout(async () => {
+        try {
+            const response = await fetch(`${API_BASE_URL}/auth/available?username=${encodeURIComponent(username)}`);
+            if (!response.ok || document.getElementById('register-username').value.trim() !== username) {
+                return;
+            }
+            const data = await response.json();
+            hint.textContent = data.available ? 'Username is available' : 'Username already exists';
+            hint.className = `mt-1 text-xs ${data.available ? 'text-green-600' : 'text-red-600'}`;
+        } catch (error) {
+            hint.textContent = '';
+        }
+    }, 250);
 }
 
 async function handleLogin(e) {
@@ -0,0 +1,43 @@
+package com.votingsystem;
+
+import com.votingsystem.model.User;
+import com.votingsystem.model.Vote;
+import com.votingsystem.model.VoteOption;
+import com.votingsystem.util.JwtUtil;
+
+/**
+ * Entity builders shared by the tests. Nothing is persisted here: callers
+ * save what they build, alone or in bulk with {@code saveAll}.
+ */
+public final class TestFixtures {
+
+    private TestFixtures() {
+    }
+
+    public static User newUser(String name) {
+        User user = new User();
+        user.setUsername(name);
+        user.setEmail(name + "@example.com");
+        user.setPassword("hashedPassword");
+        return user;
+    }
+
+    /** A published vote with two options, saved along with the vote. */
+    public static Vote newVote(User creator, String title) {
+        Vote vote = new Vote();
+        vote.setTitle(title);
+        vote.setCreator(creator);
+        vote.setStatus(Vote.VoteStatus.PUBLISHED);
+        for (int i = 0; i < 2; i++) {
+            VoteOption option = new VoteOption();
+            option.setText("Option " + i);
+            option.setVote(vote);
+            vote.getOptions().add(option);
+        }
+        return vote;
+    }
+
+    public static String bearer(JwtUtil jwtUtil, User user) {
+        return "Bearer " + jwtUtil.generateToken(user.getId(), user.getUsername());
+    }
+}
@@ -0,0 +1,27 @@
+package com.votingsystem.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Starts the context in replay mode: the replay runs during startup and the
+ * context comes up normally, leaving the exit to main.
+ */
+@SpringBootTest(properties = "voting.event-log.replay=true")
+@ActiveProfiles("test")
+public class EventLogReplayRunnerTest {
+
+    @Autowired
+    private EventLogReplayRunner eventLogReplayRunner;
+
+    @Test
+    public void testRun_ReplaysAndReportsSuccess() {
+        // Assert
+        assertEquals(0, eventLogReplayRunner.getRestored());
+        assertEquals(0, eventLogReplayRunner.getExitCode());
+    }
+}
@@ -0,0 +1,99 @@
+package com.votingsystem.config;
+
+import com.votingsystem.model.User;
+import com.votingsystem.model.Vote;
+import com.votingsystem.model.VoteOption;
+import com.votingsystem.repository.UserRepository;
+import com.votingsystem.repository.VoteRepository;
+import com.votingsystem.repository.VoteResponseRepository;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static com.votingsystem.TestFixtures.newUser;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Boots the postgres profile against H2 in PostgreSQL mode: Flyway builds
+ * the schema from the migrations and Hibernate validates the entities
+ * against it.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:voting-pg-${random.uuid};MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1",
+    "spring.datasource.driverClassName=org.h2.Driver",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "spring.datasource.hikari.data-source-properties.reWriteBatchedInserts=",
+    "spring.datasource.hikari.data-source-properties.prepareThreshold=",
+    "voting.event-log.dir=target/event-log/${random.uuid}"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("postgres")
+public class PostgresProfileTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private VoteRepository voteRepository;
+
+    @Autowired
+    private VoteResponseRepository voteResponseRepository;
+
+    @Test
+    public void testMigrations_AppliedWithIndexes() {
+        assertEquals("4", flyway.info().current().getVersion().getVersion());
+
+        List<String> indexes = jdbcTemplate.queryForList(
+            "select index_name from information_schema.indexes where table_schema = 'public'", String.class);
+        assertTrue(indexes.contains("idx_votes_status_permission_created"), indexes.toString());
+        assertTrue(indexes.contains("idx_vote_options_vote"), indexes.toString());
+        assertTrue(indexes.stream().anyMatch(name -> name.startsWith("uk_vote_responses_vote_user")), indexes.toString());
+    }
+
+    @Test
+    public void testBallot_RoundTripsThroughMigratedSchema() throws Exception {
+        // Prepare data
+        User creator = userRepository.save(newUser("pg-owner"));
+
+        Vote vote = new Vote();
+        vote.setTitle("Postgres poll");
+        vote.setCreator(creator);
+        vote.setStatus(Vote.VoteStatus.PUBLISHED);
+        for (String text : List.of("Yes", "No", "Maybe")) {
+            VoteOption option = new VoteOption();
+            option.setText(text);
+            option.setVote(vote);
+            vote.getOptions().add(option);
+        }
+        vote = voteRepository.save(vote);
+        Long optionId = vote.getOptions().get(0).getId();
+
+        // Perform request
+        int status = mockMvc.perform(post("/api/votes/{id}/participate-share", vote.getId())
+                .param("optionId", optionId.toString()))
+            .andReturn().getResponse().getStatus();
+
+        // Assert
+        assertEquals(200, status);
+        assertEquals(1, voteResponseRepository.count());
+    }
+}
@@ -0,0 +1,66 @@
+package com.votingsystem.controller;
+
+import com.votingsystem.repository.UserRepository;
+import com.votingsystem.util.JwtUtil;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static com.votingsystem.TestFixtures.bearer;
+import static com.votingsystem.TestFixtures.newUser;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class ActuatorSecurityTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    public void testTallies_AdminOnly() throws Exception {
+        // Prepare data
+        String member = bearer(jwtUtil, userRepository.save(newUser("tallies-member")));
+
+        // Perform request and assert
+        mockMvc.perform(get("/actuator/tallies/1").header("Authorization", member)).andExpect(status().isUnauthorized());
+        mockMvc.perform(post("/actuator/tallies").header("Authorization", member)).andExpect(status().isUnauthorized());
+        mockMvc.perform(post("/actuator/tallies").with(httpBasic("prometheus", "test-metrics"))).andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/tallies").with(httpBasic("admin", "test-admin"))).andExpect(status().isOk());
+    }
+
+    @Test
+    public void testBallotMembership_AdminOnly() throws Exception {
+        // Prepare data
+        String member = bearer(jwtUtil, userRepository.save(newUser("membership-member")));
+
+        // Perform request and assert
+        mockMvc.perform(get("/actuator/ballotmembership/1").header("Authorization", member)).andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/ballotmembership").with(httpBasic("prometheus", "test-metrics"))).andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/ballotmembership").with(httpBasic("admin", "test-admin"))).andExpect(status().isOk());
+    }
+
+    @Test
+    public void testAnonymousBallots_AdminOnly() throws Exception {
+        // Prepare data
+        String member = bearer(jwtUtil, userRepository.save(newUser("anonymous-member")));
+
+        // Perform request and assert
+        mockMvc.perform(get("/actuator/anonymousballots/1").header("Authorization", member)).andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/anonymousballots").with(httpBasic("prometheus", "test-metrics"))).andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/anonymousballots").with(httpBasic("admin", "test-admin"))).andExpect(status().isOk());
+    }
+}
@@ -5,22 +5,28 @@ import com.votingsystem.dto.LoginRequest;
 import com.votingsystem.dto.RegisterRequest;
 import com.votingsystem.model.User;
 import com.votingsystem.repository.UserRepository;
+import com.votingsystem.service.PasswordHasher;
+import com.votingsystem.service.UsernameAvailability;
 import com.votingsystem.util.JwtUtil;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.lang.reflect.Field;
+import java.sql.SQLException;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -33,7 +39,10 @@ public class AuthControllerTest {
     private UserRepository userRepository;
 
     @Mock
-    private PasswordEncoder passwordEncoder;
+    private PasswordHasher passwordHasher;
+
+    @Mock
+    private UsernameAvailability usernameAvailability;
 
     private JwtUtil jwtUtil = new JwtUtil();
 
@@ -50,9 +59,7 @@ public class AuthControllerTest {
         jwtUtilField.setAccessible(true);
         jwtUtilField.set(authController, jwtUtil);
 
-        when(userRepository.existsByUsername("testuser")).thenReturn(false);
-        when(userRepository.existsByEmail("test@example.com")).thenReturn(false);
-        when(passwordEncoder.encode("password")).thenReturn("hashedPassword");
+        when(passwordHasher.hash("password")).thenReturn("hashedPassword");
 
         User savedUser = new User();
         savedUser.setId(1L);
@@ -69,6 +76,8 @@ public class AuthControllerTest {
         assertNotNull(authResponse.getToken());
         assertTrue(authResponse.getToken().length() > 0);
         assertEquals("testuser", authResponse.getUsername());
+        verify(userRepository, never()).existsByUsername(anyString());
+        verify(usernameAvailability).taken("testuser");
     }
 
     @Test
@@ -79,6 +88,7 @@ public class AuthControllerTest {
         request.setEmail("test@example.com");
         request.setPassword("password");
 
+        when(usernameAvailability.mightBeTaken("existinguser")).thenReturn(true);
         when(userRepository.existsByUsername("existinguser")).thenReturn(true);
 
         // Perform request
@@ -89,6 +99,30 @@ public class AuthControllerTest {
         AuthController.ErrorResponse errorResponse = (AuthController.ErrorResponse) responseEntity.getBody();
         assertNotNull(errorResponse);
         assertEquals("Username already exists", errorResponse.getMessage());
+        verify(passwordHasher, never()).hash(anyString());
+    }
+
+    @Test
+    public void testRegister_UsernameTakenByConcurrentInsert() {
+        // Prepare data
+        RegisterRequest request = new RegisterRequest();
+        request.setUsername("racer");
+        request.setEmail("racer@example.com");
+        request.setPassword("password");
+
+        when(passwordHasher.hash("password")).thenReturn("hashedPassword");
+        when(userRepository.save(any(User.class))).thenThrow(new DataIntegrityViolationException("could not execute statement",
+            new SQLException("Unique index or primary key violation: \"PUBLIC.UK_USERS_USERNAME_INDEX_4 ON PUBLIC.USERS(USERNAME)\"")));
+
+        // Perform request
+        ResponseEntity<?> responseEntity = authController.register(request);
+
+        // Assert
+        assertEquals(400, responseEntity.getStatusCode().value());
+        AuthController.ErrorResponse errorResponse = (AuthController.ErrorResponse) responseEntity.getBody();
+        assertNotNull(errorResponse);
+        assertEquals("Username already exists", errorResponse.getMessage());
+        verify(usernameAvailability).taken("racer");
     }
 
     @Test
@@ -99,8 +133,9 @@ public class AuthControllerTest {
         request.setEmail("existing@example.com");
         request.setPassword("password");
 
-        when(userRepository.existsByUsername("newuser")).thenReturn(false);
-        when(userRepository.existsByEmail("existing@example.com")).thenReturn(true);
+        when(passwordHasher.hash("password")).thenReturn("hashedPassword");
+        when(userRepository.save(any(User.class))).thenThrow(new DataIntegrityViolationException("could not execute statement",
+            new SQLException("duplicate key value violates unique constraint \"uk_users_email\"")));
 
         // Perform request
         ResponseEntity<?> responseEntity = authController.register(request);
@@ -130,7 +165,7 @@ public class AuthControllerTest {
         jwtUtilField.set(authController, jwtUtil);
 
         when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(user));
-        when(passwordEncoder.matches("password", "hashedPassword")).thenReturn(true);
+        when(passwordHasher.verify("password", "hashedPassword")).thenReturn("hashedPassword");
 
         // Perform request
         ResponseEntity<?> responseEntity = authController.login(request);
@@ -175,7 +210,7 @@ public class AuthControllerTest {
         user.setPassword("hashedPassword");
 
         when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(user));
-        when(passwordEncoder.matches("wrongpassword", "hashedPassword")).thenReturn(false);
+        when(passwordHasher.verify("wrongpassword", "hashedPassword")).thenReturn(null);
 
         // Perform request
         ResponseEntity<?> responseEntity = authController.login(request);
@@ -186,4 +221,32 @@ public class AuthControllerTest {
         assertNotNull(errorResponse);
         assertEquals("Invalid username or password", errorResponse.getMessage());
     }
+
+    @Test
+    public void testLogin_StoresRehashedPassword() throws Exception {
+        // Prepare data
+        LoginRequest request = new LoginRequest();
+        request.setUsername("testuser");
+        request.setPassword("password");
+
+        User user = new User();
+        user.setId(1L);
+        user.setUsername("testuser");
+        user.setPassword("oldCostHash");
+
+        Field jwtUtilField = AuthController.class.getDeclaredField("jwtUtil");
+        jwtUtilField.setAccessible(true);
+        jwtUtilField.set(authController, jwtUtil);
+
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(user));
+        when(passwordHasher.verify("password", "oldCostHash")).thenReturn("newCostHash");
+
+        // Perform request
+        ResponseEntity<?> responseEntity = authController.login(request);
+
+        // Assert
+        assertEquals(200, responseEntity.getStatusCode().value());
+        assertEquals("newCostHash", user.getPassword());
+        verify(userRepository).save(user);
+    }
 }
@@ -0,0 +1,172 @@
+package com.votingsystem.controller;
+
+import com.votingsystem.model.User;
+import com.votingsystem.model.Vote;
+import com.votingsystem.repository.UserRepository;
+import com.votingsystem.repository.VoteRepository;
+import com.votingsystem.util.JwtUtil;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+
+import static com.votingsystem.TestFixtures.bearer;
+import static com.votingsystem.TestFixtures.newUser;
+import static com.votingsystem.TestFixtures.newVote;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "voting.http-cache.closed-vote-max-age=1d"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class ConditionalGetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private VoteRepository voteRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    public void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    public void testGetVote_NotModifiedWithoutQueryUntilBallot() throws Exception {
+        // Prepare data
+        User creator = userRepository.save(newUser("etag-creator"));
+        String owner = bearer(jwtUtil, creator);
+        String voter = bearer(jwtUtil, userRepository.save(newUser("etag-voter")));
+        Vote vote = saveVote(creator, Vote.VotePermission.PUBLIC, false);
+        String etag = mockMvc.perform(get("/api/votes/" + vote.getId()).header("Authorization", owner))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+
+        // Perform request
+        statistics.clear();
+        mockMvc.perform(get("/api/votes/" + vote.getId()).header("Authorization", owner).header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, etag))
+            .andExpect(content().string(""));
+
+        // Assert
+        assertEquals(0, statistics.getPrepareStatementCount());
+        mockMvc.perform(post("/api/votes/" + vote.getId() + "/participate")
+                .param("optionId", vote.getOptions().get(0).getId().toString())
+                .header("Authorization", voter))
+            .andExpect(status().isOk());
+        String changed = mockMvc.perform(get("/api/votes/" + vote.getId()).header("Authorization", owner).header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(etag, changed);
+    }
+
+    @Test
+    public void testGetResults_EditAndOwnBallotChangeETag() throws Exception {
+        // Prepare data
+        User creator = userRepository.save(newUser("results-creator"));
+        String owner = bearer(jwtUtil, creator);
+        String voter = bearer(jwtUtil, userRepository.save(newUser("results-voter")));
+        Vote vote = saveVote(creator, Vote.VotePermission.PUBLIC, false);
+        String results = "/api/votes/" + vote.getId() + "/results";
+        String before = etag(results, voter);
+        mockMvc.perform(get(results).header("Authorization", voter).header(HttpHeaders.IF_NONE_MATCH, before))
+            .andExpect(status().isNotModified());
+
+        // Perform request
+        mockMvc.perform(post("/api/votes/" + vote.getId() + "/participate")
+                .param("optionId", vote.getOptions().get(1).getId().toString())
+                .header("Authorization", voter))
+            .andExpect(status().isOk());
+        String afterBallot = etag(results, voter);
+        mockMvc.perform(post("/api/votes/" + vote.getId() + "/close").header("Authorization", owner))
+            .andExpect(status().isOk());
+
+        // Assert
+        assertNotEquals(before, afterBallot);
+        mockMvc.perform(get(results).header("Authorization", voter).header(HttpHeaders.IF_NONE_MATCH, afterBallot))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=86400, private"))
+            .andExpect(header().exists(HttpHeaders.LAST_MODIFIED));
+    }
+
+    @Test
+    public void testClosedVote_LongLivedAndIfModifiedSince() throws Exception {
+        // Prepare data
+        User creator = userRepository.save(newUser("closed-creator"));
+        String owner = bearer(jwtUtil, creator);
+        Vote vote = saveVote(creator, Vote.VotePermission.PUBLIC, true);
+        String lastModified = mockMvc.perform(get("/api/votes/" + vote.getId()).header("Authorization", owner))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=86400, private"))
+            .andReturn().getResponse().getHeader(HttpHeaders.LAST_MODIFIED);
+
+        // Perform request and assert
+        mockMvc.perform(get("/api/votes/" + vote.getId()).header("Authorization", owner).header(HttpHeaders.IF_MODIFIED_SINCE, lastModified))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=86400, private"));
+    }
+
+    @Test
+    public void testPrivateVote_OnlyOwnerGetsNotModified() throws Exception {
+        // Prepare data
+        User creator = userRepository.save(newUser("private-creator"));
+        String owner = bearer(jwtUtil, creator);
+        String stranger = bearer(jwtUtil, userRepository.save(newUser("private-stranger")));
+        Vote vote = saveVote(creator, Vote.VotePermission.PRIVATE, false);
+        String etag = etag("/api/votes/" + vote.getId(), owner);
+
+        // Perform request and assert
+        mockMvc.perform(get("/api/votes/" + vote.getId()).header("Authorization", owner).header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/votes/" + vote.getId()).header("Authorization", stranger).header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isForbidden());
+    }
+
+    private String etag(String path, String bearer) throws Exception {
+        return mockMvc.perform(get(path).header("Authorization", bearer))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+
+    private Vote saveVote(User creator, Vote.VotePermission permission, boolean closed) {
+        Vote vote = newVote(creator, "Conditional poll");
+        vote.setPermission(permission);
+        if (closed) {
+            vote.setClosedAt(LocalDateTime.now().minusMinutes(1));
+        }
+        return voteRepository.save(vote);
+    }
+}
@@ -0,0 +1,144 @@
+package com.votingsystem.controller;
+
+import com.votingsystem.model.User;
+import com.votingsystem.model.Vote;
+import com.votingsystem.model.VoteOption;
+import com.votingsystem.repository.UserRepository;
+import com.votingsystem.repository.VoteOptionRepository;
+import com.votingsystem.repository.VoteRepository;
+import com.votingsystem.service.VoteCounter;
+import com.votingsystem.util.JwtUtil;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import static com.votingsystem.TestFixtures.newUser;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "voting.counter.flush-interval-ms=3600000")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class EntityCacheQueryCountTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private VoteRepository voteRepository;
+
+    @Autowired
+    private VoteOptionRepository voteOptionRepository;
+
+    @Autowired
+    private VoteCounter voteCounter;
+
+    private User creator;
+    private Vote vote;
+    private String token;
+
+    @BeforeEach
+    public void setUp() {
+        creator = userRepository.save(newUser("cache-owner-" + System.nanoTime()));
+        token = jwtUtil.generateToken(creator.getId(), creator.getUsername());
+
+        vote = new Vote();
+        vote.setTitle("Cached poll");
+        vote.setCreator(creator);
+        vote.setStatus(Vote.VoteStatus.PUBLISHED);
+        vote = voteRepository.save(vote);
+
+        for (int i = 0; i < 3; i++) {
+            VoteOption option = new VoteOption();
+            option.setText("Option " + i);
+            option.setVote(vote);
+            voteOptionRepository.save(option);
+        }
+    }
+
+    @Test
+    public void testGetVote_RepeatReadServedFromCache() throws Exception {
+        long first = countStatements(get("/api/votes/" + vote.getId()).header("Authorization", "Bearer " + token));
+        long second = countStatements(get("/api/votes/" + vote.getId()).header("Authorization", "Bearer " + token));
+
+        assertTrue(first > 0, "first read used " + first + " statements");
+        assertEquals(0, second);
+    }
+
+    @Test
+    public void testShareToken_RepeatLookupServedFromQueryCache() throws Exception {
+        countStatements(get("/api/votes/share/" + vote.getShareToken()));
+        long second = countStatements(get("/api/votes/share/" + vote.getShareToken()));
+
+        assertEquals(0, second);
+    }
+
+    @Test
+    public void testCloseVote_CachedReadSeesChange() throws Exception {
+        countStatements(get("/api/votes/" + vote.getId()).header("Authorization", "Bearer " + token));
+
+        mockMvc.perform(post("/api/votes/" + vote.getId() + "/close").header("Authorization", "Bearer " + token))
+            .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/votes/" + vote.getId()).header("Authorization", "Bearer " + token))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.status").value("CLOSED"))
+            .andExpect(jsonPath("$.options.length()").value(3));
+    }
+
+    @Test
+    public void testFlush_OnlyEvictsVotedOption() throws Exception {
+        voteRepository.findByShareToken(vote.getShareToken());
+        Long votedId = voteOptionRepository.findByVoteId(vote.getId()).get(0).getId();
+
+        mockMvc.perform(post("/api/votes/" + vote.getId() + "/participate")
+                .param("optionId", votedId.toString())
+                .header("Authorization", "Bearer " + token))
+            .andExpect(status().isOk());
+        voteCounter.flush();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        Vote cached = voteRepository.findByShareToken(vote.getShareToken()).orElseThrow();
+
+        assertEquals(1, statistics.getQueryCacheHitCount());
+        assertEquals(1, statistics.getSecondLevelCacheMissCount());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertTrue(statistics.getSecondLevelCacheHitCount() >= 3, "hits " + statistics.getSecondLevelCacheHitCount());
+        assertEquals(1, cached.getOptions().stream()
+            .filter(option -> option.getId().equals(votedId))
+            .findFirst().orElseThrow().getVoteCount());
+    }
+
+    private long countStatements(RequestBuilder request) throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(request)
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.options.length()").value(3));
+
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,217 @@
+package com.votingsystem.controller;
+
+import com.votingsystem.VotingSystemApplication;
+import com.votingsystem.model.User;
+import com.votingsystem.model.Vote;
+import com.votingsystem.model.VoteOption;
+import com.votingsystem.repository.UserRepository;
+import com.votingsystem.repository.VoteRepository;
+import com.votingsystem.service.PasswordHasher;
+import com.votingsystem.util.JwtUtil;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.votingsystem.TestFixtures.newUser;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Keeps a login storm running against a real Tomcat while a handful of
+ * clients cast ballots and read results, once with bcrypt on the request
+ * threads and once on the bounded hashing pool, and reports the latency of
+ * the ballots and reads in both. Excluded from the default build; run it
+ * with {@code mvn test -P load-test}. Sizes can be changed with
+ * {@code -Dload.logins.concurrency}, {@code -Dload.probes},
+ * {@code -Dload.hash-queue} and {@code -Dload.bcrypt-cost}.
+ */
+@Tag("load")
+public class LoginBurstLoadTest {
+
+    private static final int LOGIN_CONCURRENCY = Integer.getInteger("load.logins.concurrency", 64);
+    private static final int PROBES = Integer.getInteger("load.probes", 200);
+    private static final int PROBE_CONCURRENCY = Integer.getInteger("load.probes.concurrency", 8);
+    private static final int BCRYPT_COST = Integer.getInteger("load.bcrypt-cost", 10);
+    private static final int HASH_QUEUE = Integer.getInteger("load.hash-queue", 16);
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+        .executor(Executors.newVirtualThreadPerTaskExecutor())
+        .connectTimeout(Duration.ofSeconds(10))
+        .build();
+
+    @Test
+    public void testLoginBurst_BallotsAndReadsStayResponsive() throws Exception {
+        Result inline = run(false);
+        Result bounded = run(true);
+
+        String report = "login burst, " + LOGIN_CONCURRENCY + " concurrent login clients, bcrypt cost " + BCRYPT_COST
+            + ", hash queue " + HASH_QUEUE + ", " + PROBES + " ballots and reads from " + PROBE_CONCURRENCY + " clients\n"
+            + inline + "\n"
+            + bounded + "\n";
+        System.out.println(report);
+        Files.createDirectories(Path.of("target"));
+        Files.writeString(Path.of("target", "login-burst-load-report.txt"), report);
+
+        assertTrue(bounded.rejectedLogins > 0, "the bounded pool never shed a login");
+        assertTrue(bounded.p99() < inline.p99(),
+            "ballot/read p99 with the bounded pool (" + bounded.p99() / 1_000_000 + " ms) was not below inline hashing ("
+                + inline.p99() / 1_000_000 + " ms)");
+    }
+
+    private Result run(boolean bounded) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(VotingSystemApplication.class)
+                .profiles("test")
+                .properties("server.port=0")
+                .run("--voting.password-hashing.enabled=" + bounded,
+                    "--voting.password-hashing.queue-capacity=" + HASH_QUEUE,
+                    "--voting.password-hashing.bcrypt-cost=" + BCRYPT_COST)) {
+            int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+            String base = "http://localhost:" + port + "/api";
+            JwtUtil jwtUtil = context.getBean(JwtUtil.class);
+            UserRepository userRepository = context.getBean(UserRepository.class);
+
+            User member = newUser("member");
+            member.setPassword(context.getBean(PasswordHasher.class).hash("correct horse"));
+            userRepository.save(member);
+
+            User creator = userRepository.save(newUser("creator"));
+            Vote vote = new Vote();
+            vote.setTitle("Burst poll");
+            vote.setCreator(creator);
+            vote.setStatus(Vote.VoteStatus.PUBLISHED);
+            for (int i = 0; i < 3; i++) {
+                VoteOption option = new VoteOption();
+                option.setText("Option " + i);
+                option.setVote(vote);
+                vote.getOptions().add(option);
+            }
+            vote = context.getBean(VoteRepository.class).save(vote);
+
+            List<User> voters = new ArrayList<>();
+            for (int i = 0; i < PROBES / 2; i++) {
+                voters.add(newUser("voter" + i));
+            }
+            voters = userRepository.saveAll(voters);
+
+            // Even probes cast a ballot, odd ones read the results.
+            List<HttpRequest> probes = new ArrayList<>();
+            for (int i = 0; i < PROBES; i++) {
+                User voter = voters.get((i / 2) % voters.size());
+                String bearer = "Bearer " + jwtUtil.generateToken(voter.getId(), voter.getUsername());
+                HttpRequest.Builder probe = HttpRequest.newBuilder().header("Authorization", bearer);
+                if (i % 2 == 0) {
+                    Long optionId = vote.getOptions().get(i % 3).getId();
+                    probe.uri(URI.create(base + "/votes/" + vote.getId() + "/participate?optionId=" + optionId))
+                        .POST(HttpRequest.BodyPublishers.noBody());
+                } else {
+                    probe.uri(URI.create(base + "/votes/" + vote.getId() + "/results")).GET();
+                }
+                probes.add(probe.build());
+            }
+
+            HttpRequest login = HttpRequest.newBuilder()
+                .uri(URI.create(base + "/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"username\":\"" + member.getUsername() + "\",\"password\":\"correct horse\"}"))
+                .build();
+            send(login);
+            send(probes.get(1));
+
+            AtomicBoolean storming = new AtomicBoolean(true);
+            LongAdder acceptedLogins = new LongAdder();
+            LongAdder rejectedLogins = new LongAdder();
+            long[] latencies = new long[PROBES];
+            try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int i = 0; i < LOGIN_CONCURRENCY; i++) {
+                    clients.submit(() -> {
+                        while (storming.get()) {
+                            HttpResponse<Void> response = httpClient.send(login, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() == 200) {
+                                acceptedLogins.increment();
+                            } else {
+                                assertEquals(503, response.statusCode());
+                                assertEquals("1", response.headers().firstValue("Retry-After").orElse(null));
+                                rejectedLogins.increment();
+                            }
+                        }
+                        return null;
+                    });
+                }
+                // Let the storm saturate the server before probing it.
+                Thread.sleep(2000);
+
+                AtomicInteger next = new AtomicInteger();
+                List<Future<?>> probeClients = new ArrayList<>();
+                for (int c = 0; c < PROBE_CONCURRENCY; c++) {
+                    probeClients.add(clients.submit(() -> {
+                        for (int index = next.getAndIncrement(); index < PROBES; index = next.getAndIncrement()) {
+                            long sent = System.nanoTime();
+                            assertEquals(200, send(probes.get(index)));
+                            latencies[index] = System.nanoTime() - sent;
+                        }
+                        return null;
+                    }));
+                }
+                try {
+                    for (Future<?> probeClient : probeClients) {
+                        probeClient.get();
+                    }
+                } finally {
+                    storming.set(false);
+                }
+            }
+
+            return new Result(bounded ? "bounded pool" : "inline     ", latencies, acceptedLogins.sum(), rejectedLogins.sum());
+        }
+    }
+
+    private int send(HttpRequest request) throws IOException, InterruptedException {
+        return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private static final class Result {
+        private final String mode;
+        private final long[] latencies;
+        private final long acceptedLogins;
+        private final long rejectedLogins;
+
+        private Result(String mode, long[] latencies, long acceptedLogins, long rejectedLogins) {
+            this.mode = mode;
+            this.latencies = latencies.clone();
+            Arrays.sort(this.latencies);
+            this.acceptedLogins = acceptedLogins;
+            this.rejectedLogins = rejectedLogins;
+        }
+
+        private long p99() {
+            return latencies[Math.min(latencies.length - 1, (int) (latencies.length * 0.99))];
+        }
+
+        @Override
+        public String toString() {
+            long p50 = latencies[(int) (latencies.length * 0.50)];
+            return String.format("%s  ballots/reads p50=%.1f ms  p99=%.1f ms  logins ok=%d  logins 503=%d",
+                mode, p50 / 1_000_000.0, p99() / 1_000_000.0, acceptedLogins, rejectedLogins);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.votingsystem.controller;
+
+import com.votingsystem.model.User;
+import com.votingsystem.model.Vote;
+import com.votingsystem.repository.UserRepository;
+import com.votingsystem.repository.VoteRepository;
+import com.votingsystem.util.JwtUtil;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.time.LocalDateTime;
+
+import static com.votingsystem.TestFixtures.bearer;
+import static com.votingsystem.TestFixtures.newUser;
+import static com.votingsystem.TestFixtures.newVote;
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+@ActiveProfiles("test")
+public class MetricsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private VoteRepository voteRepository;
+
+    @Test
+    public void testBallots_CountedByOutcomeAndReason() throws Exception {
+        // Prepare data
+        User creator = userRepository.save(newUser("metrics-creator"));
+        String voter = bearer(jwtUtil, userRepository.save(newUser("metrics-voter")));
+        Vote open = voteRepository.save(newVote(creator, "Metrics poll"));
+        Vote closed = newVote(creator, "Metrics poll");
+        closed.setClosedAt(LocalDateTime.now());
+        closed = voteRepository.save(closed);
+        double accepted = count("vote.ballots.accepted", "mode", "direct");
+        double duplicate = count("vote.ballots.rejected", "reason", "duplicate");
+        double invalidOption = count("vote.ballots.rejected", "reason", "invalid_option");
+        double closedVote = count("vote.ballots.rejected", "reason", "closed");
+
+        // Perform request
+        participate(open, closed.getOptions().get(0).getId(), voter).andExpect(status().isBadRequest());
+        participate(open, open.getOptions().get(0).getId(), voter).andExpect(status().isOk());
+        participate(open, open.getOptions().get(1).getId(), voter).andExpect(status().isBadRequest());
+        participate(closed, closed.getOptions().get(0).getId(), voter).andExpect(status().isBadRequest());
+
+        // Assert
+        assertEquals(accepted + 1, count("vote.ballots.accepted", "mode", "direct"));
+        assertEquals(duplicate + 1, count("vote.ballots.rejected", "reason", "duplicate"));
+        assertEquals(invalidOption + 1, count("vote.ballots.rejected", "reason", "invalid_option"));
+        assertEquals(closedVote + 1, count("vote.ballots.rejected", "reason", "closed"));
+        assertTrue(meterRegistry.get("vote.dto.build").tag("shape", "single").timer().count() > 0);
+    }
+
+    @Test
+    public void testPrometheus_ScrapesEndpointTimersAndQueryCounts() throws Exception {
+        // Prepare data
+        String voter = bearer(jwtUtil, userRepository.save(newUser("metrics-reader")));
+        mockMvc.perform(get("/api/votes").header("Authorization", voter)).andExpect(status().isOk());
+
+        // Perform request and assert
+        mockMvc.perform(get("/actuator/health")).andExpect(status().isOk());
+        mockMvc.perform(get("/actuator/prometheus")).andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/prometheus").header("Authorization", voter)).andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/prometheus").with(httpBasic("prometheus", "test-metrics")))
+            .andExpect(status().isOk())
+            .andExpect(content().string(containsString("http_server_requests_seconds_bucket{")))
+            .andExpect(content().string(containsString("http_server_requests_queries_bucket{")))
+            .andExpect(content().string(containsString("uri=\"/api/votes\"")))
+            .andExpect(content().string(containsString("vote_ballots_rejected_total{reason=\"closed\"")));
+        assertTrue(meterRegistry.get("http.server.requests.queries")
+            .tag("method", "GET").tag("uri", "/api/votes").summary().totalAmount() > 0);
+    }
+
+    private ResultActions participate(Vote vote, Long optionId, String bearer) throws Exception {
+        return mockMvc.perform(post("/api/votes/" + vote.getId() + "/participate")
+            .param("optionId", optionId.toString())
+            .header("Authorization", bearer));
+    }
+
+    private double count(String name, String tag, String value) {
+        return meterRegistry.get(name).tag(tag, value).counter().count();
+    }
+}
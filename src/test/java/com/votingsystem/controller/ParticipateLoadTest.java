@@ -0,0 +1,173 @@
+package com.votingsystem.controller;
+
+import com.votingsystem.VotingSystemApplication;
+import com.votingsystem.model.User;
+import com.votingsystem.model.Vote;
+import com.votingsystem.model.VoteOption;
+import com.votingsystem.repository.UserRepository;
+import com.votingsystem.repository.VoteOptionRepository;
+import com.votingsystem.repository.VoteRepository;
+import com.votingsystem.repository.VoteResponseRepository;
+import com.votingsystem.util.JwtUtil;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+import static com.votingsystem.TestFixtures.newUser;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Drives {@code POST /api/votes/{id}/participate} against a real Tomcat,
+ * once on the platform thread pool and once on virtual threads, and reports
+ * throughput and p99 latency for both. Excluded from the default build; run
+ * it with {@code mvn test -P load-test}. Sizes can be changed with
+ * {@code -Dload.ballots} and {@code -Dload.concurrency}.
+ */
+@Tag("load")
+public class ParticipateLoadTest {
+
+    private static final int BALLOTS = Integer.getInteger("load.ballots", 4000);
+    private static final int CONCURRENCY = Integer.getInteger("load.concurrency", 400);
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+        .executor(Executors.newVirtualThreadPerTaskExecutor())
+        .connectTimeout(Duration.ofSeconds(10))
+        .build();
+
+    @Test
+    public void testParticipateInVote_PlatformVersusVirtualThreads() throws Exception {
+        Result platform = run(false);
+        Result virtual = run(true);
+
+        String report = "participateInVote, " + BALLOTS + " ballots, " + CONCURRENCY + " concurrent clients\n"
+            + platform + "\n"
+            + virtual + "\n";
+        System.out.println(report);
+        Files.createDirectories(Path.of("target"));
+        Files.writeString(Path.of("target", "participate-load-report.txt"), report);
+    }
+
+    private Result run(boolean virtualThreads) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(VotingSystemApplication.class)
+                .profiles("test")
+                .properties("server.port=0", "spring.threads.virtual.enabled=" + virtualThreads)
+                .run()) {
+            int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+            JwtUtil jwtUtil = context.getBean(JwtUtil.class);
+            UserRepository userRepository = context.getBean(UserRepository.class);
+            VoteRepository voteRepository = context.getBean(VoteRepository.class);
+            VoteOptionRepository voteOptionRepository = context.getBean(VoteOptionRepository.class);
+
+            User creator = userRepository.save(newUser("creator"));
+            Vote vote = new Vote();
+            vote.setTitle("Load poll");
+            vote.setCreator(creator);
+            vote.setStatus(Vote.VoteStatus.PUBLISHED);
+            vote = voteRepository.save(vote);
+
+            List<Long> optionIds = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                VoteOption option = new VoteOption();
+                option.setText("Option " + i);
+                option.setVote(vote);
+                optionIds.add(voteOptionRepository.save(option).getId());
+            }
+
+            List<User> voters = new ArrayList<>();
+            for (int i = 0; i < BALLOTS; i++) {
+                voters.add(newUser("voter" + i));
+            }
+            voters = userRepository.saveAll(voters);
+
+            List<HttpRequest> requests = new ArrayList<>();
+            for (int i = 0; i < BALLOTS; i++) {
+                User voter = voters.get(i);
+                requests.add(HttpRequest.newBuilder()
+                    .uri(URI.create("http://localhost:" + port + "/api/votes/" + vote.getId()
+                        + "/participate?optionId=" + optionIds.get(i % optionIds.size())))
+                    .header("Authorization", "Bearer " + jwtUtil.generateToken(voter.getId(), voter.getUsername()))
+                    .POST(HttpRequest.BodyPublishers.noBody())
+                    .build());
+            }
+
+            // Warm up the connection and security filters without casting a ballot.
+            send(HttpRequest.newBuilder()
+                .uri(URI.create("http://localhost:" + port + "/api/votes/" + vote.getId() + "/results"))
+                .header("Authorization", requests.get(0).headers().firstValue("Authorization").orElseThrow())
+                .GET()
+                .build());
+
+            long[] latencies = new long[BALLOTS];
+            Semaphore inFlight = new Semaphore(CONCURRENCY);
+            long start = System.nanoTime();
+            try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+                List<Future<Integer>> statuses = new ArrayList<>();
+                for (int i = 0; i < BALLOTS; i++) {
+                    int index = i;
+                    inFlight.acquire();
+                    statuses.add(clients.submit(() -> {
+                        try {
+                            long sent = System.nanoTime();
+                            int status = send(requests.get(index));
+                            latencies[index] = System.nanoTime() - sent;
+                            return status;
+                        } finally {
+                            inFlight.release();
+                        }
+                    }));
+                }
+                for (Future<Integer> status : statuses) {
+                    assertEquals(200, status.get());
+                }
+            }
+            long elapsed = System.nanoTime() - start;
+
+            assertEquals(BALLOTS, context.getBean(VoteResponseRepository.class).count());
+            return new Result(virtualThreads ? "virtual " : "platform", elapsed, latencies);
+        }
+    }
+
+    private int send(HttpRequest request) throws IOException, InterruptedException {
+        return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private static final class Result {
+        private final String mode;
+        private final long elapsedNanos;
+        private final long[] latencies;
+
+        private Result(String mode, long elapsedNanos, long[] latencies) {
+            this.mode = mode;
+            this.elapsedNanos = elapsedNanos;
+            this.latencies = latencies.clone();
+            Arrays.sort(this.latencies);
+        }
+
+        @Override
+        public String toString() {
+            double seconds = elapsedNanos / 1_000_000_000.0;
+            long p50 = latencies[(int) (latencies.length * 0.50)];
+            long p99 = latencies[Math.min(latencies.length - 1, (int) (latencies.length * 0.99))];
+            return String.format("%s  throughput=%.0f req/s  p50=%.1f ms  p99=%.1f ms",
+                mode, latencies.length / seconds, p50 / 1_000_000.0, p99 / 1_000_000.0);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.votingsystem.controller;
+
+import com.votingsystem.repository.UserRepository;
+import com.votingsystem.util.JwtUtil;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static com.votingsystem.TestFixtures.bearer;
+import static com.votingsystem.TestFixtures.newUser;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+    "voting.rate-limit.enabled=true",
+    "voting.rate-limit.routes[0].name=votes",
+    "voting.rate-limit.routes[0].method=GET",
+    "voting.rate-limit.routes[0].path=/api/votes",
+    "voting.rate-limit.routes[0].permits=2",
+    "voting.rate-limit.routes[0].period=1m"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class RateLimitTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    public void testSecurityChain_LimitsEachSignedInUserSeparately() throws Exception {
+        // Prepare data
+        String first = bearer(jwtUtil, userRepository.save(newUser("limited-one")));
+        String second = bearer(jwtUtil, userRepository.save(newUser("limited-two")));
+
+        // Perform request
+        mockMvc.perform(get("/api/votes").header("Authorization", first)).andExpect(status().isOk());
+        mockMvc.perform(get("/api/votes").header("Authorization", first)).andExpect(status().isOk());
+
+        // Assert: both callers share 127.0.0.1, but the second still has its own bucket
+        mockMvc.perform(get("/api/votes").header("Authorization", first))
+            .andExpect(status().isTooManyRequests())
+            .andExpect(header().exists("Retry-After"))
+            .andExpect(jsonPath("$.error").value("TooManyRequests"));
+        mockMvc.perform(get("/api/votes").header("Authorization", second)).andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,82 @@
+package com.votingsystem.controller;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class RegistrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    public void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    public void testRegister_SingleInsertAndConstraintMessages() throws Exception {
+        // The first registration also fetches a block of ids from the sequence.
+        register("first", "first@example.com").andExpect(status().isOk());
+
+        // Perform request
+        statistics.clear();
+        register("second", "second@example.com").andExpect(status().isOk());
+
+        // Assert
+        assertEquals(1, statistics.getPrepareStatementCount());
+        register("third", "first@example.com")
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("Email already exists"));
+        register("second", "other@example.com")
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("Username already exists"));
+    }
+
+    @Test
+    public void testAvailable_FreeNameAnsweredWithoutQuery() throws Exception {
+        // Prepare data
+        register("taken", "taken@example.com").andExpect(status().isOk());
+
+        // Perform request
+        statistics.clear();
+        mockMvc.perform(get("/api/auth/available").param("username", "never-registered"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.available").value(true));
+
+        // Assert
+        assertEquals(0, statistics.getPrepareStatementCount());
+        mockMvc.perform(get("/api/auth/available").param("username", "taken"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.available").value(false));
+    }
+
+    private ResultActions register(String username, String email) throws Exception {
+        return mockMvc.perform(post("/api/auth/register")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"username\":\"" + username + "\",\"email\":\"" + email + "\",\"password\":\"password\"}"));
+    }
+}
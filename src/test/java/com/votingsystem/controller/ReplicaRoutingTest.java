@@ -0,0 +1,131 @@
+package com.votingsystem.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.votingsystem.model.User;
+import com.votingsystem.model.Vote;
+import com.votingsystem.model.VoteOption;
+import com.votingsystem.repository.UserRepository;
+import com.votingsystem.repository.VoteRepository;
+import com.votingsystem.util.JwtUtil;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static com.votingsystem.TestFixtures.bearer;
+import static com.votingsystem.TestFixtures.newUser;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Runs against two H2 instances, a primary and a replica. Replication is
+ * simulated by copying the primary into the replica; a write made to the
+ * primary afterwards stands in for replication lag.
+ */
+@SpringBootTest(properties = {
+    "voting.replica.enabled=true",
+    "voting.replica.datasource.jdbc-url=jdbc:h2:mem:voting-replica-${random.uuid};DB_CLOSE_DELAY=-1",
+    "voting.replica.sticky-window=1m",
+    "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+    "spring.jpa.properties.hibernate.cache.use_query_cache=false"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class ReplicaRoutingTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private VoteRepository voteRepository;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+
+    @Test
+    public void testReads_GoToReplicaExceptForRecentWriter() throws Exception {
+        // Prepare data
+        User creator = userRepository.save(newUser("replica-owner"));
+        User voter = userRepository.save(newUser("replica-voter"));
+        User viewer = userRepository.save(newUser("replica-viewer"));
+
+        Vote vote = new Vote();
+        vote.setTitle("Replicated title");
+        vote.setCreator(creator);
+        vote.setStatus(Vote.VoteStatus.PUBLISHED);
+        for (String text : new String[] { "Yes", "No" }) {
+            VoteOption option = new VoteOption();
+            option.setText(text);
+            option.setVote(vote);
+            vote.getOptions().add(option);
+        }
+        vote = voteRepository.save(vote);
+        Long voteId = vote.getId();
+        Long optionId = vote.getOptions().get(0).getId();
+
+        replicate();
+        new JdbcTemplate(primaryDataSource).update("update votes set title = 'Primary title' where id = ?", voteId);
+
+        String viewerBearer = bearer(jwtUtil, viewer);
+        String voterBearer = bearer(jwtUtil, voter);
+
+        // Perform request + Assert: plain reads are served by the replica
+        assertEquals("Replicated title", title(voteId, viewerBearer));
+        assertEquals("Replicated title", title(voteId, voterBearer));
+
+        // Casting a ballot pins the voter to the primary
+        assertEquals(200, mockMvc.perform(post("/api/votes/{id}/participate", voteId)
+                .param("optionId", optionId.toString())
+                .header("Authorization", voterBearer))
+            .andReturn().getResponse().getStatus());
+        assertEquals("Primary title", title(voteId, voterBearer));
+        assertEquals("Replicated title", title(voteId, viewerBearer));
+
+        JsonNode page = objectMapper.readTree(mockMvc.perform(get("/api/votes")
+                .header("Authorization", viewerBearer))
+            .andReturn().getResponse().getContentAsString());
+        assertEquals("Replicated title", page.get(0).get("title").asText());
+    }
+
+    private String title(Long voteId, String bearer) throws Exception {
+        String body = mockMvc.perform(get("/api/votes/{id}", voteId).header("Authorization", bearer))
+            .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("title").asText();
+    }
+
+    private void replicate() throws Exception {
+        Path script = Files.createTempFile("voting-replica", ".sql");
+        try {
+            new JdbcTemplate(primaryDataSource).execute("script to '" + script + "'");
+            JdbcTemplate replica = new JdbcTemplate(replicaDataSource);
+            replica.execute("drop all objects");
+            replica.execute("runscript from '" + script + "'");
+        } finally {
+            Files.deleteIfExists(script);
+        }
+    }
+}
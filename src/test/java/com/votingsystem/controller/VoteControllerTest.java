@@ -1,5 +1,6 @@
 package com.votingsystem.controller;
 
+import com.votingsystem.config.ReplicaReadPolicy;
 import com.votingsystem.dto.CreateVoteRequest;
 import com.votingsystem.dto.VoteDTO;
 import com.votingsystem.model.User;
@@ -9,15 +10,30 @@ import com.votingsystem.repository.UserRepository;
 import com.votingsystem.repository.VoteOptionRepository;
 import com.votingsystem.repository.VoteRepository;
 import com.votingsystem.repository.VoteResponseRepository;
+import com.votingsystem.service.BallotIngestionPipeline;
+import com.votingsystem.service.BallotMembershipIndex;
+import com.votingsystem.service.VoteCountSharding;
+import com.votingsystem.service.VoteCounter;
+import com.votingsystem.service.VoteEventLog;
+import com.votingsystem.service.VoteMetrics;
+import com.votingsystem.service.VoteService;
+import com.votingsystem.service.VoteVersions;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Optional;
 import java.util.ArrayList;
@@ -25,6 +41,7 @@ import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
 
@@ -34,6 +51,9 @@ public class VoteControllerTest {
     @InjectMocks
     private VoteController voteController;
 
+    @InjectMocks
+    private VoteService voteService;
+
     @Mock
     private VoteRepository voteRepository;
 
@@ -46,6 +66,46 @@ public class VoteControllerTest {
     @Mock
     private VoteResponseRepository voteResponseRepository;
 
+    @Spy
+    private VoteCounter voteCounter = new VoteCounter();
+
+    @Mock
+    private VoteCountSharding voteCountSharding;
+
+    @Mock
+    private BallotIngestionPipeline ballotIngestionPipeline;
+
+    @Spy
+    private BallotMembershipIndex ballotMembershipIndex = new BallotMembershipIndex();
+
+    @Mock
+    private VoteEventLog voteEventLog;
+
+    @Mock
+    private VoteMetrics voteMetrics;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ReplicaReadPolicy replicaReadPolicy;
+
+    @BeforeEach
+    public void setUp() {
+        ReflectionTestUtils.setField(voteController, "voteService", voteService);
+        ReflectionTestUtils.setField(voteCounter, "voteOptionRepository", voteOptionRepository);
+        ReflectionTestUtils.setField(voteCounter, "voteCountSharding", voteCountSharding);
+        VoteVersions voteVersions = new VoteVersions();
+        ReflectionTestUtils.setField(voteVersions, "ballotMembershipIndex", ballotMembershipIndex);
+        ReflectionTestUtils.setField(voteVersions, "maxSize", 100L);
+        ReflectionTestUtils.setField(voteVersions, "openTtl", Duration.ofSeconds(5));
+        voteVersions.init();
+        ReflectionTestUtils.setField(voteController, "voteVersions", voteVersions);
+    }
+
     @Test
     public void testCreateVote_Success() {
         // Prepare data
@@ -79,10 +139,9 @@ public class VoteControllerTest {
         option2.setId(2L);
         option2.setText("Option 2");
         option2.setVote(vote);
+        vote.setOptions(Arrays.asList(option1, option2));
 
         when(voteRepository.save(any(Vote.class))).thenReturn(vote);
-        when(voteOptionRepository.save(any(VoteOption.class))).thenReturn(option1, option2);
-        when(voteResponseRepository.existsByVoteAndUser(any(Vote.class), any(User.class))).thenReturn(false);
 
         // Perform request
         ResponseEntity<?> responseEntity = voteController.createVote(request, authentication);
@@ -93,6 +152,7 @@ public class VoteControllerTest {
         assertNotNull(voteDTO);
         assertEquals("Test Vote", voteDTO.getTitle());
         assertEquals("testuser", voteDTO.getCreatorUsername());
+        assertEquals(2, voteDTO.getOptions().size());
     }
 
     @Test
@@ -120,7 +180,6 @@ public class VoteControllerTest {
         Authentication authentication = new UsernamePasswordAuthenticationToken(userId, null);
 
         when(voteRepository.findById(voteId)).thenReturn(Optional.of(vote));
-        when(userRepository.findById(userId)).thenReturn(Optional.of(user)); // for convertToDTO
 
         // Perform request
         ResponseEntity<?> responseEntity = voteController.editVote(voteId, request, authentication);
@@ -155,7 +214,6 @@ public class VoteControllerTest {
         Authentication authentication = new UsernamePasswordAuthenticationToken(userId, null);
 
         when(voteRepository.findById(voteId)).thenReturn(Optional.of(vote));
-        when(userRepository.findById(userId)).thenReturn(Optional.of(user)); // for convertToDTO
 
         // Perform request
         ResponseEntity<?> responseEntity = voteController.publishVote(voteId, authentication);
@@ -183,16 +241,16 @@ public class VoteControllerTest {
         Authentication authentication = new UsernamePasswordAuthenticationToken(userId, null);
 
         when(voteRepository.findById(voteId)).thenReturn(Optional.of(vote));
-        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
 
         // Perform request
-        ResponseEntity<VoteDTO> responseEntity = voteController.getVote(voteId, authentication);
+        ResponseEntity<VoteDTO> responseEntity = voteController.getVote(voteId, authentication, new HttpHeaders());
 
         // Assert
         assertEquals(200, responseEntity.getStatusCode().value());
         VoteDTO voteDTO = responseEntity.getBody();
         assertNotNull(voteDTO);
         assertEquals(voteId, voteDTO.getId());
+        assertNotNull(responseEntity.getHeaders().getETag());
     }
 
     @Test
@@ -220,7 +278,6 @@ public class VoteControllerTest {
 
         when(voteRepository.findById(voteId)).thenReturn(Optional.of(vote));
         when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-        when(voteResponseRepository.existsByVoteAndUser(vote, user)).thenReturn(false);
         when(voteOptionRepository.findById(optionId)).thenReturn(Optional.of(option));
 
         // Perform request
@@ -231,5 +288,6 @@ public class VoteControllerTest {
         VoteDTO voteDTO = (VoteDTO) responseEntity.getBody();
         assertNotNull(voteDTO);
         assertEquals(1, voteDTO.getTotalVotes());
+        assertTrue(voteDTO.isHasVoted());
     }
 }
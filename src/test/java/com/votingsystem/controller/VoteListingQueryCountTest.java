@@ -0,0 +1,135 @@
+package com.votingsystem.controller;
+
+import com.votingsystem.model.User;
+import com.votingsystem.model.Vote;
+import com.votingsystem.model.VoteOption;
+import com.votingsystem.model.VoteResponse;
+import com.votingsystem.repository.UserRepository;
+import com.votingsystem.repository.VoteOptionRepository;
+import com.votingsystem.repository.VoteRepository;
+import com.votingsystem.repository.VoteResponseRepository;
+import com.votingsystem.service.BallotMembershipIndex;
+import com.votingsystem.util.JwtUtil;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static com.votingsystem.TestFixtures.newUser;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class VoteListingQueryCountTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BallotMembershipIndex ballotMembershipIndex;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private VoteRepository voteRepository;
+
+    @Autowired
+    private VoteOptionRepository voteOptionRepository;
+
+    @Autowired
+    private VoteResponseRepository voteResponseRepository;
+
+    private User creator;
+    private User viewer;
+    private String token;
+
+    @BeforeEach
+    public void setUp() {
+        voteResponseRepository.deleteAll();
+        voteOptionRepository.deleteAll();
+        voteRepository.deleteAll();
+        userRepository.deleteAll();
+
+        creator = userRepository.save(newUser("creator"));
+        viewer = userRepository.save(newUser("viewer"));
+        token = jwtUtil.generateToken(viewer.getId(), viewer.getUsername());
+    }
+
+    @Test
+    public void testBrowseVotes_QueryCountIndependentOfVoteCount() throws Exception {
+        createVotes(5);
+        long smallListing = countStatements(5);
+
+        createVotes(95);
+        long largeListing = countStatements(100);
+
+        assertEquals(smallListing, largeListing);
+        assertTrue(largeListing <= 3, "listing used " + largeListing + " statements");
+    }
+
+    private long countStatements(int expectedVotes) throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(get("/api/votes").header("Authorization", "Bearer " + token))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(expectedVotes))
+            .andExpect(jsonPath("$[0].options.length()").value(2))
+            .andExpect(jsonPath("$[0].hasVoted").value(true));
+
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void createVotes(int count) {
+        for (int i = 0; i < count; i++) {
+            Vote vote = new Vote();
+            vote.setTitle("Vote " + i);
+            vote.setCreator(creator);
+            vote.setStatus(Vote.VoteStatus.PUBLISHED);
+            vote = voteRepository.save(vote);
+
+            VoteOption first = null;
+            for (int j = 0; j < 2; j++) {
+                VoteOption option = new VoteOption();
+                option.setText("Option " + j);
+                option.setVote(vote);
+                option = voteOptionRepository.save(option);
+                if (first == null) {
+                    first = option;
+                }
+            }
+
+            VoteResponse response = new VoteResponse();
+            response.setVote(vote);
+            response.setUser(viewer);
+            response.setSelectedOption(first);
+            voteResponseRepository.save(response);
+            ballotMembershipIndex.add(vote.getId(), viewer.getId());
+        }
+
+        // Private votes of another user must be filtered out in SQL.
+        Vote hidden = new Vote();
+        hidden.setTitle("Hidden");
+        hidden.setCreator(creator);
+        hidden.setStatus(Vote.VoteStatus.DRAFT);
+        voteRepository.save(hidden);
+    }
+}
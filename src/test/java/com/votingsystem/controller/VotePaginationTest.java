@@ -0,0 +1,136 @@
+package com.votingsystem.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.votingsystem.model.User;
+import com.votingsystem.model.Vote;
+import com.votingsystem.model.VoteOption;
+import com.votingsystem.repository.UserRepository;
+import com.votingsystem.repository.VoteOptionRepository;
+import com.votingsystem.repository.VoteRepository;
+import com.votingsystem.util.JwtUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static com.votingsystem.TestFixtures.newUser;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class VotePaginationTest {
+
+    private static final int VOTES = 45;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private VoteRepository voteRepository;
+
+    @Autowired
+    private VoteOptionRepository voteOptionRepository;
+
+    private String token;
+
+    @BeforeEach
+    public void setUp() {
+        User creator = userRepository.save(newUser("paging-" + UUID.randomUUID()));
+        token = jwtUtil.generateToken(creator.getId(), creator.getUsername());
+
+        for (int i = 0; i < VOTES; i++) {
+            Vote vote = new Vote();
+            vote.setTitle("Draft " + i);
+            vote.setCreator(creator);
+            vote = voteRepository.save(vote);
+
+            VoteOption option = new VoteOption();
+            option.setText("Option");
+            option.setVote(vote);
+            voteOptionRepository.save(option);
+        }
+    }
+
+    @Test
+    public void testBrowseVotes_KeysetPagesCoverEveryVoteOnce() throws Exception {
+        Set<Long> seen = new HashSet<>();
+        List<Integer> pageSizes = new ArrayList<>();
+        String cursor = null;
+
+        do {
+            var request = get("/api/votes")
+                .param("status", "DRAFT")
+                .param("limit", "20")
+                .header("Authorization", "Bearer " + token);
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            String body = mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+            JsonNode page = objectMapper.readTree(body);
+            pageSizes.add(page.get("items").size());
+            for (JsonNode item : page.get("items")) {
+                assertTrue(seen.add(item.get("id").asLong()));
+            }
+            cursor = page.get("nextCursor").isNull() ? null : page.get("nextCursor").asText();
+        } while (cursor != null);
+
+        assertEquals(VOTES, seen.size());
+        assertEquals(List.of(20, 20, 5), pageSizes);
+    }
+
+    @Test
+    public void testBrowseVotes_InvalidCursor() throws Exception {
+        mockMvc.perform(get("/api/votes")
+                .param("cursor", "not-a-cursor")
+                .header("Authorization", "Bearer " + token))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void testExportVotes_WritesOneJsonLinePerVote() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/votes/export")
+                .param("status", "DRAFT")
+                .header("Authorization", "Bearer " + token))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals(VOTES, lines.length);
+        for (String line : lines) {
+            assertEquals(1, objectMapper.readTree(line).get("options").size());
+        }
+    }
+}
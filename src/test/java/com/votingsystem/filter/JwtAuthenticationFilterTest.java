@@ -0,0 +1,91 @@
+package com.votingsystem.filter;
+
+import com.votingsystem.util.JwtUtil;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class JwtAuthenticationFilterTest {
+
+    private JwtAuthenticationFilter jwtAuthenticationFilter;
+    private JwtUtil jwtUtil;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    public void setUp() {
+        jwtUtil = spy(new JwtUtil());
+        meterRegistry = new SimpleMeterRegistry();
+        jwtAuthenticationFilter = new JwtAuthenticationFilter();
+        ReflectionTestUtils.setField(jwtAuthenticationFilter, "jwtUtil", jwtUtil);
+        ReflectionTestUtils.setField(jwtAuthenticationFilter, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(jwtAuthenticationFilter, "maxSize", 100L);
+        ReflectionTestUtils.setField(jwtAuthenticationFilter, "maxTtl", Duration.ofMinutes(5));
+        jwtAuthenticationFilter.init();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    public void testRepeatedToken_VerifiedOnce() throws Exception {
+        String token = jwtUtil.generateToken(7L, "alice");
+
+        assertEquals(7L, filter(token).getPrincipal());
+        assertEquals(7L, filter(token).getPrincipal());
+
+        verify(jwtUtil, times(1)).extractClaims(anyString());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "jwt.verified").tag("result", "hit").functionCounter().count());
+        assertEquals(1, meterRegistry.get("jwt.verification").tag("outcome", "valid").timer().count());
+    }
+
+    @Test
+    public void testInvalidToken_NotAuthenticatedOrCached() throws Exception {
+        assertNull(filter("not-a-jwt"));
+        assertNull(filter("not-a-jwt"));
+
+        verify(jwtUtil, times(2)).extractClaims(anyString());
+        assertEquals(2, meterRegistry.get("jwt.verification").tag("outcome", "invalid").timer().count());
+    }
+
+    @Test
+    public void testExpiredToken_Rejected() throws Exception {
+        String token = Jwts.builder()
+            .setSubject("alice")
+            .claim("userId", 7L)
+            .setExpiration(new Date(System.currentTimeMillis() - 1000))
+            .signWith(Keys.hmacShaKeyFor("MySecretKeyForJWTTokenGeneration12345678901234567890".getBytes()), SignatureAlgorithm.HS256)
+            .compact();
+
+        assertNull(filter(token));
+    }
+
+    private Authentication filter(String token) throws Exception {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/votes");
+        request.addHeader("Authorization", "Bearer " + token);
+        jwtAuthenticationFilter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+}
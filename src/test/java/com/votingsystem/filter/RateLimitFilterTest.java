@@ -0,0 +1,132 @@
+package com.votingsystem.filter;
+
+import com.votingsystem.config.RateLimitProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RateLimitFilterTest {
+
+    private RateLimitFilter rateLimitFilter;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    public void setUp() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setRoutes(List.of(
+            route("share", "POST", "/api/votes/*/participate-share", 2, Duration.ofSeconds(1)),
+            route("api", null, "/api/**", 100, Duration.ofSeconds(1))));
+        meterRegistry = new SimpleMeterRegistry();
+        rateLimitFilter = new RateLimitFilter();
+        ReflectionTestUtils.setField(rateLimitFilter, "properties", properties);
+        ReflectionTestUtils.setField(rateLimitFilter, "meterRegistry", meterRegistry);
+        rateLimitFilter.init();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    public void testAnonymousBurst_RejectedPerAddressAndRefilled() throws Exception {
+        assertEquals(200, share("10.0.0.1").getStatus());
+        assertEquals(200, share("10.0.0.1").getStatus());
+
+        MockHttpServletResponse rejected = share("10.0.0.1");
+        assertEquals(429, rejected.getStatus());
+        assertEquals("1", rejected.getHeader("Retry-After"));
+        assertTrue(rejected.getContentAsString().contains("Too many requests"));
+        assertEquals(200, share("10.0.0.2").getStatus());
+        assertEquals(1, meterRegistry.get("http.rate-limit.rejected").tag("route", "share").counter().count());
+
+        // One token comes back every 500 ms.
+        Thread.sleep(600);
+        assertEquals(200, share("10.0.0.1").getStatus());
+        assertEquals(429, share("10.0.0.1").getStatus());
+    }
+
+    @Test
+    public void testSignedInCallers_LimitedByUserNotAddress() throws Exception {
+        authenticate(1L);
+        assertEquals(200, share("10.0.0.1").getStatus());
+        assertEquals(200, share("10.0.0.1").getStatus());
+        assertEquals(429, share("10.0.0.9").getStatus());
+
+        authenticate(2L);
+        assertEquals(200, share("10.0.0.1").getStatus());
+
+        SecurityContextHolder.clearContext();
+        assertEquals(200, share("10.0.0.1").getStatus());
+    }
+
+    @Test
+    public void testFirstMatchingRouteApplies() throws Exception {
+        share("10.0.0.1");
+        share("10.0.0.1");
+        assertEquals(429, share("10.0.0.1").getStatus());
+
+        // Other endpoints fall through to the general /api limit.
+        assertEquals(200, request("GET", "/api/votes/5/participate-share", "10.0.0.1").getStatus());
+        assertEquals(200, request("GET", "/api/votes", "10.0.0.1").getStatus());
+        assertNotNull(meterRegistry.get("http.rate-limit.buckets").tag("route", "api").gauge());
+        assertEquals(200, request("GET", "/index.html", "10.0.0.1").getStatus());
+    }
+
+    @Test
+    public void testEvictIdle_DropsOnlyRefilledBuckets() throws Exception {
+        share("10.0.0.1");
+        share("10.0.0.1");
+        request("GET", "/api/votes", "10.0.0.1");
+        Thread.sleep(20);
+
+        rateLimitFilter.evictIdle();
+
+        // The /api bucket refilled within 10 ms; the share bucket still owes a token.
+        assertEquals(0.0, meterRegistry.get("http.rate-limit.buckets").tag("route", "api").gauge().value());
+        assertEquals(1.0, meterRegistry.get("http.rate-limit.buckets").tag("route", "share").gauge().value());
+        assertEquals(429, share("10.0.0.1").getStatus());
+    }
+
+    private MockHttpServletResponse share(String address) throws Exception {
+        return request("POST", "/api/votes/5/participate-share", address);
+    }
+
+    private MockHttpServletResponse request(String method, String uri, String address) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        request.setRemoteAddr(address);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        rateLimitFilter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private void authenticate(Long userId) {
+        SecurityContextHolder.getContext().setAuthentication(
+            new UsernamePasswordAuthenticationToken(userId, null, List.of(new SimpleGrantedAuthority("ROLE_USER"))));
+    }
+
+    private static RateLimitProperties.Route route(String name, String method, String path, int permits, Duration period) {
+        RateLimitProperties.Route route = new RateLimitProperties.Route();
+        route.setName(name);
+        route.setMethod(method);
+        route.setPath(path);
+        route.setPermits(permits);
+        route.setPeriod(period);
+        return route;
+    }
+}
@@ -0,0 +1,216 @@
+package com.votingsystem.service;
+
+import com.votingsystem.dto.AnonymousBallotFilterDTO;
+import com.votingsystem.event.VoteChangedEvent;
+import com.votingsystem.model.User;
+import com.votingsystem.model.Vote;
+import com.votingsystem.model.VoteOption;
+import com.votingsystem.repository.UserRepository;
+import com.votingsystem.repository.VoteRepository;
+import com.votingsystem.repository.VoteResponseRepository;
+import com.votingsystem.util.BloomFilter;
+import com.votingsystem.util.VoterCookie;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static com.votingsystem.TestFixtures.newUser;
+import static com.votingsystem.TestFixtures.newVote;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+@SpringBootTest(properties = {
+    "voting.anonymous-dedup.expected-ballots-per-vote=10000",
+    "voting.anonymous-dedup.false-positive-rate=0.01"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class AnonymousBallotDedupTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AnonymousBallotDedup anonymousBallotDedup;
+
+    @Autowired
+    private VoterCookie voterCookie;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private VoteRepository voteRepository;
+
+    @Autowired
+    private VoteResponseRepository voteResponseRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    public void testParticipateByShare_SameCookieVotesOnce() throws Exception {
+        // Prepare data
+        VoteOption option = newPublishedVote("dedup-owner");
+        Long voteId = option.getVote().getId();
+
+        // Perform request: first ballot issues a voter cookie
+        MockHttpServletResponse first = mockMvc.perform(post("/api/votes/{id}/participate-share", voteId)
+                .param("optionId", option.getId().toString()))
+            .andReturn().getResponse();
+        assertEquals(200, first.getStatus());
+        Cookie cookie = first.getCookie(VoterCookie.NAME);
+        assertNotNull(cookie);
+        assertTrue(cookie.isHttpOnly());
+
+        int repeat = mockMvc.perform(post("/api/votes/{id}/participate-share", voteId)
+                .param("optionId", option.getId().toString())
+                .cookie(cookie))
+            .andReturn().getResponse().getStatus();
+
+        // A forged cookie is replaced rather than trusted
+        MockHttpServletResponse forged = mockMvc.perform(post("/api/votes/{id}/participate-share", voteId)
+                .param("optionId", option.getId().toString())
+                .cookie(new Cookie(VoterCookie.NAME, cookie.getValue().split("\\.")[0] + ".AAAA")))
+            .andReturn().getResponse();
+
+        // Assert
+        assertEquals(400, repeat);
+        assertEquals(200, forged.getStatus());
+        assertNotNull(forged.getCookie(VoterCookie.NAME));
+        assertEquals(2, voteResponseRepository.countBySelectedOption(option));
+        assertEquals(2, anonymousBallotDedup.stats(voteId).getBallots());
+    }
+
+    @Test
+    public void testRegister_FalsePositivesFallBackToTableAndStayNearTarget() {
+        // Prepare data
+        Long voteId = newPublishedVote("filter-owner").getVote().getId();
+        for (long fingerprint = 1; fingerprint <= 10_000; fingerprint++) {
+            assertTrue(register(voteId, fingerprint));
+        }
+
+        // Assert: every repeat is caught, every new fingerprint is accepted
+        assertFalse(register(voteId, 42L));
+        for (long fingerprint = 10_001; fingerprint <= 10_200; fingerprint++) {
+            assertTrue(register(voteId, fingerprint));
+        }
+
+        AnonymousBallotFilterDTO stats = anonymousBallotDedup.stats(voteId);
+        assertTrue(stats.getExpectedFalsePositiveRate() < 0.02, "expected rate " + stats.getExpectedFalsePositiveRate());
+        assertTrue(stats.getBytes() < 16 * 1024, "filter used " + stats.getBytes() + " bytes");
+    }
+
+    @Test
+    public void testRecord_RolledBackBallotLeavesNoFingerprint() {
+        // Prepare data
+        Long voteId = newPublishedVote("rollback-owner").getVote().getId();
+
+        // Perform request: the ballot's transaction fails after the fingerprint was added
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            anonymousBallotDedup.record(voteId, 5L);
+            status.setRollbackOnly();
+        });
+
+        // Assert
+        assertTrue(anonymousBallotDedup.isNew(voteId, 5L));
+        assertTrue(register(voteId, 5L));
+        assertFalse(register(voteId, 5L));
+    }
+
+    @Test
+    public void testVoteChanged_FilterDroppedAndRebuiltFromTable() {
+        // Prepare data
+        Long voteId = newPublishedVote("dropped-filter-owner").getVote().getId();
+        for (long fingerprint = 1; fingerprint <= 100; fingerprint++) {
+            assertTrue(register(voteId, fingerprint));
+        }
+
+        // Perform request
+        eventPublisher.publishEvent(new VoteChangedEvent(voteId));
+
+        // Assert
+        assertEquals(0, anonymousBallotDedup.stats(voteId).getBytes());
+        assertFalse(register(voteId, 7L));
+        assertTrue(register(voteId, 101L));
+        assertTrue(anonymousBallotDedup.stats(voteId).getBytes() > 0);
+    }
+
+    @Test
+    public void testWarm_OnlyPublishedVotes() {
+        // Prepare data
+        Long openId = newPublishedVote("warm-open-owner").getVote().getId();
+        Vote closed = newPublishedVote("warm-closed-owner").getVote();
+        assertTrue(register(openId, 1L));
+        assertTrue(register(closed.getId(), 1L));
+        closed.setStatus(Vote.VoteStatus.CLOSED);
+        voteRepository.save(closed);
+
+        // Perform request
+        anonymousBallotDedup.warm();
+
+        // Assert
+        assertTrue(anonymousBallotDedup.stats(openId).getBytes() > 0);
+        assertEquals(0, anonymousBallotDedup.stats(closed.getId()).getBytes());
+    }
+
+    @Test
+    public void testBloomFilter_MeasuredRateMatchesConfiguration() {
+        BloomFilter filter = BloomFilter.create(100_000, 0.01);
+        for (long key = 0; key < 100_000; key++) {
+            filter.put(key);
+        }
+
+        int falsePositives = 0;
+        for (long key = 1_000_000; key < 1_100_000; key++) {
+            if (filter.mightContain(key)) {
+                falsePositives++;
+            }
+        }
+
+        double measured = falsePositives / 100_000.0;
+        assertTrue(measured < 0.015, "measured false-positive rate " + measured);
+        assertEquals(filter.expectedFalsePositiveRate(), measured, 0.005);
+        assertTrue(voterCookie.isValid(voterCookie.issue()));
+    }
+
+    @Test
+    public void testVoterCookie_NoSecretSignsWithRandomKey() {
+        VoterCookie first = new VoterCookie("");
+        VoterCookie second = new VoterCookie("");
+        String cookie = first.issue();
+
+        assertTrue(first.isValid(cookie));
+        assertFalse(second.isValid(cookie));
+        assertFalse(voterCookie.isValid(cookie));
+    }
+
+    // What a ballot does around its own transaction: check, record, commit.
+    private boolean register(Long voteId, long fingerprint) {
+        if (!anonymousBallotDedup.isNew(voteId, fingerprint)) {
+            return false;
+        }
+        anonymousBallotDedup.record(voteId, fingerprint);
+        anonymousBallotDedup.recorded(voteId, fingerprint);
+        return true;
+    }
+
+    private VoteOption newPublishedVote(String owner) {
+        User creator = userRepository.save(newUser(owner));
+        return voteRepository.save(newVote(creator, "Anonymous poll")).getOptions().get(0);
+    }
+}
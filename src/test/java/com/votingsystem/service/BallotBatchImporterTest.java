@@ -0,0 +1,176 @@
+package com.votingsystem.service;
+
+import com.votingsystem.dto.BallotBatchRequest;
+import com.votingsystem.dto.BallotBatchResultDTO;
+import com.votingsystem.event.BallotAcceptedEvent;
+import com.votingsystem.model.User;
+import com.votingsystem.model.Vote;
+import com.votingsystem.model.VoteOption;
+import com.votingsystem.model.VoteResponse;
+import com.votingsystem.repository.UserRepository;
+import com.votingsystem.repository.VoteOptionRepository;
+import com.votingsystem.repository.VoteRepository;
+import com.votingsystem.repository.VoteResponseRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.votingsystem.TestFixtures.newUser;
+import static com.votingsystem.TestFixtures.newVote;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "voting.batch-import.chunk-size=100")
+@ActiveProfiles("test")
+public class BallotBatchImporterTest {
+
+    @Autowired
+    private BallotBatchImporter ballotBatchImporter;
+
+    @Autowired
+    private BallotMembershipIndex ballotMembershipIndex;
+
+    @Autowired
+    private VoteCounter voteCounter;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private VoteRepository voteRepository;
+
+    @Autowired
+    private VoteOptionRepository voteOptionRepository;
+
+    @Autowired
+    private VoteResponseRepository voteResponseRepository;
+
+    @TestConfiguration
+    static class UserRemover {
+
+        static final AtomicLong removeOnFirstCommit = new AtomicLong();
+
+        @Autowired
+        private JdbcTemplate jdbcTemplate;
+
+        // Deletes a user that a later chunk still references, once the first chunk is in.
+        @EventListener
+        public void onBallotAccepted(BallotAcceptedEvent event) {
+            long userId = removeOnFirstCommit.getAndSet(0);
+            if (userId != 0) {
+                jdbcTemplate.update("delete from users where id = ?", userId);
+            }
+        }
+    }
+
+    @Test
+    public void testBatch_AcceptsValidAndReportsRejectedPerItem() {
+        // Prepare data
+        User creator = userRepository.save(newUser("kiosk-owner"));
+        Vote vote = voteRepository.save(newVote(creator, "Kiosk poll"));
+        VoteOption yes = vote.getOptions().get(0);
+        VoteOption no = vote.getOptions().get(1);
+
+        List<User> voters = new ArrayList<>();
+        for (int i = 0; i < 250; i++) {
+            voters.add(newUser("kiosk-voter" + i));
+        }
+        voters = userRepository.saveAll(voters);
+        ballotMembershipIndex.add(vote.getId(), voters.get(0).getId());
+
+        List<BallotBatchRequest.Ballot> ballots = new ArrayList<>();
+        for (User voter : voters) {
+            ballots.add(new BallotBatchRequest.Ballot(voter.getId(), yes.getId()));
+        }
+        for (int i = 0; i < 50; i++) {
+            ballots.add(new BallotBatchRequest.Ballot(null, no.getId()));
+        }
+        ballots.add(new BallotBatchRequest.Ballot(voters.get(1).getId(), no.getId()));
+        ballots.add(new BallotBatchRequest.Ballot(null, -1L));
+        ballots.add(new BallotBatchRequest.Ballot(-1L, yes.getId()));
+
+        // Perform request
+        BallotBatchResultDTO result = ballotBatchImporter.importBallots(vote, ballots);
+
+        // Assert
+        assertEquals(299, result.getAccepted());
+        assertEquals(4, result.getRejected());
+        assertEquals("Already voted", result.getResults().get(0).getMessage());
+        assertEquals("Already voted", result.getResults().get(300).getMessage());
+        assertEquals("Invalid option", result.getResults().get(301).getMessage());
+        assertEquals("User not found", result.getResults().get(302).getMessage());
+        assertEquals(BallotBatchImporter.ACCEPTED, result.getResults().get(1).getStatus());
+
+        assertEquals(249, voteResponseRepository.countBySelectedOption(yes));
+        assertEquals(50, voteResponseRepository.countBySelectedOption(no));
+        assertEquals(249, voteCounter.count(yes));
+        assertEquals(249, voteOptionRepository.findById(yes.getId()).orElseThrow().getVoteCount());
+        assertTrue(ballotMembershipIndex.hasVoted(vote.getId(), voters.get(249).getId()));
+    }
+
+    @Test
+    public void testBatch_DuplicateMissedByIndexRejectedAndChunkRetried() {
+        // Prepare data
+        User creator = userRepository.save(newUser("import-owner"));
+        User racer = userRepository.save(newUser("import-racer"));
+        User other = userRepository.save(newUser("import-other"));
+        Vote vote = voteRepository.save(newVote(creator, "Import poll"));
+        VoteOption option = vote.getOptions().get(0);
+
+        // A ballot the index has not seen yet, as when another request races the import.
+        VoteResponse existing = new VoteResponse();
+        existing.setVote(vote);
+        existing.setUser(racer);
+        existing.setSelectedOption(option);
+        voteResponseRepository.save(existing);
+
+        // Perform request
+        BallotBatchResultDTO result = ballotBatchImporter.importBallots(vote, List.of(
+            new BallotBatchRequest.Ballot(racer.getId(), option.getId()),
+            new BallotBatchRequest.Ballot(other.getId(), option.getId())));
+
+        // Assert
+        assertEquals(1, result.getAccepted());
+        assertEquals(BallotBatchImporter.REJECTED, result.getResults().get(0).getStatus());
+        assertEquals(2, voteResponseRepository.countBySelectedOption(option));
+        assertTrue(ballotMembershipIndex.hasVoted(vote.getId(), racer.getId()));
+    }
+
+    @Test
+    public void testBatch_FailureAfterCommittedChunkRejectsOnlyFailingRow() {
+        // Prepare data
+        User creator = userRepository.save(newUser("partial-owner"));
+        Vote vote = voteRepository.save(newVote(creator, "Partial poll"));
+        VoteOption option = vote.getOptions().get(0);
+
+        List<User> voters = new ArrayList<>();
+        for (int i = 0; i < 150; i++) {
+            voters.add(newUser("partial-voter" + i));
+        }
+        voters = userRepository.saveAll(voters);
+        List<BallotBatchRequest.Ballot> ballots = new ArrayList<>();
+        for (User voter : voters) {
+            ballots.add(new BallotBatchRequest.Ballot(voter.getId(), option.getId()));
+        }
+        UserRemover.removeOnFirstCommit.set(voters.get(120).getId());
+
+        // Perform request
+        BallotBatchResultDTO result = ballotBatchImporter.importBallots(vote, ballots);
+
+        // Assert
+        assertEquals(149, result.getAccepted());
+        assertEquals(1, result.getRejected());
+        assertEquals("Not stored", result.getResults().get(120).getMessage());
+        assertEquals(BallotBatchImporter.ACCEPTED, result.getResults().get(121).getStatus());
+        assertEquals(149, voteResponseRepository.countBySelectedOption(option));
+        assertEquals(149, voteCounter.count(option));
+    }
+}
@@ -0,0 +1,190 @@
+package com.votingsystem.service;
+
+import com.votingsystem.event.BallotAcceptedEvent;
+import com.votingsystem.model.User;
+import com.votingsystem.model.Vote;
+import com.votingsystem.model.VoteOption;
+import com.votingsystem.model.VoteResponse;
+import com.votingsystem.repository.UserRepository;
+import com.votingsystem.repository.VoteOptionRepository;
+import com.votingsystem.repository.VoteRepository;
+import com.votingsystem.repository.VoteResponseRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.event.EventListener;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.votingsystem.TestFixtures.newUser;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest(properties = {
+    "voting.ingestion.enabled=true",
+    "voting.ingestion.batch-size=64",
+    "voting.ingestion.ack-after-commit=true"
+})
+@ActiveProfiles("test")
+public class BallotIngestionPipelineTest {
+
+    private static final AtomicBoolean failListener = new AtomicBoolean();
+
+    @TestConfiguration
+    static class FailingListener {
+        @EventListener
+        public void onBallotAccepted(BallotAcceptedEvent event) {
+            if (failListener.get()) {
+                throw new IllegalStateException("listener failed");
+            }
+        }
+    }
+
+    @Autowired
+    private BallotIngestionPipeline ballotIngestionPipeline;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private VoteRepository voteRepository;
+
+    @Autowired
+    private VoteOptionRepository voteOptionRepository;
+
+    @Autowired
+    private VoteResponseRepository voteResponseRepository;
+
+    @Test
+    public void testQueuedBallots_CommittedInBatches() {
+        // Prepare data
+        User creator = userRepository.save(newUser("creator"));
+
+        Vote vote = new Vote();
+        vote.setTitle("Queued poll");
+        vote.setCreator(creator);
+        vote.setStatus(Vote.VoteStatus.PUBLISHED);
+        vote = voteRepository.save(vote);
+
+        VoteOption option = new VoteOption();
+        option.setText("Option");
+        option.setVote(vote);
+        option = voteOptionRepository.save(option);
+
+        List<User> voters = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            voters.add(newUser("voter" + i));
+        }
+        voters = userRepository.saveAll(voters);
+
+        // Perform request
+        List<CompletableFuture<Void>> committed = new ArrayList<>();
+        for (User voter : voters) {
+            committed.add(ballotIngestionPipeline.submit(vote, voter, option));
+        }
+        for (int i = 0; i < 100; i++) {
+            committed.add(ballotIngestionPipeline.submit(vote, null, option));
+        }
+        CompletableFuture.allOf(committed.toArray(new CompletableFuture[0])).join();
+
+        // Assert
+        assertEquals(600, voteResponseRepository.countBySelectedOption(option));
+        assertEquals(600, voteOptionRepository.findById(option.getId()).orElseThrow().getVoteCount());
+    }
+
+    @Test
+    public void testDuplicateBallot_Rejected() {
+        // Prepare data
+        User creator = userRepository.save(newUser("owner"));
+        User voter = userRepository.save(newUser("repeat"));
+
+        Vote vote = new Vote();
+        vote.setTitle("Duplicate poll");
+        vote.setCreator(creator);
+        vote.setStatus(Vote.VoteStatus.PUBLISHED);
+        Vote savedVote = voteRepository.save(vote);
+
+        VoteOption option = new VoteOption();
+        option.setText("Option");
+        option.setVote(savedVote);
+        VoteOption savedOption = voteOptionRepository.save(option);
+
+        // Perform request
+        ballotIngestionPipeline.submit(savedVote, voter, savedOption).join();
+
+        // Assert
+        assertThrows(DuplicateBallotException.class, () -> ballotIngestionPipeline.submit(savedVote, voter, savedOption));
+        assertEquals(1, voteResponseRepository.countBySelectedOption(savedOption));
+    }
+
+    @Test
+    public void testDuplicateBallotMissedByIndex_RejectedOnCommit() {
+        // Prepare data
+        User creator = userRepository.save(newUser("owner2"));
+        User voter = userRepository.save(newUser("racer"));
+
+        Vote vote = new Vote();
+        vote.setTitle("Race poll");
+        vote.setCreator(creator);
+        vote.setStatus(Vote.VoteStatus.PUBLISHED);
+        Vote savedVote = voteRepository.save(vote);
+
+        VoteOption option = new VoteOption();
+        option.setText("Option");
+        option.setVote(savedVote);
+        VoteOption savedOption = voteOptionRepository.save(option);
+
+        // A ballot the index has not seen yet, as when two requests race past it.
+        VoteResponse existing = new VoteResponse();
+        existing.setVote(savedVote);
+        existing.setUser(voter);
+        existing.setSelectedOption(savedOption);
+        voteResponseRepository.save(existing);
+
+        // Perform request
+        CompletableFuture<Void> ballot = ballotIngestionPipeline.submit(savedVote, voter, savedOption);
+
+        // Assert
+        Exception exception = assertThrows(Exception.class, ballot::join);
+        assertEquals(DuplicateBallotException.class, exception.getCause().getClass());
+        assertEquals(1, voteResponseRepository.countBySelectedOption(savedOption));
+    }
+
+    @Test
+    public void testListenerFailure_BallotsCommittedOnce() {
+        // Prepare data
+        User creator = userRepository.save(newUser("listener-owner"));
+        Vote vote = new Vote();
+        vote.setTitle("Listener poll");
+        vote.setCreator(creator);
+        vote.setStatus(Vote.VoteStatus.PUBLISHED);
+        vote = voteRepository.save(vote);
+        VoteOption option = new VoteOption();
+        option.setText("Option");
+        option.setVote(vote);
+        option = voteOptionRepository.save(option);
+        List<User> voters = userRepository.saveAll(List.of(newUser("listener-1"), newUser("listener-2")));
+
+        // Perform request
+        failListener.set(true);
+        try {
+            List<CompletableFuture<Void>> committed = new ArrayList<>();
+            for (User voter : voters) {
+                committed.add(ballotIngestionPipeline.submit(vote, voter, option));
+            }
+            committed.add(ballotIngestionPipeline.submit(vote, null, option));
+            CompletableFuture.allOf(committed.toArray(new CompletableFuture[0])).join();
+        } finally {
+            failListener.set(false);
+        }
+
+        // Assert: every ballot is in once and none was failed as a duplicate
+        assertEquals(3, voteResponseRepository.countBySelectedOption(option));
+        assertEquals(3, voteOptionRepository.findById(option.getId()).orElseThrow().getVoteCount());
+    }
+}
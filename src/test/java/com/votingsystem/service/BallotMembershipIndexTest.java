@@ -0,0 +1,43 @@
+package com.votingsystem.service;
+
+import com.votingsystem.dto.VoteMembershipDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BallotMembershipIndexTest {
+
+    private final BallotMembershipIndex ballotMembershipIndex = new BallotMembershipIndex();
+
+    @Test
+    public void testHasVoted_PerVoteAndUser() {
+        ballotMembershipIndex.add(1L, 10L);
+        ballotMembershipIndex.add(2L, 11L);
+        ballotMembershipIndex.add(3L, null);
+
+        assertTrue(ballotMembershipIndex.hasVoted(1L, 10L));
+        assertFalse(ballotMembershipIndex.hasVoted(1L, 11L));
+        assertFalse(ballotMembershipIndex.hasVoted(3L, null));
+        assertFalse(ballotMembershipIndex.hasVoted(4L, 10L));
+        assertEquals(Set.of(1L), ballotMembershipIndex.votedIn(List.of(1L, 2L, 4L), 10L));
+    }
+
+    @Test
+    public void testStats_MillionVotersStaySmall() {
+        for (long userId = 1; userId <= 1_000_000; userId++) {
+            ballotMembershipIndex.add(1L, userId);
+        }
+        ballotMembershipIndex.add(2L, 5L);
+
+        VoteMembershipDTO stats = ballotMembershipIndex.stats(1L);
+        assertEquals(1_000_000, stats.getVoters());
+        assertTrue(stats.getBytes() < 512 * 1024, "index for one million voters used " + stats.getBytes() + " bytes");
+        assertEquals(1L, ballotMembershipIndex.stats().get(0).getVoteId());
+        assertEquals(0, ballotMembershipIndex.stats(3L).getVoters());
+    }
+}
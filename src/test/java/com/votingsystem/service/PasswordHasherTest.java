@@ -0,0 +1,86 @@
+package com.votingsystem.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PasswordHasherTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private PasswordHasher passwordHasher;
+
+    @AfterEach
+    public void tearDown() {
+        passwordHasher.stop();
+    }
+
+    @Test
+    public void testVerify_RehashesWhenCostChanged() {
+        start(new BCryptPasswordEncoder(5), 5, 2, 8);
+        String oldHash = new BCryptPasswordEncoder(4).encode("secret");
+
+        String upgraded = passwordHasher.verify("secret", oldHash);
+
+        assertEquals(5, PasswordHasher.costOf(upgraded));
+        assertEquals(upgraded, passwordHasher.verify("secret", upgraded));
+        assertNull(passwordHasher.verify("wrong", upgraded));
+        assertEquals(1.0, meterRegistry.get("auth.password.rehashed").counter().count());
+        assertEquals(3, meterRegistry.get("auth.password.hash").tag("operation", "verify").timer().count());
+    }
+
+    @Test
+    public void testHash_RejectedWhenPoolAndQueueAreFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        PasswordEncoder blocking = new BCryptPasswordEncoder(4) {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.encode(rawPassword);
+            }
+        };
+        start(blocking, 4, 1, 1);
+
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> passwordHasher.hash("one"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> passwordHasher.hash("two"));
+        while (meterRegistry.get("auth.password.queue").gauge().value() < 1) {
+            Thread.onSpinWait();
+        }
+
+        assertThrows(PasswordHashingBusyException.class, () -> passwordHasher.hash("three"));
+        assertEquals(1.0, meterRegistry.get("auth.password.rejected").counter().count());
+
+        release.countDown();
+        assertEquals(4, PasswordHasher.costOf(running.get(5, TimeUnit.SECONDS)));
+        assertEquals(4, PasswordHasher.costOf(queued.get(5, TimeUnit.SECONDS)));
+    }
+
+    private void start(PasswordEncoder passwordEncoder, int cost, int threads, int queueCapacity) {
+        passwordHasher = new PasswordHasher();
+        ReflectionTestUtils.setField(passwordHasher, "passwordEncoder", passwordEncoder);
+        ReflectionTestUtils.setField(passwordHasher, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(passwordHasher, "enabled", true);
+        ReflectionTestUtils.setField(passwordHasher, "cost", cost);
+        ReflectionTestUtils.setField(passwordHasher, "threads", threads);
+        ReflectionTestUtils.setField(passwordHasher, "queueCapacity", queueCapacity);
+        passwordHasher.start();
+    }
+}
@@ -0,0 +1,179 @@
+package com.votingsystem.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.votingsystem.dto.VoteDTO;
+import com.votingsystem.event.BallotAcceptedEvent;
+import com.votingsystem.model.VoteOption;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ResultsBroadcasterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final BlockingQueue<String> sent = new LinkedBlockingQueue<>();
+    private final CountDownLatch completed = new CountDownLatch(1);
+    private CountDownLatch sendGate;
+
+    private ResultsBroadcaster resultsBroadcaster;
+    private VoteCounter voteCounter;
+
+    @BeforeEach
+    public void setUp() {
+        voteCounter = new VoteCounter();
+        resultsBroadcaster = new ResultsBroadcaster();
+        ReflectionTestUtils.setField(resultsBroadcaster, "voteCounter", voteCounter);
+        ReflectionTestUtils.setField(resultsBroadcaster, "objectMapper", objectMapper);
+        ReflectionTestUtils.setField(resultsBroadcaster, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(resultsBroadcaster, "bufferSize", 2);
+        ReflectionTestUtils.setField(resultsBroadcaster, "timeout", Duration.ofMinutes(1));
+        ReflectionTestUtils.setField(resultsBroadcaster, "heartbeat", Duration.ofSeconds(15));
+        resultsBroadcaster.init();
+    }
+
+    @Test
+    public void testBroadcast_CoalescesBallotsIntoOneDelta() throws Exception {
+        connect(resultsBroadcaster.subscribe(snapshot()));
+        assertNotNull(sent.poll(5, TimeUnit.SECONDS));
+
+        VoteOption option = option(10L, 3);
+        for (int i = 0; i < 100; i++) {
+            voteCounter.increment(option);
+            resultsBroadcaster.onBallotAccepted(new BallotAcceptedEvent(1L, 10L));
+        }
+        resultsBroadcaster.broadcast();
+        resultsBroadcaster.broadcast();
+
+        JsonNode delta = objectMapper.readTree(sent.poll(5, TimeUnit.SECONDS));
+        assertEquals(104, delta.get("totalVotes").asInt());
+        assertEquals(103, delta.get("options").get(0).get("voteCount").asInt());
+        assertEquals(100, delta.get("options").get(0).get("delta").asInt());
+        assertEquals(0, delta.get("options").get(1).get("delta").asInt());
+        assertNull(sent.poll(300, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testBroadcast_DropsSlowSubscriber() throws Exception {
+        sendGate = new CountDownLatch(1);
+        connect(resultsBroadcaster.subscribe(snapshot()));
+        while (resultsBroadcaster.getSubscriberCount() == 0) {
+            Thread.sleep(10);
+        }
+
+        VoteOption option = option(10L, 3);
+        for (int i = 0; i < 5; i++) {
+            voteCounter.increment(option);
+            resultsBroadcaster.onBallotAccepted(new BallotAcceptedEvent(1L, 10L));
+            resultsBroadcaster.broadcast();
+        }
+
+        assertTrue(completed.await(5, TimeUnit.SECONDS));
+        assertEquals(0, resultsBroadcaster.getSubscriberCount());
+        sendGate.countDown();
+    }
+
+    @Test
+    public void testHeartbeat_EvictsDeadSubscriber() throws Exception {
+        ReflectionTestUtils.setField(resultsBroadcaster, "heartbeat", Duration.ofMillis(50));
+        AtomicInteger writes = new AtomicInteger();
+        // The socket dies after the initial results; no ballot ever arrives to notice.
+        connect(resultsBroadcaster.subscribe(snapshot()), new OutputStream() {
+            @Override
+            public void write(int b) {
+            }
+
+            @Override
+            public void write(byte[] bytes, int offset, int length) throws IOException {
+                if (writes.incrementAndGet() > 1) {
+                    throw new IOException("Broken pipe");
+                }
+            }
+        });
+
+        assertTrue(completed.await(5, TimeUnit.SECONDS));
+        assertEquals(0, resultsBroadcaster.getSubscriberCount());
+        assertEquals(2, writes.get());
+    }
+
+    private VoteDTO snapshot() {
+        VoteDTO dto = new VoteDTO();
+        dto.setId(1L);
+        dto.setOptions(List.of(optionDTO(10L, 3), optionDTO(11L, 1)));
+        dto.recalculateTotals();
+        return dto;
+    }
+
+    private VoteDTO.OptionDTO optionDTO(Long id, int voteCount) {
+        VoteDTO.OptionDTO option = new VoteDTO.OptionDTO();
+        option.setId(id);
+        option.setVoteCount(voteCount);
+        return option;
+    }
+
+    private VoteOption option(Long id, int voteCount) {
+        VoteOption option = new VoteOption();
+        option.setId(id);
+        option.setVoteCount(voteCount);
+        return option;
+    }
+
+    private void connect(StreamingResponseBody body) {
+        connect(body, new RecordingStream());
+    }
+
+    private void connect(StreamingResponseBody body, OutputStream outputStream) {
+        Thread.ofVirtual().start(() -> {
+            try {
+                body.writeTo(outputStream);
+            } catch (IOException e) {
+                // Treated like any other disconnect.
+            }
+            completed.countDown();
+        });
+    }
+
+    private class RecordingStream extends ByteArrayOutputStream {
+        @Override
+        public void write(byte[] bytes) throws IOException {
+            if (sendGate != null) {
+                try {
+                    sendGate.await();
+                } catch (InterruptedException e) {
+                    throw new InterruptedIOException();
+                }
+            }
+            super.write(bytes);
+        }
+
+        @Override
+        public void flush() {
+            for (String line : toString(StandardCharsets.UTF_8).split("\n")) {
+                if (line.startsWith("data: ")) {
+                    sent.add(line.substring("data: ".length()));
+                }
+            }
+            reset();
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.votingsystem.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class ShareTokenCacheTest {
+
+    private ShareTokenCache shareTokenCache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    public void setUp() {
+        shareTokenCache = new ShareTokenCache();
+        ReflectionTestUtils.setField(shareTokenCache, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(shareTokenCache, "maxSize", 100L);
+        ReflectionTestUtils.setField(shareTokenCache, "ttl", Duration.ofMinutes(10));
+        ReflectionTestUtils.setField(shareTokenCache, "negativeMaxSize", 100L);
+        ReflectionTestUtils.setField(shareTokenCache, "negativeTtl", Duration.ofMinutes(1));
+        shareTokenCache.init();
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    public void testKnownToken_LoadedOnce() {
+        String token = UUID.randomUUID().toString();
+
+        assertEquals(7L, shareTokenCache.resolve(token, loader(7L)));
+        assertEquals(7L, shareTokenCache.resolve(token, loader(7L)));
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    public void testUnknownToken_NegativelyCached() {
+        String token = UUID.randomUUID().toString();
+
+        assertNull(shareTokenCache.resolve(token, loader(null)));
+        assertNull(shareTokenCache.resolve(token, loader(null)));
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    public void testMalformedToken_NeverLoaded() {
+        assertNull(shareTokenCache.resolve("../../etc/passwd", loader(7L)));
+        assertNull(shareTokenCache.resolve("", loader(7L)));
+        assertNull(shareTokenCache.resolve(null, loader(7L)));
+
+        assertEquals(0, loads.get());
+    }
+
+    private Function<String, Long> loader(Long voteId) {
+        return token -> {
+            loads.incrementAndGet();
+            return voteId;
+        };
+    }
+}
@@ -0,0 +1,185 @@
+package com.votingsystem.service;
+
+import com.votingsystem.model.User;
+import com.votingsystem.model.Vote;
+import com.votingsystem.model.VoteOption;
+import com.votingsystem.model.VoteOptionShard;
+import com.votingsystem.repository.UserRepository;
+import com.votingsystem.repository.VoteOptionRepository;
+import com.votingsystem.repository.VoteOptionShardRepository;
+import com.votingsystem.repository.VoteRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static com.votingsystem.TestFixtures.newUser;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+    "voting.sharding.enabled=true",
+    "voting.sharding.shards=4",
+    "voting.sharding.threshold-per-second=1",
+    "voting.sharding.evaluate-interval-ms=3600000",
+    "voting.sharding.fold-interval-ms=3600000",
+    "voting.counter.flush-interval-ms=3600000"
+})
+@ActiveProfiles("test")
+public class VoteCountShardingTest {
+
+    @Autowired
+    private VoteCounter voteCounter;
+
+    @Autowired
+    private VoteCountSharding voteCountSharding;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private VoteRepository voteRepository;
+
+    @Autowired
+    private VoteOptionRepository voteOptionRepository;
+
+    @Autowired
+    private VoteOptionShardRepository voteOptionShardRepository;
+
+    @Test
+    public void testHotVote_ShardedThenFoldedExactly() {
+        // Prepare data
+        User creator = userRepository.save(newUser("shard-owner"));
+
+        Vote vote = new Vote();
+        vote.setTitle("Viral poll");
+        vote.setCreator(creator);
+        vote.setStatus(Vote.VoteStatus.PUBLISHED);
+        vote = voteRepository.save(vote);
+
+        VoteOption option = new VoteOption();
+        option.setText("Option");
+        option.setVote(vote);
+        option = voteOptionRepository.save(option);
+
+        // Perform request: below the threshold nothing is sharded yet
+        for (int i = 0; i < 10; i++) {
+            voteCounter.increment(option);
+        }
+        voteCounter.flush();
+        assertFalse(voteCountSharding.isSharded(vote.getId()));
+
+        voteCountSharding.evaluate();
+        assertTrue(voteCountSharding.isSharded(vote.getId()));
+
+        for (int i = 0; i < 30; i++) {
+            voteCounter.increment(option);
+        }
+        voteCounter.flush();
+
+        // Assert: the row holds the pre-sharding count, reads add the shards
+        assertEquals(10, voteOptionRepository.findById(option.getId()).orElseThrow().getVoteCount());
+        assertEquals(30, shardTotal(option.getId()));
+        assertEquals(40, storedCount(vote.getId()));
+        assertEquals(40, voteCounter.count(option));
+
+        voteCountSharding.fold();
+
+        assertEquals(40, voteOptionRepository.findById(option.getId()).orElseThrow().getVoteCount());
+        assertEquals(0, shardTotal(option.getId()));
+        assertEquals(40, storedCount(vote.getId()));
+    }
+
+    @Test
+    public void testStartup_LeftoverShardsFoldedNotDropped() {
+        // Prepare data: shard rows written by a previous run that never folded them
+        User creator = userRepository.save(newUser("shard-restart-owner"));
+
+        Vote vote = new Vote();
+        vote.setTitle("Restarted poll");
+        vote.setCreator(creator);
+        vote.setStatus(Vote.VoteStatus.PUBLISHED);
+        vote = voteRepository.save(vote);
+
+        VoteOption option = new VoteOption();
+        option.setText("Option");
+        option.setVote(vote);
+        option = voteOptionRepository.save(option);
+
+        for (int i = 0; i < 4; i++) {
+            VoteOptionShard shard = new VoteOptionShard();
+            shard.setOption(option);
+            shard.setShard(i);
+            shard.setVoteCount(i);
+            voteOptionShardRepository.save(shard);
+        }
+
+        // Perform request
+        voteCountSharding.adoptShards();
+        assertTrue(voteCountSharding.isSharded(vote.getId()));
+        assertEquals(6, storedCount(vote.getId()));
+        voteCountSharding.fold();
+
+        // Assert
+        assertEquals(6, voteOptionRepository.findById(option.getId()).orElseThrow().getVoteCount());
+        assertEquals(0, shardTotal(option.getId()));
+        assertTrue(voteOptionShardRepository.existsByOptionId(option.getId()));
+    }
+
+    @Test
+    public void testColdVote_ShardsDroppedOnceDrained() {
+        // Prepare data
+        User creator = userRepository.save(newUser("shard-cold-owner"));
+
+        Vote vote = new Vote();
+        vote.setTitle("Cooled poll");
+        vote.setCreator(creator);
+        vote.setStatus(Vote.VoteStatus.PUBLISHED);
+        vote = voteRepository.save(vote);
+
+        VoteOption option = new VoteOption();
+        option.setText("Option");
+        option.setVote(vote);
+        option = voteOptionRepository.save(option);
+
+        for (int i = 0; i < 10; i++) {
+            voteCounter.increment(option);
+        }
+        voteCounter.flush();
+        voteCountSharding.evaluate();
+        for (int i = 0; i < 5; i++) {
+            voteCounter.increment(option);
+        }
+        voteCounter.flush();
+
+        // Perform request: the first fold drains the shards, the next drops them
+        voteCountSharding.evaluate();
+        voteCountSharding.evaluate();
+        voteCountSharding.fold();
+        assertTrue(voteCountSharding.isSharded(vote.getId()));
+        voteCountSharding.fold();
+
+        // Assert
+        assertFalse(voteCountSharding.isSharded(vote.getId()));
+        assertFalse(voteOptionShardRepository.existsByOptionId(option.getId()));
+        assertEquals(15, storedCount(vote.getId()));
+
+        voteCounter.increment(option);
+        voteCounter.flush();
+        assertEquals(16, voteOptionRepository.findById(option.getId()).orElseThrow().getVoteCount());
+    }
+
+    private int storedCount(Long voteId) {
+        return voteOptionRepository.findSummariesByVoteIds(List.of(voteId)).get(0).getVoteCount();
+    }
+
+    private int shardTotal(Long optionId) {
+        return voteOptionShardRepository.findAll().stream()
+            .filter(shard -> shard.getOption().getId().equals(optionId))
+            .mapToInt(VoteOptionShard::getVoteCount)
+            .sum();
+    }
+}
@@ -0,0 +1,162 @@
+package com.votingsystem.service;
+
+import com.votingsystem.model.User;
+import com.votingsystem.model.Vote;
+import com.votingsystem.model.VoteOption;
+import com.votingsystem.repository.UserRepository;
+import com.votingsystem.repository.VoteOptionRepository;
+import com.votingsystem.repository.VoteRepository;
+import com.votingsystem.repository.VoteResponseRepository;
+import com.votingsystem.util.JwtUtil;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static com.votingsystem.TestFixtures.newUser;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+@SpringBootTest(properties = "voting.counter.flush-interval-ms=3600000")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class VoteCounterConcurrencyTest {
+
+    private static final int VOTERS = 1000;
+    private static final int ANONYMOUS_BALLOTS = 1000;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private VoteCounter voteCounter;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private VoteRepository voteRepository;
+
+    @Autowired
+    private VoteOptionRepository voteOptionRepository;
+
+    @Autowired
+    private VoteResponseRepository voteResponseRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    public void testParallelBallots_CountsMatchResponses() throws Exception {
+        // Prepare data
+        User creator = newUser("creator");
+        userRepository.save(creator);
+
+        Vote vote = new Vote();
+        vote.setTitle("Hot poll");
+        vote.setCreator(creator);
+        vote.setStatus(Vote.VoteStatus.PUBLISHED);
+        vote = voteRepository.save(vote);
+
+        List<Long> optionIds = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            VoteOption option = new VoteOption();
+            option.setText("Option " + i);
+            option.setVote(vote);
+            optionIds.add(voteOptionRepository.save(option).getId());
+        }
+
+        List<User> voters = new ArrayList<>();
+        for (int i = 0; i < VOTERS; i++) {
+            voters.add(newUser("voter" + i));
+        }
+        voters = userRepository.saveAll(voters);
+
+        // Fire ballots in parallel
+        Long voteId = vote.getId();
+        ExecutorService executor = Executors.newFixedThreadPool(32);
+        List<Future<Integer>> results = new ArrayList<>();
+        for (int i = 0; i < VOTERS; i++) {
+            User voter = voters.get(i);
+            Long optionId = optionIds.get(i % optionIds.size());
+            String token = jwtUtil.generateToken(voter.getId(), voter.getUsername());
+            results.add(executor.submit(() -> mockMvc.perform(post("/api/votes/{id}/participate", voteId)
+                    .param("optionId", optionId.toString())
+                    .header("Authorization", "Bearer " + token))
+                .andReturn().getResponse().getStatus()));
+        }
+        for (int i = 0; i < ANONYMOUS_BALLOTS; i++) {
+            Long optionId = optionIds.get(i % optionIds.size());
+            results.add(executor.submit(() -> mockMvc.perform(post("/api/votes/{id}/participate-share", voteId)
+                    .param("optionId", optionId.toString()))
+                .andReturn().getResponse().getStatus()));
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(2, TimeUnit.MINUTES));
+        for (Future<Integer> result : results) {
+            assertEquals(200, result.get());
+        }
+
+        voteCounter.flush();
+
+        // Assert
+        long total = 0;
+        for (Long optionId : optionIds) {
+            VoteOption option = voteOptionRepository.findById(optionId).orElseThrow();
+            long responses = voteResponseRepository.countBySelectedOption(option);
+            assertEquals(responses, option.getVoteCount().longValue());
+            assertEquals(responses, voteCounter.count(option));
+            total += responses;
+        }
+        assertEquals(VOTERS + ANONYMOUS_BALLOTS, total);
+        assertEquals(total, voteResponseRepository.count());
+    }
+
+    @Test
+    public void testFlush_PicksUpCountsStoredElsewhere() {
+        // Prepare data
+        User creator = userRepository.save(newUser("elsewhere-creator"));
+        Vote vote = new Vote();
+        vote.setTitle("Shared poll");
+        vote.setCreator(creator);
+        vote.setStatus(Vote.VoteStatus.PUBLISHED);
+        vote = voteRepository.save(vote);
+        VoteOption option = new VoteOption();
+        option.setText("Only option");
+        option.setVote(vote);
+        option = voteOptionRepository.save(option);
+
+        voteCounter.increment(option);
+        voteCounter.flush();
+
+        // Perform request: another node flushes five ballots into the same row
+        jdbcTemplate.update("update vote_options set vote_count = vote_count + 5 where id = ?", option.getId());
+        voteCounter.increment(option);
+        voteCounter.flush();
+
+        // Assert
+        assertEquals(7, voteCounter.count(option));
+
+        voteCounter.flush();
+        Map<?, ?> tallies = (Map<?, ?>) ReflectionTestUtils.getField(voteCounter, "tallies");
+        assertFalse(tallies.containsKey(option.getId()));
+        assertEquals(7, voteOptionRepository.findById(option.getId()).orElseThrow().getVoteCount());
+    }
+}
@@ -0,0 +1,177 @@
+package com.votingsystem.service;
+
+import com.votingsystem.model.User;
+import com.votingsystem.model.Vote;
+import com.votingsystem.model.VoteOption;
+import com.votingsystem.repository.UserRepository;
+import com.votingsystem.repository.VoteOptionRepository;
+import com.votingsystem.repository.VoteRepository;
+import com.votingsystem.util.JwtUtil;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static com.votingsystem.TestFixtures.newUser;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+@SpringBootTest(properties = {"voting.event-log.segment-bytes=256", "voting.counter.flush-interval-ms=3600000"})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class VoteEventLogTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private VoteEventLog voteEventLog;
+
+    @Autowired
+    private VoteEventLogReplayer voteEventLogReplayer;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private VoteRepository voteRepository;
+
+    @Autowired
+    private VoteOptionRepository voteOptionRepository;
+
+    @Autowired
+    private VoteCounter voteCounter;
+
+    @Test
+    public void testReplay_RebuildsBallotsCountsAndStatus() throws Exception {
+        // Prepare data
+        User creator = userRepository.save(newUser("log-owner"));
+        String token = jwtUtil.generateToken(creator.getId(), creator.getUsername());
+
+        Vote vote = new Vote();
+        vote.setTitle("Logged poll");
+        vote.setCreator(creator);
+        vote = voteRepository.save(vote);
+        Long voteId = vote.getId();
+        VoteOption first = newOption(vote, "First");
+        VoteOption second = newOption(vote, "Second");
+
+        // Perform request
+        assertEquals(200, mockMvc.perform(post("/api/votes/{id}/publish", voteId).header("Authorization", "Bearer " + token))
+            .andReturn().getResponse().getStatus());
+        // Waiting after each request keeps one record per batch, so the log rolls at 256 bytes.
+        voteEventLog.sync().join();
+        for (VoteOption option : List.of(first, first, second)) {
+            assertEquals(200, mockMvc.perform(post("/api/votes/{id}/participate-share", voteId)
+                    .param("optionId", option.getId().toString()))
+                .andReturn().getResponse().getStatus());
+            voteEventLog.sync().join();
+        }
+        assertEquals(200, mockMvc.perform(post("/api/votes/{id}/close", voteId).header("Authorization", "Bearer " + token))
+            .andReturn().getResponse().getStatus());
+        // The writer is FIFO: once this record is durable, everything before it is too.
+        voteEventLog.votePublished(Long.MAX_VALUE).join();
+        // Counts are written behind; flush them now so none land after the reset below.
+        voteCounter.flush();
+
+        jdbcTemplate.update("delete from vote_responses where vote_id = ?", voteId);
+        jdbcTemplate.update("update vote_options set vote_count = 0 where vote_id = ?", voteId);
+        jdbcTemplate.update("update votes set status = 'DRAFT', closed_at = null where id = ?", voteId);
+
+        long restored = voteEventLogReplayer.replay();
+
+        // Assert
+        assertEquals(3, restored);
+        assertEquals(2, voteOptionRepository.findById(first.getId()).orElseThrow().getVoteCount());
+        assertEquals(1, voteOptionRepository.findById(second.getId()).orElseThrow().getVoteCount());
+        assertEquals(Vote.VoteStatus.CLOSED, voteRepository.findById(voteId).orElseThrow().getStatus());
+        assertTrue(segments(voteEventLog.getDir()).size() > 1);
+    }
+
+    @Test
+    public void testRead_RejectsAlteredRecordButIgnoresTornTail(@TempDir Path copy) throws Exception {
+        // Prepare data
+        for (long i = 0; i < 40; i++) {
+            voteEventLog.votePublished(Long.MAX_VALUE - i).join();
+        }
+        for (Path segment : segments(voteEventLog.getDir())) {
+            Files.copy(segment, copy.resolve(segment.getFileName()));
+        }
+        List<Path> copied = segments(copy);
+        long records = VoteEventLog.read(copy, record -> {
+        });
+
+        // A half-written record at the end is what a crash leaves behind
+        try (FileChannel tail = FileChannel.open(copied.get(copied.size() - 1), StandardOpenOption.APPEND)) {
+            tail.write(ByteBuffer.wrap(new byte[] { 0, 0, 0, 49, 1, 2, 3 }));
+        }
+        assertEquals(records, VoteEventLog.read(copy, record -> {
+        }));
+
+        // Altering a byte in an earlier segment breaks the chain
+        try (FileChannel head = FileChannel.open(copied.get(0), StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer one = ByteBuffer.allocate(1);
+            head.read(one, VoteEventLog.HEADER_BYTES + 20);
+            one.put(0, (byte) (one.get(0) ^ 1)).rewind();
+            head.write(one, VoteEventLog.HEADER_BYTES + 20);
+        }
+
+        // Assert
+        assertThrows(IllegalStateException.class, () -> VoteEventLog.read(copy, record -> {
+        }));
+    }
+
+    @Test
+    public void testWrite_ReopensSegmentAfterFailedAppend() throws Exception {
+        // Prepare data
+        voteEventLog.sync().join();
+        long before = voteEventLog.getDurableSequence();
+        long lostBefore = voteEventLog.getLostRecords();
+
+        // Closing the channel under the writer fails its next append
+        ((FileChannel) ReflectionTestUtils.getField(voteEventLog, "channel")).close();
+        voteEventLog.votePublished(Long.MAX_VALUE).join();
+
+        // Assert
+        assertEquals(before + 1, voteEventLog.getDurableSequence());
+        assertEquals(lostBefore, voteEventLog.getLostRecords());
+        assertTrue(voteEventLog.isWritable());
+        long[] last = new long[1];
+        VoteEventLog.read(voteEventLog.getDir(), record -> last[0] = record.getSequence());
+        assertEquals(before + 1, last[0]);
+    }
+
+    private VoteOption newOption(Vote vote, String text) {
+        VoteOption option = new VoteOption();
+        option.setText(text);
+        option.setVote(vote);
+        return voteOptionRepository.save(option);
+    }
+
+    private List<Path> segments(Path dir) throws Exception {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.sorted().toList();
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.votingsystem.service;
+
+import com.votingsystem.dto.VoteDTO;
+import com.votingsystem.event.BallotAcceptedEvent;
+import com.votingsystem.event.VoteChangedEvent;
+import com.votingsystem.model.VoteOption;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class VoteResultsCacheTest {
+
+    private VoteResultsCache voteResultsCache;
+    private VoteCounter voteCounter;
+    private SimpleMeterRegistry meterRegistry;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    public void setUp() {
+        voteCounter = new VoteCounter();
+        meterRegistry = new SimpleMeterRegistry();
+        voteResultsCache = new VoteResultsCache();
+        ReflectionTestUtils.setField(voteResultsCache, "voteCounter", voteCounter);
+        ReflectionTestUtils.setField(voteResultsCache, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(voteResultsCache, "maxSize", 100L);
+        ReflectionTestUtils.setField(voteResultsCache, "expireAfterWrite", Duration.ofMinutes(10));
+        voteResultsCache.init();
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    public void testGet_LoadsOnceAndRecordsHits() {
+        voteResultsCache.get(1L, loader());
+        VoteDTO dto = voteResultsCache.get(1L, loader());
+
+        assertEquals(1, loads.get());
+        assertEquals(2, dto.getOptions().size());
+        assertFalse(dto.isHasVoted());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "vote.results").tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "vote.results").tag("result", "miss").functionCounter().count());
+    }
+
+    @Test
+    public void testBallotAccepted_UpdatesSnapshotInPlace() {
+        voteResultsCache.get(1L, loader());
+
+        VoteOption option = new VoteOption();
+        option.setId(10L);
+        option.setVoteCount(3);
+        voteCounter.increment(option);
+        voteResultsCache.onBallotAccepted(new BallotAcceptedEvent(1L, 10L));
+
+        VoteDTO dto = voteResultsCache.get(1L, loader());
+        assertEquals(1, loads.get());
+        assertEquals(4, dto.getOptions().get(0).getVoteCount());
+        assertEquals(5, dto.getTotalVotes());
+        assertEquals(80.0, dto.getOptions().get(0).getPercentage());
+    }
+
+    @Test
+    public void testVoteChanged_Invalidates() {
+        voteResultsCache.get(1L, loader());
+        voteResultsCache.onVoteChanged(new VoteChangedEvent(1L));
+        voteResultsCache.get(1L, loader());
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void testVoteChangedDuringLoad_SnapshotNotCached() {
+        voteResultsCache.get(1L, voteId -> {
+            voteResultsCache.onVoteChanged(new VoteChangedEvent(voteId));
+            return loader().apply(voteId);
+        });
+        voteResultsCache.get(1L, loader());
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void testGet_MissingVoteNotCached() {
+        assertNull(voteResultsCache.get(2L, id -> null));
+        assertNull(voteResultsCache.get(2L, id -> null));
+    }
+
+    private Function<Long, VoteDTO> loader() {
+        return voteId -> {
+            loads.incrementAndGet();
+            VoteDTO dto = new VoteDTO();
+            dto.setId(voteId);
+            dto.getOptions().add(option(10L, 3));
+            dto.getOptions().add(option(11L, 1));
+            dto.recalculateTotals();
+            return dto;
+        };
+    }
+
+    private VoteDTO.OptionDTO option(Long id, int voteCount) {
+        VoteDTO.OptionDTO option = new VoteDTO.OptionDTO();
+        option.setId(id);
+        option.setText("Option " + id);
+        option.setVoteCount(voteCount);
+        return option;
+    }
+}
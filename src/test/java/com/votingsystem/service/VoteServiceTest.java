@@ -0,0 +1,229 @@
+package com.votingsystem.service;
+
+import com.votingsystem.dto.CreateVoteRequest;
+import com.votingsystem.dto.VoteDTO;
+import com.votingsystem.event.BallotAcceptedEvent;
+import com.votingsystem.event.VoteChangedEvent;
+import com.votingsystem.model.User;
+import com.votingsystem.model.Vote;
+import com.votingsystem.model.VoteOption;
+import com.votingsystem.repository.UserRepository;
+import com.votingsystem.repository.VoteOptionRepository;
+import com.votingsystem.repository.VoteRepository;
+import com.votingsystem.repository.VoteResponseRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class VoteServiceTest {
+
+    @InjectMocks
+    private VoteService voteService;
+
+    @Mock
+    private VoteRepository voteRepository;
+
+    @Mock
+    private VoteOptionRepository voteOptionRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private VoteResponseRepository voteResponseRepository;
+
+    @Mock
+    private BallotIngestionPipeline ballotIngestionPipeline;
+
+    @Spy
+    private VoteCounter voteCounter = new VoteCounter();
+
+    @Mock
+    private VoteCountSharding voteCountSharding;
+
+    @Spy
+    private BallotMembershipIndex ballotMembershipIndex = new BallotMembershipIndex();
+
+    @Mock
+    private AnonymousBallotDedup anonymousBallotDedup;
+
+    @Mock
+    private VoteEventLog voteEventLog;
+
+    @Mock
+    private VoteMetrics voteMetrics;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private Vote vote;
+
+    @BeforeEach
+    public void setUp() {
+        ReflectionTestUtils.setField(voteService, "maxAttempts", 3);
+        ReflectionTestUtils.setField(voteService, "retryBackoffMs", 1L);
+        ReflectionTestUtils.setField(voteCounter, "voteOptionRepository", voteOptionRepository);
+        ReflectionTestUtils.setField(voteCounter, "voteCountSharding", voteCountSharding);
+
+        User creator = new User();
+        creator.setId(1L);
+        creator.setUsername("owner");
+
+        vote = new Vote();
+        vote.setId(10L);
+        vote.setTitle("Old title");
+        vote.setCreator(creator);
+        vote.setStatus(Vote.VoteStatus.DRAFT);
+
+        when(voteRepository.findById(10L)).thenReturn(Optional.of(vote));
+    }
+
+    @Test
+    public void testEditVote_RetriedAfterOptimisticLockConflict() {
+        // Prepare data
+        CreateVoteRequest request = new CreateVoteRequest();
+        request.setTitle("New title");
+        request.setOptions(List.of("Yes", "No"));
+
+        doThrow(new ObjectOptimisticLockingFailureException(Vote.class, 10L))
+            .doNothing()
+            .when(transactionManager).commit(any());
+
+        // Perform request
+        VoteDTO dto = voteService.editVote(10L, 1L, request);
+
+        // Assert: the whole use case ran again, side effects happened once
+        assertEquals("New title", dto.getTitle());
+        verify(voteRepository, times(2)).findById(10L);
+        verify(eventPublisher, times(1)).publishEvent(any(VoteChangedEvent.class));
+    }
+
+    @Test
+    public void testCloseVote_GivesUpAfterMaxAttempts() {
+        // Prepare data
+        doThrow(new ObjectOptimisticLockingFailureException(Vote.class, 10L))
+            .when(transactionManager).commit(any());
+
+        // Perform request
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> voteService.closeVote(10L, 1L));
+
+        // Assert
+        verify(voteRepository, times(3)).findById(10L);
+        verify(voteEventLog, never()).voteClosed(any());
+        verify(eventPublisher, never()).publishEvent(any(VoteChangedEvent.class));
+    }
+
+    @Test
+    public void testCloseVote_NotOwnerIsNotRetried() {
+        // Perform request
+        assertThrows(VoteAccessDeniedException.class, () -> voteService.closeVote(10L, 2L));
+
+        // Assert
+        verify(voteRepository, times(1)).findById(10L);
+        verify(transactionManager, never()).commit(any());
+    }
+
+    @Test
+    public void testCastBallot_CountedWhenListenerFails() {
+        // Prepare data
+        vote.setStatus(Vote.VoteStatus.PUBLISHED);
+        VoteOption option = new VoteOption();
+        option.setId(20L);
+        option.setText("Yes");
+        option.setVote(vote);
+        option.setVoteCount(0);
+        vote.getOptions().add(option);
+        User voter = new User();
+        voter.setId(2L);
+        voter.setUsername("voter");
+
+        when(voteOptionRepository.findById(20L)).thenReturn(Optional.of(option));
+        when(userRepository.findById(2L)).thenReturn(Optional.of(voter));
+        doThrow(new IllegalStateException("listener failed")).when(eventPublisher).publishEvent(any(BallotAcceptedEvent.class));
+
+        // Perform request
+        VoteDTO result = voteService.castBallot(10L, 20L, 2L);
+
+        // Assert
+        assertEquals(1, result.getOptions().get(0).getVoteCount());
+        verify(voteEventLog, times(1)).ballotCast(any(), eq(10L), eq(20L), eq(2L));
+        assertTrue(ballotMembershipIndex.hasVoted(10L, 2L));
+    }
+
+    @Test
+    public void testCastSharedBallot_QueuedValidationIsReadOnly() {
+        // Prepare data
+        vote.setStatus(Vote.VoteStatus.PUBLISHED);
+        VoteOption option = new VoteOption();
+        option.setId(20L);
+        option.setVote(vote);
+        User voter = new User();
+        voter.setId(2L);
+
+        when(ballotIngestionPipeline.isEnabled()).thenReturn(true);
+        when(voteOptionRepository.findById(20L)).thenReturn(Optional.of(option));
+        when(userRepository.findById(2L)).thenReturn(Optional.of(voter));
+        when(ballotIngestionPipeline.submit(vote, voter, option, null)).thenReturn(CompletableFuture.completedFuture(null));
+
+        // Perform request
+        voteService.castSharedBallot(10L, 20L, null, 2L, () -> 0L);
+
+        // Assert
+        verify(transactionManager, times(1)).getTransaction(argThat(TransactionDefinition::isReadOnly));
+        verify(transactionManager, never()).getTransaction(argThat(definition -> !definition.isReadOnly()));
+        verify(ballotIngestionPipeline, times(1)).submit(vote, voter, option, null);
+    }
+
+    @Test
+    public void testCastSharedBallot_AnonymousValidationIsReadOnly() {
+        // Prepare data
+        vote.setStatus(Vote.VoteStatus.PUBLISHED);
+        VoteOption option = new VoteOption();
+        option.setId(20L);
+        option.setVote(vote);
+        option.setVoteCount(0);
+        vote.getOptions().add(option);
+
+        when(voteOptionRepository.findById(20L)).thenReturn(Optional.of(option));
+        when(anonymousBallotDedup.isNew(10L, 7L)).thenReturn(true);
+
+        // Perform request
+        VoteDTO result = voteService.castSharedBallot(10L, 20L, null, null, () -> 7L);
+
+        // Assert: validated read-only, then saved once with its fingerprint
+        assertEquals(1, result.getTotalVotes());
+        verify(transactionManager, times(1)).getTransaction(argThat(TransactionDefinition::isReadOnly));
+        verify(transactionManager, times(1)).getTransaction(argThat(definition -> !definition.isReadOnly()));
+        verify(anonymousBallotDedup, times(1)).record(10L, 7L);
+        verify(voteResponseRepository, times(1)).save(any());
+    }
+}
@@ -0,0 +1,115 @@
+package com.votingsystem.service;
+
+import com.votingsystem.dto.TallyDriftDTO;
+import com.votingsystem.model.User;
+import com.votingsystem.model.Vote;
+import com.votingsystem.model.VoteOption;
+import com.votingsystem.model.VoteTallySnapshot;
+import com.votingsystem.repository.UserRepository;
+import com.votingsystem.repository.VoteOptionRepository;
+import com.votingsystem.repository.VoteRepository;
+import com.votingsystem.repository.VoteTallySnapshotRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Map;
+
+import static com.votingsystem.TestFixtures.newUser;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+@SpringBootTest(properties = {
+    "voting.snapshots.interval-ms=3600000",
+    "voting.snapshots.check-interval-ms=3600000",
+    "voting.snapshots.rebuild-threads=4",
+    "voting.event-log.segment-bytes=256"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class VoteTallyProjectionTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private VoteTallyProjection voteTallyProjection;
+
+    @Autowired
+    private VoteEventLog voteEventLog;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private VoteRepository voteRepository;
+
+    @Autowired
+    private VoteOptionRepository voteOptionRepository;
+
+    @Autowired
+    private VoteTallySnapshotRepository voteTallySnapshotRepository;
+
+    @Test
+    public void testRebuild_SnapshotPlusTailAndDriftDetection() throws Exception {
+        // Prepare data
+        User creator = userRepository.save(newUser("tally-owner"));
+
+        Vote vote = new Vote();
+        vote.setTitle("Projected poll");
+        vote.setCreator(creator);
+        vote.setStatus(Vote.VoteStatus.PUBLISHED);
+        vote = voteRepository.save(vote);
+        Long voteId = vote.getId();
+        VoteOption first = newOption(vote, "First");
+        VoteOption second = newOption(vote, "Second");
+
+        // Perform request: two ballots folded into a snapshot, one left in the tail
+        castBallot(voteId, first);
+        castBallot(voteId, second);
+        voteEventLog.sync().join();
+        voteTallyProjection.snapshot();
+        castBallot(voteId, first);
+        voteEventLog.sync().join();
+
+        // Assert
+        List<VoteTallySnapshot> snapshots = voteTallySnapshotRepository.findByVoteId(voteId);
+        assertEquals(2, snapshots.size());
+        assertEquals(2, snapshots.stream().mapToLong(VoteTallySnapshot::getVoteCount).sum());
+        assertEquals(Map.of(first.getId(), 2L, second.getId(), 1L), voteTallyProjection.rebuild(voteId));
+        assertEquals(2L, voteTallyProjection.rebuildAll().get(first.getId()));
+        assertTrue(voteTallyProjection.check().isEmpty());
+        assertTrue(voteTallyProjection.check().isEmpty());
+
+        // A stored count that no longer matches the events is flagged once it persists
+        jdbcTemplate.update("update vote_options set vote_count = 99 where id = ?", first.getId());
+        assertTrue(voteTallyProjection.check().isEmpty());
+        List<TallyDriftDTO> drift = voteTallyProjection.check();
+        assertEquals(1, drift.size());
+        assertEquals(first.getId(), drift.get(0).getOptionId());
+        assertEquals(99, drift.get(0).getStoredCount());
+        assertEquals(2, drift.get(0).getRebuiltCount());
+    }
+
+    private void castBallot(Long voteId, VoteOption option) throws Exception {
+        assertEquals(200, mockMvc.perform(post("/api/votes/{id}/participate-share", voteId)
+                .param("optionId", option.getId().toString()))
+            .andReturn().getResponse().getStatus());
+    }
+
+    private VoteOption newOption(Vote vote, String text) {
+        VoteOption option = new VoteOption();
+        option.setText(text);
+        option.setVote(vote);
+        return voteOptionRepository.save(option);
+    }
+}
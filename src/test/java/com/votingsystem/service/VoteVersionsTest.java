@@ -0,0 +1,61 @@
+package com.votingsystem.service;
+
+import com.votingsystem.dto.VoteDTO;
+import com.votingsystem.event.BallotAcceptedEvent;
+import com.votingsystem.model.Vote;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+public class VoteVersionsTest {
+
+    private VoteVersions voteVersions;
+
+    @BeforeEach
+    public void setUp() {
+        voteVersions = new VoteVersions();
+        ReflectionTestUtils.setField(voteVersions, "maxSize", 100L);
+        ReflectionTestUtils.setField(voteVersions, "openTtl", Duration.ofMillis(100));
+        voteVersions.init();
+    }
+
+    @Test
+    public void testOpenVote_StampExpiresDespiteLocalBallots() throws Exception {
+        VoteVersions.Stamp first = voteVersions.loaded(1L, voteVersions.current(1L), dto(null));
+
+        // Local ballots bump the version but do not push the deadline back.
+        for (int i = 0; i < 3; i++) {
+            Thread.sleep(40);
+            voteVersions.onBallotAccepted(new BallotAcceptedEvent(1L, 10L));
+        }
+        VoteVersions.Stamp later = voteVersions.current(1L);
+
+        assertNotEquals(first.version(), later.version());
+        assertFalse(later.isLoaded());
+    }
+
+    @Test
+    public void testClosedVote_StampKept() throws Exception {
+        VoteVersions.Stamp closed = voteVersions.loaded(2L, voteVersions.current(2L), dto(LocalDateTime.now()));
+
+        Thread.sleep(200);
+
+        assertEquals(closed, voteVersions.current(2L));
+    }
+
+    private static VoteDTO dto(LocalDateTime closedAt) {
+        VoteDTO dto = new VoteDTO();
+        dto.setCreatorId(7L);
+        dto.setStatus(closedAt != null ? Vote.VoteStatus.CLOSED : Vote.VoteStatus.PUBLISHED);
+        dto.setPermission(Vote.VotePermission.PUBLIC);
+        dto.setClosedAt(closedAt);
+        return dto;
+    }
+}